@@ -0,0 +1,81 @@
+package com.deepaksharma.webaddicted;
+
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.deepaksharma.webaddicted.printer.Printer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of logging with stack trace, {@code st(2)}, against logging without, on a device.
+ * <p>
+ * The results are printed to logcat with tag "StackTraceBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class StackTraceBenchmark {
+
+    private static final int WARM_UP = 2000;
+
+    private static final int ITERATIONS = 20000;
+
+    private static final Printer NO_OP_PRINTER = new Printer() {
+        @Override
+        public void println(int logLevel, String tag, String msg) {
+        }
+    };
+
+    private String lastMsg;
+
+    private final Printer capturingPrinter = new Printer() {
+        @Override
+        public void println(int logLevel, String tag, String msg) {
+            lastMsg = msg;
+        }
+    };
+
+    @Test
+    public void logWithStackTrace() {
+        TALog.init(new LogConfiguration.Builder().build(), NO_OP_PRINTER);
+        Logger plain = new Logger.Builder().nst().printers(NO_OP_PRINTER).build();
+        Logger withStackTrace = new Logger.Builder().st(2).printers(NO_OP_PRINTER).build();
+
+        long plainNanos = measure(plain);
+        long stackTraceNanos = measure(withStackTrace);
+        Log.i("StackTraceBenchmark", "Without stack trace: " + plainNanos + " ns/log, with st(2): "
+                + stackTraceNanos + " ns/log");
+
+        // The frames measured are the ones of the caller of the library. This class is in the
+        // package of the library, so its caller is the first frame out of the package.
+        Logger logger = new Logger.Builder().st(2).printers(capturingPrinter).build();
+        logger.d("caller");
+        StackTraceElement caller = firstFrameOutOfLibrary(new Throwable().getStackTrace());
+        assertTrue(lastMsg, lastMsg.contains(caller.toString()));
+        assertFalse(lastMsg, lastMsg.contains(Logger.class.getName() + "."));
+    }
+
+    private static StackTraceElement firstFrameOutOfLibrary(StackTraceElement[] stackTrace) {
+        String libraryPackage = TALog.class.getName().substring(0,
+                TALog.class.getName().lastIndexOf('.') + 1);
+        for (StackTraceElement element : stackTrace) {
+            if (!element.getClassName().startsWith(libraryPackage)) {
+                return element;
+            }
+        }
+        throw new AssertionError("No frame out of " + libraryPackage);
+    }
+
+    private static long measure(Logger logger) {
+        for (int i = 0; i < WARM_UP; i++) {
+            logger.d("benchmark");
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            logger.d("benchmark");
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+}
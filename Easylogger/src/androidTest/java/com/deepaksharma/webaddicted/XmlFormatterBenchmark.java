@@ -0,0 +1,74 @@
+package com.deepaksharma.webaddicted;
+
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.deepaksharma.webaddicted.formatter.message.xml.DefaultXmlFormatter;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of {@link DefaultXmlFormatter} against formatting with a new transformer each time,
+ * as it used to, on a device.
+ * <p>
+ * The results are printed to logcat with tag "XmlFormatterBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class XmlFormatterBenchmark {
+
+    private static final int WARM_UP = 200;
+
+    private static final int ITERATIONS = 2000;
+
+    private static final String XML = "<?xml version=\"1.0\"?><user id=\"1\"><name>Deepak</name>"
+            + "<roles><role>admin</role><role>dev</role></roles></user>";
+
+    @Test
+    public void formatSmallXml() throws Exception {
+        DefaultXmlFormatter formatter = new DefaultXmlFormatter();
+        assertEquals(formatWithNewTransformer(XML), formatter.format(XML));
+
+        for (int i = 0; i < WARM_UP; i++) {
+            formatWithNewTransformer(XML);
+            formatter.format(XML);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            formatWithNewTransformer(XML);
+        }
+        long newTransformerNanos = (System.nanoTime() - start) / ITERATIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            formatter.format(XML);
+        }
+        long cachedTransformerNanos = (System.nanoTime() - start) / ITERATIONS;
+        Log.i("XmlFormatterBenchmark", "New transformer: " + newTransformerNanos
+                + " ns/format, cached transformer: " + cachedTransformerNanos + " ns/format");
+        assertTrue(cachedTransformerNanos > 0);
+    }
+
+    /**
+     * Format the XML the way {@link DefaultXmlFormatter} used to.
+     */
+    private static String formatWithNewTransformer(String xml) throws Exception {
+        StreamResult xmlOutput = new StreamResult(new StringWriter());
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+        transformer.transform(new StreamSource(new StringReader(xml)), xmlOutput);
+        return xmlOutput.getWriter().toString().replaceFirst(">", ">"
+                + System.getProperty("line.separator"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.deepaksharma.webaddicted;
+
+/**
+ * Where a log is made in the source, baked into the class making the log at compile time by the
+ * easylogger gradle plugin, so the caller of a log is known without walking the stack.
+ * <p>
+ * The plugin keeps a call site in a static field of the calling class for each log call in it,
+ * and makes the call between {@link #enter(CallSite)} and {@link #exit(CallSite)}, which restores
+ * the call site entered before, so log calls may nest, e.g. an object logging in its
+ * {@code toString()} while being logged. When logging with a stack trace of depth 1 and no stack
+ * trace origin, {@link Logger} takes the call site as the stack trace; with a deeper stack trace,
+ * or a stack trace origin, the stack is still walked, as the call site only knows the direct
+ * caller of {@link TALog} or {@link Logger}.
+ * <p>
+ * {@link Logger} takes the call site over before formatting the message of a log, so a log made
+ * meanwhile by a class not processed by the plugin does not take it as its own.
+ * <p>
+ * A log call throwing exits its call site as well, before the exception leaves the calling method.
+ */
+public final class CallSite {
+
+    private static final ThreadLocal<CallSite> sCurrent = new ThreadLocal<>();
+
+    /**
+     * The name of the class making the log.
+     */
+    public final String className;
+
+    /**
+     * The name of the method making the log.
+     */
+    public final String methodName;
+
+    /**
+     * The name of the source file, null if unknown.
+     */
+    public final String fileName;
+
+    /**
+     * The line number in the source file, negative if unknown.
+     */
+    public final int lineNumber;
+
+    /**
+     * The simple name of the top level class making the log, which may serve as its tag.
+     */
+    public final String defaultTag;
+
+    /**
+     * The call site as a stack trace of depth 1.
+     */
+    private final StackTraceElement[] stackTrace;
+
+    /**
+     * Constructor, only called by the code generated by the plugin.
+     *
+     * @param className  the name of the class making the log
+     * @param methodName the name of the method making the log
+     * @param fileName   the name of the source file, null if unknown
+     * @param lineNumber the line number in the source file, negative if unknown
+     * @param defaultTag the simple name of the top level class making the log
+     */
+    public CallSite(String className, String methodName, String fileName, int lineNumber,
+                    String defaultTag) {
+        this.className = className;
+        this.methodName = methodName;
+        this.fileName = fileName;
+        this.lineNumber = lineNumber;
+        this.defaultTag = defaultTag;
+        this.stackTrace = new StackTraceElement[]{
+                new StackTraceElement(className, methodName, fileName, lineNumber)};
+    }
+
+    /**
+     * Mark the start of a log call made at a call site on the current thread, only called by the
+     * code generated by the plugin.
+     *
+     * @param callSite the call site
+     * @return the call site entered before, to pass to {@link #exit(CallSite)}
+     */
+    public static CallSite enter(CallSite callSite) {
+        CallSite previous = sCurrent.get();
+        sCurrent.set(callSite);
+        return previous;
+    }
+
+    /**
+     * Mark the end of the log call on the current thread, only called by the code generated by
+     * the plugin.
+     *
+     * @param previous the call site returned by {@link #enter(CallSite)}
+     */
+    public static void exit(CallSite previous) {
+        sCurrent.set(previous);
+    }
+
+    /**
+     * Get the call site of the log being made on the current thread, e.g. from an interceptor.
+     *
+     * @return the call site, or null if the log call is not made by a class processed by the
+     * plugin, or the message of the log is being formatted
+     */
+    public static CallSite current() {
+        return sCurrent.get();
+    }
+
+    /**
+     * Take the call site of the log being made over from the current thread, before the message
+     * of the log is formatted.
+     *
+     * @return the call site, or null if none
+     */
+    /*package*/ static CallSite take() {
+        CallSite callSite = sCurrent.get();
+        if (callSite != null) {
+            sCurrent.set(null);
+        }
+        return callSite;
+    }
+
+    /**
+     * Give the call site taken by {@link #take()} back to the current thread, once the message of
+     * the log is formatted.
+     *
+     * @param callSite the call site taken, null if none
+     */
+    /*package*/ static void restore(CallSite callSite) {
+        if (callSite != null) {
+            sCurrent.set(callSite);
+        }
+    }
+
+    /**
+     * Get the call site as a stack trace of depth 1, not to be modified.
+     */
+    /*package*/ StackTraceElement[] asStackTrace() {
+        return stackTrace;
+    }
+
+    @Override
+    public String toString() {
+        return stackTrace[0].toString();
+    }
+}
@@ -16,20 +16,31 @@
 
 package com.deepaksharma.webaddicted;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.deepaksharma.webaddicted.formatter.border.BorderFormatter;
 import com.deepaksharma.webaddicted.formatter.message.json.JsonFormatter;
 import com.deepaksharma.webaddicted.formatter.message.object.ObjectFormatter;
+import com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate;
 import com.deepaksharma.webaddicted.formatter.message.throwable.ThrowableFormatter;
 import com.deepaksharma.webaddicted.formatter.message.xml.XmlFormatter;
 import com.deepaksharma.webaddicted.formatter.stacktrace.StackTraceFormatter;
 import com.deepaksharma.webaddicted.formatter.thread.ThreadFormatter;
+import com.deepaksharma.webaddicted.interceptor.DecoratingPreFilterInterceptor;
 import com.deepaksharma.webaddicted.interceptor.Interceptor;
+import com.deepaksharma.webaddicted.interceptor.PreFilterInterceptor;
 import com.deepaksharma.webaddicted.internal.DefaultsFactory;
+import com.deepaksharma.webaddicted.internal.TagPatterns;
+import com.deepaksharma.webaddicted.internal.util.StackTraceCache;
 
 /**
  * The configuration used for logging, always attached to a {@link Logger}, will affect all logs
@@ -39,6 +50,15 @@ import com.deepaksharma.webaddicted.internal.DefaultsFactory;
  */
  class LogConfiguration {
 
+  /**
+   * Cached for classes without formatters.
+   */
+  private static final ObjectFormatter<Object> NO_FORMATTER = new ObjectFormatter<Object>() {
+    @Override
+    public String format(Object data) {
+      throw new UnsupportedOperationException();
+    }
+  };
 
   /**
    * The log level, the logs below of which would not be printed.
@@ -107,16 +127,48 @@ import com.deepaksharma.webaddicted.internal.DefaultsFactory;
    */
   public final StackTraceFormatter stackTraceFormatter;
 
+  /**
+   * The formatted stack traces of call sites, null if not logging with stack trace.
+   */
+  /*package*/ final StackTraceCache stackTraceCache;
+
   /**
    * The border formatter used to format the border when logging.
    */
   public final BorderFormatter borderFormatter;
 
+  /**
+   * The style of format strings, {@link MessageTemplate#STYLE_PRINTF} or
+   * {@link MessageTemplate#STYLE_BRACES}.
+   */
+  public final int formatStyle;
+
+  /**
+   * The log levels of specific tags and tag prefixes, null if none.
+   */
+  private final Map<String, Integer> tagLogLevels;
+
+  /**
+   * The log levels of specific tags and tag prefixes compiled into a trie, see
+   * {@link #getLogLevel(String)}, null if none.
+   */
+  private final TagPatterns tagLogLevelPatterns;
+
+  /**
+   * The log level of {@link #tag}, resolved up front.
+   */
+  private final int tagLogLevel;
+
   /**
    * The object formatters, used when logging an object.
    */
   private final Map<Class<?>, ObjectFormatter<?>> objectFormatters;
 
+  /**
+   * The formatters resolved for classes of objects, {@link #NO_FORMATTER} if none.
+   */
+  private final ConcurrentHashMap<Class<?>, ObjectFormatter<?>> resolvedObjectFormatters;
+
   /**
    * The interceptors, used to intercept the log when logging.
    *
@@ -124,6 +176,19 @@ import com.deepaksharma.webaddicted.internal.DefaultsFactory;
    */
   public final List<Interceptor> interceptors;
 
+  /**
+   * The leading {@link PreFilterInterceptor}s of {@link #interceptors}, asked before a log is
+   * formatted, null if none.
+   */
+  /*package*/ final PreFilterInterceptor[] preFilters;
+
+  /**
+   * The interceptors behind {@link #preFilters}, which intercept the formatted log, led by the
+   * decorations of the {@link DecoratingPreFilterInterceptor}s in {@link #preFilters}, null if
+   * none.
+   */
+  /*package*/ final List<Interceptor> postInterceptors;
+
   /*package*/ LogConfiguration(final Builder builder) {
     logLevel = builder.logLevel;
 
@@ -140,15 +205,49 @@ import com.deepaksharma.webaddicted.internal.DefaultsFactory;
     throwableFormatter = builder.throwableFormatter;
     threadFormatter = builder.threadFormatter;
     stackTraceFormatter = builder.stackTraceFormatter;
+    stackTraceCache = withStackTrace ? new StackTraceCache(stackTraceFormatter) : null;
     borderFormatter = builder.borderFormatter;
 
-    objectFormatters = builder.objectFormatters;
+    formatStyle = builder.formatStyle;
+
+    tagLogLevels = builder.tagLogLevels;
+    tagLogLevelPatterns = tagLogLevels != null ? new TagPatterns(tagLogLevels) : null;
+    tagLogLevel = getLogLevel(tag);
+
+    // A snapshot, so formatters added to the builder later can not go unseen by the cache.
+    objectFormatters = builder.objectFormatters != null
+        ? new HashMap<>(builder.objectFormatters) : null;
+    resolvedObjectFormatters = objectFormatters != null
+        ? new ConcurrentHashMap<Class<?>, ObjectFormatter<?>>() : null;
 
     interceptors = builder.interceptors;
+    int preFilterCount = 0;
+    if (interceptors != null) {
+      while (preFilterCount < interceptors.size()
+          && interceptors.get(preFilterCount) instanceof PreFilterInterceptor) {
+        preFilterCount++;
+      }
+    }
+    if (preFilterCount == 0) {
+      preFilters = null;
+      postInterceptors = interceptors;
+    } else {
+      preFilters = interceptors.subList(0, preFilterCount)
+          .toArray(new PreFilterInterceptor[preFilterCount]);
+      List<Interceptor> rest = new ArrayList<>();
+      for (PreFilterInterceptor preFilter : preFilters) {
+        if (preFilter instanceof DecoratingPreFilterInterceptor) {
+          rest.add(new Decoration((DecoratingPreFilterInterceptor) preFilter));
+        }
+      }
+      rest.addAll(interceptors.subList(preFilterCount, interceptors.size()));
+      postInterceptors = rest.isEmpty() ? null : rest;
+    }
   }
 
   /**
-   * Get {@link ObjectFormatter} for specific object.
+   * Get {@link ObjectFormatter} for specific object, the one added for the class of the object,
+   * its closest superclass, or one of its interfaces, resolved once for each class.
    *
    * @param object the object
    * @param <T>    the type of object
@@ -160,15 +259,43 @@ import com.deepaksharma.webaddicted.internal.DefaultsFactory;
       return null;
     }
 
-    Class<? super T> clazz;
-    Class<? super T> superClazz = (Class<? super T>) object.getClass();
-    ObjectFormatter<? super T> formatter;
-    do {
-      clazz = superClazz;
-      formatter = (ObjectFormatter<? super T>) objectFormatters.get(clazz);
-      superClazz = clazz.getSuperclass();
-    } while (formatter == null && superClazz != null);
-    return formatter;
+    Class<?> objectClass = object.getClass();
+    ObjectFormatter<?> formatter = resolvedObjectFormatters.get(objectClass);
+    if (formatter == null) {
+      formatter = resolveObjectFormatter(objectClass);
+      resolvedObjectFormatters.put(objectClass, formatter != null ? formatter : NO_FORMATTER);
+    }
+    return formatter != NO_FORMATTER ? (ObjectFormatter<? super T>) formatter : null;
+  }
+
+  /**
+   * Find the formatter of a class, the one of the class itself or its closest superclass, or if
+   * none, the one of the first interface found, breadth first from the class up.
+   */
+  private ObjectFormatter<?> resolveObjectFormatter(Class<?> objectClass) {
+    for (Class<?> clazz = objectClass; clazz != null; clazz = clazz.getSuperclass()) {
+      ObjectFormatter<?> formatter = objectFormatters.get(clazz);
+      if (formatter != null) {
+        return formatter;
+      }
+    }
+    Deque<Class<?>> interfaces = new ArrayDeque<>();
+    for (Class<?> clazz = objectClass; clazz != null; clazz = clazz.getSuperclass()) {
+      Collections.addAll(interfaces, clazz.getInterfaces());
+    }
+    Set<Class<?>> visited = new HashSet<>();
+    while (!interfaces.isEmpty()) {
+      Class<?> anInterface = interfaces.poll();
+      if (!visited.add(anInterface)) {
+        continue;
+      }
+      ObjectFormatter<?> formatter = objectFormatters.get(anInterface);
+      if (formatter != null) {
+        return formatter;
+      }
+      Collections.addAll(interfaces, anInterface.getInterfaces());
+    }
+    return null;
   }
 
   /**
@@ -181,6 +308,70 @@ import com.deepaksharma.webaddicted.internal.DefaultsFactory;
     return level >= logLevel;
   }
 
+  /**
+   * Get the log level of logs with specific tag, which is the one set for the tag, or for the
+   * longest prefix of the tag, with {@link Builder#tagLogLevel(String, int)}, or {@link #logLevel}
+   * if none, resolved in time linear to the length of the tag however many tags are logged.
+   *
+   * @param tag the specific tag, null for {@link #tag}
+   * @return the log level of the tag
+   */
+  public int getLogLevel(String tag) {
+    if (tagLogLevelPatterns == null) {
+      return logLevel;
+    }
+    Integer level = tagLogLevelPatterns.get(tag != null ? tag : this.tag);
+    return level != null ? level : logLevel;
+  }
+
+  /**
+   * Whether logs with specific level and tag is loggable, checking the level of the tag and
+   * asking the {@link PreFilterInterceptor}s at the head of the interceptors.
+   * <p>
+   * To be called exactly once for each log, see {@link PreFilterInterceptor#reject(int, String)}.
+   *
+   * @param level the specific level
+   * @param tag   the specific tag
+   * @return true if loggable, false otherwise
+   */
+  /*package*/ boolean isLoggable(int level, String tag) {
+    // Loggers check their own tag, which is resolved up front.
+    if (level < (tag == this.tag ? tagLogLevel : getLogLevel(tag))) {
+      return false;
+    }
+    if (preFilters != null) {
+      for (PreFilterInterceptor preFilter : preFilters) {
+        if (preFilter.reject(level, tag)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Run {@link DecoratingPreFilterInterceptor#decorate(LogItem)} of a decorator at the head of
+   * the interceptors, which has accepted the log before it was formatted.
+   */
+  private static class Decoration implements Interceptor {
+
+    private final DecoratingPreFilterInterceptor decorator;
+
+    Decoration(DecoratingPreFilterInterceptor decorator) {
+      this.decorator = decorator;
+    }
+
+    @Override
+    public LogItem intercept(LogItem log) {
+      return decorator.decorate(log);
+    }
+
+    @Override
+    public String toString() {
+      return decorator.toString();
+    }
+  }
+
   /**
    * Builder for {@link LogConfiguration}.
    */
@@ -260,6 +451,16 @@ import com.deepaksharma.webaddicted.internal.DefaultsFactory;
      */
     private BorderFormatter borderFormatter;
 
+    /**
+     * The style of format strings.
+     */
+    private int formatStyle = MessageTemplate.STYLE_PRINTF;
+
+    /**
+     * The log levels of specific tags and tag prefixes.
+     */
+    private Map<String, Integer> tagLogLevels;
+
     /**
      * The object formatters, used when logging an object.
      */
@@ -299,6 +500,12 @@ import com.deepaksharma.webaddicted.internal.DefaultsFactory;
       stackTraceFormatter = logConfiguration.stackTraceFormatter;
       borderFormatter = logConfiguration.borderFormatter;
 
+      formatStyle = logConfiguration.formatStyle;
+
+      if (logConfiguration.tagLogLevels != null) {
+        tagLogLevels = new HashMap<>(logConfiguration.tagLogLevels);
+      }
+
       if (logConfiguration.objectFormatters != null) {
         objectFormatters = new HashMap<>(logConfiguration.objectFormatters);
       }
@@ -497,6 +704,45 @@ import com.deepaksharma.webaddicted.internal.DefaultsFactory;
       return this;
     }
 
+    /**
+     * Set the style of format strings passed to {@code v/d/i/w/e(format, args)}, default to
+     * {@link MessageTemplate#STYLE_PRINTF}, which is compatible with
+     * {@link String#format(String, Object...)}, use {@link MessageTemplate#STYLE_BRACES} for
+     * SLF4J style "{}" placeholders.
+     *
+     * @param formatStyle the style of format strings
+     * @return the builder
+     */
+    public Builder formatStyle(int formatStyle) {
+      this.formatStyle = formatStyle;
+      return this;
+    }
+
+    /**
+     * Set the log level of logs with specific tag, overriding {@link #logLevel(int)} for the tag,
+     * e.g. to print all logs of one subsystem but only warnings and errors of the others.
+     *
+     * @param tag      the tag, or a prefix followed by a {@code *}, e.g. {@code Net*}, for all tags
+     *                 starting with the prefix, an exact tag takes precedence over prefixes, and
+     *                 a longer prefix over a shorter one
+     * @param logLevel the log level of the tag
+     * @return the builder
+     * @throws IllegalArgumentException if the tag has a {@code *} other than at the end
+     */
+    public Builder tagLogLevel(String tag, int logLevel) {
+      if (tag == null) {
+        throw new NullPointerException();
+      }
+      if (!TagPatterns.isValid(tag)) {
+        throw new IllegalArgumentException("Only a trailing * is allowed in tag pattern " + tag);
+      }
+      if (tagLogLevels == null) {
+        tagLogLevels = new HashMap<>();
+      }
+      tagLogLevels.put(tag, logLevel);
+      return this;
+    }
+
     /**
      * Copy all object formatters, only for internal usage.
      *
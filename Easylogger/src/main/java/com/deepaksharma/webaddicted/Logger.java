@@ -16,21 +16,16 @@
 
 package com.deepaksharma.webaddicted;
 
-import android.content.Intent;
-
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.deepaksharma.webaddicted.fileWrite.FileWrite;
-import com.deepaksharma.webaddicted.fileWrite.PermissionActivity;
-import com.deepaksharma.webaddicted.fileWrite.PermissionListener;
 import com.deepaksharma.webaddicted.formatter.border.BorderFormatter;
 import com.deepaksharma.webaddicted.formatter.message.json.JsonFormatter;
 import com.deepaksharma.webaddicted.formatter.message.object.ObjectFormatter;
+import com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate;
 import com.deepaksharma.webaddicted.formatter.message.throwable.ThrowableFormatter;
 import com.deepaksharma.webaddicted.formatter.message.xml.XmlFormatter;
 import com.deepaksharma.webaddicted.formatter.stacktrace.StackTraceFormatter;
@@ -41,6 +36,7 @@ import com.deepaksharma.webaddicted.internal.SystemCompat;
 import com.deepaksharma.webaddicted.internal.util.StackTraceUtil;
 import com.deepaksharma.webaddicted.printer.Printer;
 import com.deepaksharma.webaddicted.printer.PrinterSet;
+import com.deepaksharma.webaddicted.printer.TemplatePrinter;
 
 /**
  * A logger is used to do the real logging work, can use multiple log printers to print the log.
@@ -52,7 +48,23 @@ import com.deepaksharma.webaddicted.printer.PrinterSet;
  * the {@link Builder#build()} to build a {@link Logger}, and then you can log using
  * the {@link Logger} assuming that you are using the {@link TALog} directly.
  */
-public class Logger implements PermissionListener {
+public class Logger {
+
+    /**
+     * Max capacity of the reusable builder kept by a thread, a larger one is dropped after use.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    /**
+     * The reusable builder to assemble decorated messages on each thread.
+     */
+    private static final ThreadLocal<StringBuilder> sMsgBuilder =
+            new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(256);
+        }
+    };
 
     /**
      * The log configuration which you should respect to when logging.
@@ -64,11 +76,6 @@ public class Logger implements PermissionListener {
      */
     private Printer printer;
 
-
-    private String message=null;
-
-    public Logger(){
-    }
     /**
      * Construct a logger.
      *
@@ -182,6 +189,105 @@ public class Logger implements PermissionListener {
         println(LogLevel.VERBOSE, format, args);
     }
 
+    /**
+     * Log a message supplied on demand with level {@link LogLevel#VERBOSE}, the supplier is not
+     * called if the log is not going to be printed.
+     *
+     * @param supplier the supplier of the message to log
+     */
+    public void v(MessageSupplier supplier) {
+        println(LogLevel.VERBOSE, supplier);
+    }
+
+    /**
+     * Log a message with arguments supplied on demand and level {@link LogLevel#VERBOSE}, the
+     * suppliers are not called if the log is not going to be printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param args   the suppliers of the arguments of the message to log
+     */
+    public void v(String format, MessageSupplier... args) {
+        println(LogLevel.VERBOSE, format, (Object[]) args);
+    }
+
+    /**
+     * Log a message with an int argument and level {@link LogLevel#VERBOSE}, the argument is not
+     * boxed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void v(String format, int arg) {
+        println(LogLevel.VERBOSE, format, arg);
+    }
+
+    /**
+     * Log a message with a long argument and level {@link LogLevel#VERBOSE}, the argument is not
+     * boxed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void v(String format, long arg) {
+        println(LogLevel.VERBOSE, format, arg);
+    }
+
+    /**
+     * Log a message with a char argument and level {@link LogLevel#VERBOSE}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void v(String format, char arg) {
+        println(LogLevel.VERBOSE, format, arg);
+    }
+
+    /**
+     * Log a message with a short argument and level {@link LogLevel#VERBOSE}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void v(String format, short arg) {
+        println(LogLevel.VERBOSE, format, arg);
+    }
+
+    /**
+     * Log a message with a byte argument and level {@link LogLevel#VERBOSE}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void v(String format, byte arg) {
+        println(LogLevel.VERBOSE, format, arg);
+    }
+
+    /**
+     * Log a message with an argument and level {@link LogLevel#VERBOSE}, the argument is not
+     * wrapped in an array unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void v(String format, Object arg) {
+        println(LogLevel.VERBOSE, format, arg);
+    }
+
+    /**
+     * Log a message with two arguments and level {@link LogLevel#VERBOSE}, the arguments are not
+     * wrapped in an array unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg1   the first argument of the message to log
+     * @param arg2   the second argument of the message to log
+     */
+    public void v(String format, Object arg1, Object arg2) {
+        println(LogLevel.VERBOSE, format, arg1, arg2);
+    }
+
     /**
      * Log a message with level {@link LogLevel#VERBOSE}.
      *
@@ -231,6 +337,105 @@ public class Logger implements PermissionListener {
         println(LogLevel.DEBUG, format, args);
     }
 
+    /**
+     * Log a message supplied on demand with level {@link LogLevel#DEBUG}, the supplier is not
+     * called if the log is not going to be printed.
+     *
+     * @param supplier the supplier of the message to log
+     */
+    public void d(MessageSupplier supplier) {
+        println(LogLevel.DEBUG, supplier);
+    }
+
+    /**
+     * Log a message with arguments supplied on demand and level {@link LogLevel#DEBUG}, the
+     * suppliers are not called if the log is not going to be printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param args   the suppliers of the arguments of the message to log
+     */
+    public void d(String format, MessageSupplier... args) {
+        println(LogLevel.DEBUG, format, (Object[]) args);
+    }
+
+    /**
+     * Log a message with an int argument and level {@link LogLevel#DEBUG}, the argument is not
+     * boxed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void d(String format, int arg) {
+        println(LogLevel.DEBUG, format, arg);
+    }
+
+    /**
+     * Log a message with a long argument and level {@link LogLevel#DEBUG}, the argument is not
+     * boxed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void d(String format, long arg) {
+        println(LogLevel.DEBUG, format, arg);
+    }
+
+    /**
+     * Log a message with a char argument and level {@link LogLevel#DEBUG}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void d(String format, char arg) {
+        println(LogLevel.DEBUG, format, arg);
+    }
+
+    /**
+     * Log a message with a short argument and level {@link LogLevel#DEBUG}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void d(String format, short arg) {
+        println(LogLevel.DEBUG, format, arg);
+    }
+
+    /**
+     * Log a message with a byte argument and level {@link LogLevel#DEBUG}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void d(String format, byte arg) {
+        println(LogLevel.DEBUG, format, arg);
+    }
+
+    /**
+     * Log a message with an argument and level {@link LogLevel#DEBUG}, the argument is not wrapped
+     * in an array unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void d(String format, Object arg) {
+        println(LogLevel.DEBUG, format, arg);
+    }
+
+    /**
+     * Log a message with two arguments and level {@link LogLevel#DEBUG}, the arguments are not
+     * wrapped in an array unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg1   the first argument of the message to log
+     * @param arg2   the second argument of the message to log
+     */
+    public void d(String format, Object arg1, Object arg2) {
+        println(LogLevel.DEBUG, format, arg1, arg2);
+    }
+
     /**
      * Log a message with level {@link LogLevel#DEBUG}.
      *
@@ -280,6 +485,105 @@ public class Logger implements PermissionListener {
         println(LogLevel.INFO, format, args);
     }
 
+    /**
+     * Log a message supplied on demand with level {@link LogLevel#INFO}, the supplier is not
+     * called if the log is not going to be printed.
+     *
+     * @param supplier the supplier of the message to log
+     */
+    public void i(MessageSupplier supplier) {
+        println(LogLevel.INFO, supplier);
+    }
+
+    /**
+     * Log a message with arguments supplied on demand and level {@link LogLevel#INFO}, the
+     * suppliers are not called if the log is not going to be printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param args   the suppliers of the arguments of the message to log
+     */
+    public void i(String format, MessageSupplier... args) {
+        println(LogLevel.INFO, format, (Object[]) args);
+    }
+
+    /**
+     * Log a message with an int argument and level {@link LogLevel#INFO}, the argument is not
+     * boxed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void i(String format, int arg) {
+        println(LogLevel.INFO, format, arg);
+    }
+
+    /**
+     * Log a message with a long argument and level {@link LogLevel#INFO}, the argument is not
+     * boxed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void i(String format, long arg) {
+        println(LogLevel.INFO, format, arg);
+    }
+
+    /**
+     * Log a message with a char argument and level {@link LogLevel#INFO}, the argument is not boxed
+     * unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void i(String format, char arg) {
+        println(LogLevel.INFO, format, arg);
+    }
+
+    /**
+     * Log a message with a short argument and level {@link LogLevel#INFO}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void i(String format, short arg) {
+        println(LogLevel.INFO, format, arg);
+    }
+
+    /**
+     * Log a message with a byte argument and level {@link LogLevel#INFO}, the argument is not boxed
+     * unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void i(String format, byte arg) {
+        println(LogLevel.INFO, format, arg);
+    }
+
+    /**
+     * Log a message with an argument and level {@link LogLevel#INFO}, the argument is not wrapped
+     * in an array unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void i(String format, Object arg) {
+        println(LogLevel.INFO, format, arg);
+    }
+
+    /**
+     * Log a message with two arguments and level {@link LogLevel#INFO}, the arguments are not
+     * wrapped in an array unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg1   the first argument of the message to log
+     * @param arg2   the second argument of the message to log
+     */
+    public void i(String format, Object arg1, Object arg2) {
+        println(LogLevel.INFO, format, arg1, arg2);
+    }
+
     /**
      * Log a message with level {@link LogLevel#INFO}.
      *
@@ -329,6 +633,105 @@ public class Logger implements PermissionListener {
         println(LogLevel.WARN, format, args);
     }
 
+    /**
+     * Log a message supplied on demand with level {@link LogLevel#WARN}, the supplier is not
+     * called if the log is not going to be printed.
+     *
+     * @param supplier the supplier of the message to log
+     */
+    public void w(MessageSupplier supplier) {
+        println(LogLevel.WARN, supplier);
+    }
+
+    /**
+     * Log a message with arguments supplied on demand and level {@link LogLevel#WARN}, the
+     * suppliers are not called if the log is not going to be printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param args   the suppliers of the arguments of the message to log
+     */
+    public void w(String format, MessageSupplier... args) {
+        println(LogLevel.WARN, format, (Object[]) args);
+    }
+
+    /**
+     * Log a message with an int argument and level {@link LogLevel#WARN}, the argument is not
+     * boxed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void w(String format, int arg) {
+        println(LogLevel.WARN, format, arg);
+    }
+
+    /**
+     * Log a message with a long argument and level {@link LogLevel#WARN}, the argument is not
+     * boxed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void w(String format, long arg) {
+        println(LogLevel.WARN, format, arg);
+    }
+
+    /**
+     * Log a message with a char argument and level {@link LogLevel#WARN}, the argument is not boxed
+     * unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void w(String format, char arg) {
+        println(LogLevel.WARN, format, arg);
+    }
+
+    /**
+     * Log a message with a short argument and level {@link LogLevel#WARN}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void w(String format, short arg) {
+        println(LogLevel.WARN, format, arg);
+    }
+
+    /**
+     * Log a message with a byte argument and level {@link LogLevel#WARN}, the argument is not boxed
+     * unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void w(String format, byte arg) {
+        println(LogLevel.WARN, format, arg);
+    }
+
+    /**
+     * Log a message with an argument and level {@link LogLevel#WARN}, the argument is not wrapped
+     * in an array unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void w(String format, Object arg) {
+        println(LogLevel.WARN, format, arg);
+    }
+
+    /**
+     * Log a message with two arguments and level {@link LogLevel#WARN}, the arguments are not
+     * wrapped in an array unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg1   the first argument of the message to log
+     * @param arg2   the second argument of the message to log
+     */
+    public void w(String format, Object arg1, Object arg2) {
+        println(LogLevel.WARN, format, arg1, arg2);
+    }
+
     /**
      * Log a message with level {@link LogLevel#WARN}.
      *
@@ -378,6 +781,105 @@ public class Logger implements PermissionListener {
         println(LogLevel.ERROR, format, args);
     }
 
+    /**
+     * Log a message supplied on demand with level {@link LogLevel#ERROR}, the supplier is not
+     * called if the log is not going to be printed.
+     *
+     * @param supplier the supplier of the message to log
+     */
+    public void e(MessageSupplier supplier) {
+        println(LogLevel.ERROR, supplier);
+    }
+
+    /**
+     * Log a message with arguments supplied on demand and level {@link LogLevel#ERROR}, the
+     * suppliers are not called if the log is not going to be printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param args   the suppliers of the arguments of the message to log
+     */
+    public void e(String format, MessageSupplier... args) {
+        println(LogLevel.ERROR, format, (Object[]) args);
+    }
+
+    /**
+     * Log a message with an int argument and level {@link LogLevel#ERROR}, the argument is not
+     * boxed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void e(String format, int arg) {
+        println(LogLevel.ERROR, format, arg);
+    }
+
+    /**
+     * Log a message with a long argument and level {@link LogLevel#ERROR}, the argument is not
+     * boxed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void e(String format, long arg) {
+        println(LogLevel.ERROR, format, arg);
+    }
+
+    /**
+     * Log a message with a char argument and level {@link LogLevel#ERROR}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void e(String format, char arg) {
+        println(LogLevel.ERROR, format, arg);
+    }
+
+    /**
+     * Log a message with a short argument and level {@link LogLevel#ERROR}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void e(String format, short arg) {
+        println(LogLevel.ERROR, format, arg);
+    }
+
+    /**
+     * Log a message with a byte argument and level {@link LogLevel#ERROR}, the argument is not
+     * boxed unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void e(String format, byte arg) {
+        println(LogLevel.ERROR, format, arg);
+    }
+
+    /**
+     * Log a message with an argument and level {@link LogLevel#ERROR}, the argument is not wrapped
+     * in an array unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     */
+    public void e(String format, Object arg) {
+        println(LogLevel.ERROR, format, arg);
+    }
+
+    /**
+     * Log a message with two arguments and level {@link LogLevel#ERROR}, the arguments are not
+     * wrapped in an array unless the log is printed.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg1   the first argument of the message to log
+     * @param arg2   the second argument of the message to log
+     */
+    public void e(String format, Object arg1, Object arg2) {
+        println(LogLevel.ERROR, format, arg1, arg2);
+    }
+
     /**
      * Log a message with level {@link LogLevel#ERROR}.
      *
@@ -458,77 +960,290 @@ public class Logger implements PermissionListener {
     /**
      * Log a JSON string, with level {@link LogLevel#DEBUG} by default.
      *
-     * @param json the JSON string to log
+     * @param json the JSON string to log
+     */
+    public void json(String json) {
+        if (!isLoggable(LogLevel.DEBUG)) {
+            return;
+        }
+        printlnInternal(LogLevel.DEBUG, CallSite.take(),
+                logConfiguration.jsonFormatter.format(json));
+    }
+
+    /**
+     * Log a XML string, with level {@link LogLevel#DEBUG} by default.
+     *
+     * @param xml the XML string to log
+     */
+    public void xml(String xml) {
+        if (!isLoggable(LogLevel.DEBUG)) {
+            return;
+        }
+        printlnInternal(LogLevel.DEBUG, CallSite.take(),
+                logConfiguration.xmlFormatter.format(xml));
+    }
+
+    /**
+     * Print an object in a new line.
+     *
+     * @param logLevel the log level of the printing object
+     * @param object   the object to print
+     */
+    private <T> void println(int logLevel, T object) {
+        if (!isLoggable(logLevel)) {
+            return;
+        }
+        printlnInternal(logLevel, CallSite.take(), formatObject(object));
+    }
+
+    /**
+     * Format an object with its {@link ObjectFormatter}, if any.
+     *
+     * @param object the object to format
+     * @return the formatted string
+     */
+    private <T> String formatObject(T object) {
+        if (object == null) {
+            return "null";
+        }
+        ObjectFormatter<? super T> objectFormatter = logConfiguration.getObjectFormatter(object);
+        if (objectFormatter != null) {
+            return objectFormatter.format(object);
+        } else {
+            return object.toString();
+        }
+    }
+
+    /**
+     * Print a message supplied on demand in a new line.
+     *
+     * @param logLevel the log level of the printing log
+     * @param supplier the supplier of the message
+     */
+    private void println(int logLevel, MessageSupplier supplier) {
+        if (!isLoggable(logLevel)) {
+            return;
+        }
+        CallSite callSite = CallSite.take();
+        Object message = supplier.get();
+        printlnInternal(logLevel, callSite, message instanceof String
+                ? (String) message : formatObject(message));
+    }
+
+    /**
+     * Print an array in a new line.
+     *
+     * @param logLevel the log level of the printing array
+     * @param array    the array to print
+     */
+    private void println(int logLevel, Object[] array) {
+        if (!isLoggable(logLevel)) {
+            return;
+        }
+        printlnInternal(logLevel, CallSite.take(), Arrays.deepToString(array));
+    }
+
+    /**
+     * Print a log in a new line.
+     *
+     * @param logLevel the log level of the printing log
+     * @param format   the format of the printing log, null if just need to concat arguments
+     * @param args     the arguments of the printing log
+     */
+    private void println(int logLevel, String format, Object... args) {
+        if (!isLoggable(logLevel)) {
+            return;
+        }
+        printlnArgs(logLevel, format, args);
+    }
+
+    /**
+     * Print a log which has passed the level check in a new line.
+     *
+     * @param logLevel the log level of the printing log
+     * @param format   the format of the printing log, null if just need to concat arguments
+     * @param args     the arguments of the printing log
+     */
+    private void printlnArgs(int logLevel, String format, Object[] args) {
+        CallSite callSite = CallSite.take();
+        if (args != null) {
+            args = supplyArgs(args);
+        }
+        if (format != null && args != null && printsTemplates()) {
+            // Nothing to add to the message, let the printer decide when to format it.
+            CallSite.restore(callSite);
+            ((TemplatePrinter) printer).println(logLevel, logConfiguration.tag,
+                    template(format), args);
+            return;
+        }
+        printlnInternal(logLevel, callSite, formatArgs(format, args));
+    }
+
+    /**
+     * Print a log with an int argument in a new line, boxing the argument only if the printer
+     * takes the log as a template.
+     *
+     * @param logLevel the log level of the printing log
+     * @param format   the format of the printing log, null if just need to concat arguments
+     * @param arg      the argument of the printing log
+     */
+    private void println(int logLevel, String format, int arg) {
+        if (!isLoggable(logLevel)) {
+            return;
+        }
+        if (format == null) {
+            printlnInternal(logLevel, CallSite.take(), String.valueOf(arg));
+        } else if (printsTemplates()) {
+            ((TemplatePrinter) printer).println(logLevel, logConfiguration.tag,
+                    template(format), new Object[]{arg});
+        } else {
+            printlnInternal(logLevel, CallSite.take(), template(format).format(arg));
+        }
+    }
+
+    /**
+     * Print a log with a long argument in a new line, boxing the argument only if the printer
+     * takes the log as a template.
+     *
+     * @param logLevel the log level of the printing log
+     * @param format   the format of the printing log, null if just need to concat arguments
+     * @param arg      the argument of the printing log
+     */
+    private void println(int logLevel, String format, long arg) {
+        if (!isLoggable(logLevel)) {
+            return;
+        }
+        if (format == null) {
+            printlnInternal(logLevel, CallSite.take(), String.valueOf(arg));
+        } else if (printsTemplates()) {
+            ((TemplatePrinter) printer).println(logLevel, logConfiguration.tag,
+                    template(format), new Object[]{arg});
+        } else {
+            printlnInternal(logLevel, CallSite.take(), template(format).format(arg));
+        }
+    }
+
+    /**
+     * Print a log with a char argument in a new line.
+     *
+     * @param logLevel the log level of the printing log
+     * @param format   the format of the printing log, null if just need to concat arguments
+     * @param arg      the argument of the printing log
      */
-    public void json(String json) {
-        if (LogLevel.DEBUG < logConfiguration.logLevel) {
+    private void println(int logLevel, String format, char arg) {
+        if (!isLoggable(logLevel)) {
             return;
         }
-        printlnInternal(LogLevel.DEBUG, logConfiguration.jsonFormatter.format(json));
+        printlnArgs(logLevel, format, new Object[]{arg});
     }
 
     /**
-     * Log a XML string, with level {@link LogLevel#DEBUG} by default.
+     * Print a log with a short argument in a new line.
      *
-     * @param xml the XML string to log
+     * @param logLevel the log level of the printing log
+     * @param format   the format of the printing log, null if just need to concat arguments
+     * @param arg      the argument of the printing log
      */
-    public void xml(String xml) {
-        if (LogLevel.DEBUG < logConfiguration.logLevel) {
+    private void println(int logLevel, String format, short arg) {
+        if (!isLoggable(logLevel)) {
             return;
         }
-        printlnInternal(LogLevel.DEBUG, logConfiguration.xmlFormatter.format(xml));
+        printlnArgs(logLevel, format, new Object[]{arg});
     }
 
     /**
-     * Print an object in a new line.
+     * Print a log with a byte argument in a new line.
      *
-     * @param logLevel the log level of the printing object
-     * @param object   the object to print
+     * @param logLevel the log level of the printing log
+     * @param format   the format of the printing log, null if just need to concat arguments
+     * @param arg      the argument of the printing log
      */
-    private <T> void println(int logLevel, T object) {
-        if (logLevel < logConfiguration.logLevel) {
+    private void println(int logLevel, String format, byte arg) {
+        if (!isLoggable(logLevel)) {
             return;
         }
-        String objectString;
-        if (object != null) {
-            ObjectFormatter<? super T> objectFormatter = logConfiguration.getObjectFormatter(object);
-            if (objectFormatter != null) {
-                objectString = objectFormatter.format(object);
-            } else {
-                objectString = object.toString();
-            }
-        } else {
-            objectString = "null";
-        }
-        printlnInternal(logLevel, objectString);
+        printlnArgs(logLevel, format, new Object[]{arg});
     }
 
-
     /**
-     * Print an array in a new line.
+     * Print a log with an argument in a new line.
      *
-     * @param logLevel the log level of the printing array
-     * @param array    the array to print
+     * @param logLevel the log level of the printing log
+     * @param format   the format of the printing log, null if just need to concat arguments
+     * @param arg      the argument of the printing log
      */
-    private void println(int logLevel, Object[] array) {
-        if (logLevel < logConfiguration.logLevel) {
+    private void println(int logLevel, String format, Object arg) {
+        if (!isLoggable(logLevel)) {
             return;
         }
-        printlnInternal(logLevel, Arrays.deepToString(array));
+        printlnArgs(logLevel, format, new Object[]{arg});
     }
 
     /**
-     * Print a log in a new line.
+     * Print a log with two arguments in a new line.
      *
      * @param logLevel the log level of the printing log
      * @param format   the format of the printing log, null if just need to concat arguments
-     * @param args     the arguments of the printing log
+     * @param arg1     the first argument of the printing log
+     * @param arg2     the second argument of the printing log
      */
-    private void println(int logLevel, String format, Object... args) {
-        if (logLevel < logConfiguration.logLevel) {
+    private void println(int logLevel, String format, Object arg1, Object arg2) {
+        if (!isLoggable(logLevel)) {
             return;
         }
-        printlnInternal(logLevel, formatArgs(format, args));
+        printlnArgs(logLevel, format, new Object[]{arg1, arg2});
+    }
+
+    /**
+     * Whether a log with specific level should be printed, checked before any formatting work.
+     *
+     * @param logLevel the log level of the printing log
+     * @return true if the log passes the level check and the pre-filters, false otherwise
+     */
+    private boolean isLoggable(int logLevel) {
+        return logConfiguration.isLoggable(logLevel, logConfiguration.tag);
+    }
+
+    /**
+     * Whether a log with a format and arguments can be handed over to the printer as a template,
+     * the printer wants templates and there is nothing to add to the message.
+     */
+    private boolean printsTemplates() {
+        return printer instanceof TemplatePrinter
+                && ((TemplatePrinter) printer).acceptsTemplates() && isUndecorated();
+    }
+
+    /**
+     * Whether logs are printed as they are, without thread info, stack trace, border or
+     * interceptors of formatted logs.
+     */
+    private boolean isUndecorated() {
+        return !logConfiguration.withThread && !logConfiguration.withStackTrace
+                && !logConfiguration.withBorder && logConfiguration.postInterceptors == null;
+    }
+
+    /**
+     * Replace the {@link MessageSupplier}s in arguments with what they supply.
+     *
+     * @param args the arguments
+     * @return the arguments if no supplier in them, otherwise a copy with the suppliers replaced
+     */
+    private static Object[] supplyArgs(Object[] args) {
+        Object[] supplied = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSupplier) {
+                if (supplied == null) {
+                    // Not a clone, which would be a MessageSupplier[] when called with suppliers.
+                    supplied = Arrays.copyOf(args, args.length, Object[].class);
+                }
+                supplied[i] = ((MessageSupplier) args[i]).get();
+            }
+        }
+        return supplied != null ? supplied : args;
+    }
+
+    private MessageTemplate template(String format) {
+        return MessageTemplate.of(format, logConfiguration.formatStyle);
     }
 
     /**
@@ -538,10 +1253,10 @@ public class Logger implements PermissionListener {
      * @param msg      the message you would like to log
      */
     /*package*/ void println(int logLevel, String msg) {
-        if (logLevel < logConfiguration.logLevel) {
+        if (!isLoggable(logLevel)) {
             return;
         }
-        printlnInternal(logLevel, msg);
+        printlnInternal(logLevel, CallSite.take(), msg);
     }
 
     /**
@@ -552,35 +1267,51 @@ public class Logger implements PermissionListener {
      * @param tr       a throwable object to log
      */
     private void println(int logLevel, String msg, Throwable tr) {
-        if (logLevel < logConfiguration.logLevel) {
+        if (!isLoggable(logLevel)) {
             return;
         }
-        printlnInternal(logLevel, ((msg == null || msg.length() == 0)
+        printlnInternal(logLevel, CallSite.take(), ((msg == null || msg.length() == 0)
                 ? "" : (msg + SystemCompat.lineSeparator))
                 + logConfiguration.throwableFormatter.format(tr));
     }
 
+    /**
+     * Format the stack trace of the caller, taking the {@link CallSite} of the log if it is all
+     * needed.
+     *
+     * @param callSite the call site of the log, null if unknown
+     * @return the formatted stack trace
+     */
+    private String formatStackTrace(CallSite callSite) {
+        if (logConfiguration.stackTraceDepth != 1 || logConfiguration.stackTraceOrigin != null) {
+            callSite = null;
+        }
+        StackTraceElement[] stackTrace = callSite != null
+                ? callSite.asStackTrace()
+                : StackTraceUtil.getCallerStackTrace(logConfiguration.stackTraceOrigin,
+                logConfiguration.stackTraceDepth);
+        return logConfiguration.stackTraceCache.format(stackTrace);
+    }
+
     /**
      * Print a log in a new line internally.
      *
      * @param logLevel the log level of the printing log
+     * @param callSite the call site taken before the message was formatted, null if none
      * @param msg      the message you would like to log
      */
-    private void printlnInternal(int logLevel, String msg) {
+    private void printlnInternal(int logLevel, CallSite callSite, String msg) {
+        // Back to the thread for the interceptors and printers.
+        CallSite.restore(callSite);
         String tag = logConfiguration.tag;
         String thread = logConfiguration.withThread
                 ? logConfiguration.threadFormatter.format(Thread.currentThread())
                 : null;
-        String stackTrace = logConfiguration.withStackTrace
-                ? logConfiguration.stackTraceFormatter.format(
-                StackTraceUtil.getCroppedRealStackTrack(new Throwable().getStackTrace(),
-                        logConfiguration.stackTraceOrigin,
-                        logConfiguration.stackTraceDepth))
-                : null;
+        String stackTrace = logConfiguration.withStackTrace ? formatStackTrace(callSite) : null;
 
-        if (logConfiguration.interceptors != null) {
+        if (logConfiguration.postInterceptors != null) {
             LogItem log = new LogItem(logLevel, tag, thread, stackTrace, msg);
-            for (Interceptor interceptor : logConfiguration.interceptors) {
+            for (Interceptor interceptor : logConfiguration.postInterceptors) {
                 log = interceptor.intercept(log);
                 if (log == null) {
                     // Log is eaten, don't print this log.
@@ -604,27 +1335,28 @@ public class Logger implements PermissionListener {
             msg = log.msg;
         }
 
-        printer.println(logLevel, tag, logConfiguration.withBorder
-                ? logConfiguration.borderFormatter.format(new String[]{thread, stackTrace, msg})
-                : ((thread != null ? (thread + SystemCompat.lineSeparator) : "")
-                + (stackTrace != null ? (stackTrace + SystemCompat.lineSeparator) : "")
-                + msg));
-
-        permissionInit((logConfiguration.withBorder
-                ? logConfiguration.borderFormatter.format(new String[]{thread, stackTrace, msg})
-                : ((thread != null ? (thread + SystemCompat.lineSeparator) : "")
-                + (stackTrace != null ? (stackTrace + SystemCompat.lineSeparator) : "")
-                + msg)));
-    }
-
-    public void permissionInit(String message) {
-        this.message=message;
-        if (message!=null) {
-            Intent intent = new Intent(TALog.mContext, PermissionActivity.class);
-            intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
-            TALog.mContext.startActivity(intent);
-            PermissionActivity.checkListener(this);
+        // Render once, the same result goes to all printers.
+        String decoratedMsg;
+        if (logConfiguration.withBorder) {
+            decoratedMsg = logConfiguration.borderFormatter.format(
+                    new String[]{thread, stackTrace, msg});
+        } else if (thread == null && stackTrace == null) {
+            decoratedMsg = msg;
+        } else {
+            StringBuilder msgBuilder = sMsgBuilder.get();
+            msgBuilder.setLength(0);
+            if (thread != null) {
+                msgBuilder.append(thread).append(SystemCompat.lineSeparator);
+            }
+            if (stackTrace != null) {
+                msgBuilder.append(stackTrace).append(SystemCompat.lineSeparator);
+            }
+            decoratedMsg = msgBuilder.append(msg).toString();
+            if (msgBuilder.capacity() > MAX_RETAINED_CAPACITY) {
+                sMsgBuilder.remove();
+            }
         }
+        printer.println(logLevel, tag, decoratedMsg);
     }
 
 
@@ -637,7 +1369,7 @@ public class Logger implements PermissionListener {
      */
     private String formatArgs(String format, Object... args) {
         if (format != null) {
-            return String.format(format, args);
+            return template(format).format(args);
         } else {
             StringBuilder sb = new StringBuilder();
             for (int i = 0, N = args.length; i < N; i++) {
@@ -650,21 +1382,6 @@ public class Logger implements PermissionListener {
         }
     }
 
-    @Override
-    public void onAccepted() {
-        String systemTime = new SimpleDateFormat("dd-MM-yyyy-HH:mm:ss").format(System
-                .currentTimeMillis());
-        String strFormateExp = "\n\n===============" + systemTime + "===============\n\n"
-                + message;
-        if (message != null)
-            FileWrite.logFile(strFormateExp);
-    }
-
-    @Override
-    public void onDenied() {
-
-    }
-
     /**
      * Builder for {@link Logger}.
      */
@@ -1033,6 +1750,69 @@ public class Logger implements PermissionListener {
             build().v(format, args);
         }
 
+        /**
+         * Convenience of {@link #build()} and {@link Logger#v(MessageSupplier)}.
+         */
+        public void v(MessageSupplier supplier) {
+            build().v(supplier);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#v(String, MessageSupplier...)}.
+         */
+        public void v(String format, MessageSupplier... args) {
+            build().v(format, args);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#v(String, int)}.
+         */
+        public void v(String format, int arg) {
+            build().v(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#v(String, long)}.
+         */
+        public void v(String format, long arg) {
+            build().v(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#v(String, char)}.
+         */
+        public void v(String format, char arg) {
+            build().v(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#v(String, short)}.
+         */
+        public void v(String format, short arg) {
+            build().v(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#v(String, byte)}.
+         */
+        public void v(String format, byte arg) {
+            build().v(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#v(String, Object)}.
+         */
+        public void v(String format, Object arg) {
+            build().v(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#v(String, Object, Object)}.
+         */
+        public void v(String format, Object arg1, Object arg2) {
+            build().v(format, arg1, arg2);
+        }
+
         /**
          * Convenience of {@link #build()} and {@link Logger#v(String)}.
          */
@@ -1072,6 +1852,69 @@ public class Logger implements PermissionListener {
             build().d(format, args);
         }
 
+        /**
+         * Convenience of {@link #build()} and {@link Logger#d(MessageSupplier)}.
+         */
+        public void d(MessageSupplier supplier) {
+            build().d(supplier);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#d(String, MessageSupplier...)}.
+         */
+        public void d(String format, MessageSupplier... args) {
+            build().d(format, args);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#d(String, int)}.
+         */
+        public void d(String format, int arg) {
+            build().d(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#d(String, long)}.
+         */
+        public void d(String format, long arg) {
+            build().d(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#d(String, char)}.
+         */
+        public void d(String format, char arg) {
+            build().d(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#d(String, short)}.
+         */
+        public void d(String format, short arg) {
+            build().d(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#d(String, byte)}.
+         */
+        public void d(String format, byte arg) {
+            build().d(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#d(String, Object)}.
+         */
+        public void d(String format, Object arg) {
+            build().d(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#d(String, Object, Object)}.
+         */
+        public void d(String format, Object arg1, Object arg2) {
+            build().d(format, arg1, arg2);
+        }
+
         /**
          * Convenience of {@link #build()} and {@link Logger#d(String)}.
          */
@@ -1111,6 +1954,69 @@ public class Logger implements PermissionListener {
             build().i(format, args);
         }
 
+        /**
+         * Convenience of {@link #build()} and {@link Logger#i(MessageSupplier)}.
+         */
+        public void i(MessageSupplier supplier) {
+            build().i(supplier);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#i(String, MessageSupplier...)}.
+         */
+        public void i(String format, MessageSupplier... args) {
+            build().i(format, args);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#i(String, int)}.
+         */
+        public void i(String format, int arg) {
+            build().i(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#i(String, long)}.
+         */
+        public void i(String format, long arg) {
+            build().i(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#i(String, char)}.
+         */
+        public void i(String format, char arg) {
+            build().i(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#i(String, short)}.
+         */
+        public void i(String format, short arg) {
+            build().i(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#i(String, byte)}.
+         */
+        public void i(String format, byte arg) {
+            build().i(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#i(String, Object)}.
+         */
+        public void i(String format, Object arg) {
+            build().i(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#i(String, Object, Object)}.
+         */
+        public void i(String format, Object arg1, Object arg2) {
+            build().i(format, arg1, arg2);
+        }
+
         /**
          * Convenience of {@link #build()} and {@link Logger#i(String)}.
          */
@@ -1150,6 +2056,69 @@ public class Logger implements PermissionListener {
             build().w(format, args);
         }
 
+        /**
+         * Convenience of {@link #build()} and {@link Logger#w(MessageSupplier)}.
+         */
+        public void w(MessageSupplier supplier) {
+            build().w(supplier);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#w(String, MessageSupplier...)}.
+         */
+        public void w(String format, MessageSupplier... args) {
+            build().w(format, args);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#w(String, int)}.
+         */
+        public void w(String format, int arg) {
+            build().w(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#w(String, long)}.
+         */
+        public void w(String format, long arg) {
+            build().w(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#w(String, char)}.
+         */
+        public void w(String format, char arg) {
+            build().w(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#w(String, short)}.
+         */
+        public void w(String format, short arg) {
+            build().w(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#w(String, byte)}.
+         */
+        public void w(String format, byte arg) {
+            build().w(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#w(String, Object)}.
+         */
+        public void w(String format, Object arg) {
+            build().w(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#w(String, Object, Object)}.
+         */
+        public void w(String format, Object arg1, Object arg2) {
+            build().w(format, arg1, arg2);
+        }
+
         /**
          * Convenience of {@link #build()} and {@link Logger#w(String)}.
          */
@@ -1189,6 +2158,69 @@ public class Logger implements PermissionListener {
             build().e(format, args);
         }
 
+        /**
+         * Convenience of {@link #build()} and {@link Logger#e(MessageSupplier)}.
+         */
+        public void e(MessageSupplier supplier) {
+            build().e(supplier);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#e(String, MessageSupplier...)}.
+         */
+        public void e(String format, MessageSupplier... args) {
+            build().e(format, args);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#e(String, int)}.
+         */
+        public void e(String format, int arg) {
+            build().e(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#e(String, long)}.
+         */
+        public void e(String format, long arg) {
+            build().e(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#e(String, char)}.
+         */
+        public void e(String format, char arg) {
+            build().e(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#e(String, short)}.
+         */
+        public void e(String format, short arg) {
+            build().e(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#e(String, byte)}.
+         */
+        public void e(String format, byte arg) {
+            build().e(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#e(String, Object)}.
+         */
+        public void e(String format, Object arg) {
+            build().e(format, arg);
+        }
+
+        /**
+         * Convenience of {@link #build()} and {@link Logger#e(String, Object, Object)}.
+         */
+        public void e(String format, Object arg1, Object arg2) {
+            build().e(format, arg1, arg2);
+        }
+
         /**
          * Convenience of {@link #build()} and {@link Logger#e(String)}.
          */
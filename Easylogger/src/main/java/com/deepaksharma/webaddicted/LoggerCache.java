@@ -0,0 +1,55 @@
+package com.deepaksharma.webaddicted;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bounded cache of {@link Logger}s keyed by tag, each of which uses the global configuration
+ * with only the tag changed.
+ * <p>
+ * A cache is tied to the global configuration at the time it is created, a new cache should be
+ * created whenever the global configuration changes.
+ */
+/*package*/ class LoggerCache {
+
+    private final int maxSize;
+
+    private final ConcurrentHashMap<String, Logger> loggers;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize the max number of cached loggers, an arbitrary one is evicted when exceeded
+     */
+    /*package*/ LoggerCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.loggers = new ConcurrentHashMap<>(Math.min(maxSize, 64));
+    }
+
+    /**
+     * Get the logger of a tag, build it if not cached.
+     *
+     * @param tag the tag, null for the global tag
+     * @return the logger
+     */
+    /*package*/ Logger get(String tag) {
+        if (tag == null) {
+            // Not allowed as a key, and rare enough to build each time.
+            return new Logger.Builder().build();
+        }
+        Logger logger = loggers.get(tag);
+        if (logger != null) {
+            return logger;
+        }
+        logger = new Logger.Builder().tag(tag).build();
+        if (loggers.size() >= maxSize) {
+            Iterator<String> iterator = loggers.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        Logger existing = loggers.putIfAbsent(tag, logger);
+        return existing != null ? existing : logger;
+    }
+}
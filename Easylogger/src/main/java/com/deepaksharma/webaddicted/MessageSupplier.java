@@ -0,0 +1,22 @@
+package com.deepaksharma.webaddicted;
+
+/**
+ * Supply a log message, or an argument of it, on demand, so that an expensive one is only built
+ * if the log is going to be printed.
+ * <p>
+ * With Java 8, a lambda such as {@code () -> user.toString()} can be passed wherever a supplier
+ * is expected.
+ *
+ * @see Logger#d(MessageSupplier)
+ * @see Logger#d(String, MessageSupplier...)
+ */
+public interface MessageSupplier {
+
+  /**
+   * Get the message or the argument, called at most once for each log, and only after the log
+   * has passed the level check.
+   *
+   * @return the message or the argument, will be formatted as any other message or argument
+   */
+  Object get();
+}
@@ -18,6 +18,7 @@ package com.deepaksharma.webaddicted;
 
 import android.content.Context;
 
+import com.deepaksharma.webaddicted.fileWrite.FileWrite;
 import com.deepaksharma.webaddicted.formatter.border.BorderFormatter;
 import com.deepaksharma.webaddicted.formatter.message.json.JsonFormatter;
 import com.deepaksharma.webaddicted.formatter.message.object.ObjectFormatter;
@@ -31,15 +32,31 @@ import com.deepaksharma.webaddicted.internal.Platform;
 import com.deepaksharma.webaddicted.internal.util.StackTraceUtil;
 import com.deepaksharma.webaddicted.printer.Printer;
 import com.deepaksharma.webaddicted.printer.PrinterSet;
+import com.deepaksharma.webaddicted.printer.file.MappedFilePrinter;
+import com.deepaksharma.webaddicted.printer.file.RollingPolicy;
 
 
-public class TALog {//implements PermissionListener{
+public class TALog {
 
     /**
      * Global logger for all direct logging via {@link TALog}.
      */
     private static Logger sLogger;
 
+    /**
+     * The logger actually used for direct logging via {@link TALog}, which is {@link #sLogger}
+     * with border, thread info and stack trace applied as enabled, rebuilt only when any of them
+     * changes.
+     */
+    private static volatile Logger sActiveLogger;
+
+    /**
+     * The loggers used by {@link Log}, replaced whenever the global configuration changes.
+     */
+    private static volatile LoggerCache sLoggerCache;
+
+    private static final int LOGGER_CACHE_SIZE = 256;
+
     /**
      * Global log configuration.
      */
@@ -52,6 +69,12 @@ public class TALog {//implements PermissionListener{
 
     static boolean sIsInitialized;
 
+    /**
+     * The printer keeping logs in the log file, if initialized with
+     * {@link #init(Context, int)}.
+     */
+    private static volatile MappedFilePrinter sFilePrinter;
+
     private static boolean isBorderEnable = false;
 
     private static boolean isThreadInfo = false;
@@ -60,6 +83,10 @@ public class TALog {//implements PermissionListener{
 
     public static Context mContext;
 
+    private static final int LOG_FILE_MAX_BYTES = 1024 * 1024;
+
+    private static final int LOG_FILE_MAX_SEGMENTS = 10;
+
     /**
      * Prevent instance.
      */
@@ -69,13 +96,40 @@ public class TALog {//implements PermissionListener{
 
     /**
      * Initialize log system, should be called only once.
+     * <p>
+     * Logs are printed by the default printer and also kept in the log file, the location of
+     * which is resolved here once, see {@link FileWrite#resolveLogFile(Context)}. Recent logs are
+     * cached in a memory-mapped file so they survive a crash, and logs left there by a previous
+     * process are recovered into the log file here, call {@link #flush()} to move the cached logs
+     * to the log file, which is done on each error log anyway. The log file is rotated every
+     * {@value #LOG_FILE_MAX_BYTES} bytes, and the latest {@value #LOG_FILE_MAX_SEGMENTS} rotated
+     * segments are kept compressed.
      *
      * @param logLevel the log level, logs with a lower level than which would not be printed
      */
-    public static void init(Context context,int logLevel) {
-        mContext=context;
+    public static void init(Context context, int logLevel) {
+        mContext = context.getApplicationContext();
+        MappedFilePrinter filePrinter =
+                new MappedFilePrinter.Builder(FileWrite.resolveLogFile(mContext))
+                        .rollingPolicy(new RollingPolicy.Builder()
+                                .maxBytes(LOG_FILE_MAX_BYTES)
+                                .maxSegments(LOG_FILE_MAX_SEGMENTS)
+                                .build())
+                        .build();
         init(new LogConfiguration.Builder().logLevel(logLevel).build(),
-                DefaultsFactory.createPrinter());
+                DefaultsFactory.createPrinter(), filePrinter);
+        sFilePrinter = filePrinter;
+    }
+
+    /**
+     * Move the recent logs cached since {@link #init(Context, int)} to the log file, e.g. before
+     * reading or uploading the log file, does nothing if initialized otherwise.
+     */
+    public static void flush() {
+        MappedFilePrinter filePrinter = sFilePrinter;
+        if (filePrinter != null) {
+            filePrinter.flush();
+        }
     }
 
     /**
@@ -135,6 +189,33 @@ public class TALog {//implements PermissionListener{
         sPrinter = new PrinterSet(printers);
 
         sLogger = new Logger(sLogConfiguration, sPrinter);
+        updateActiveLogger();
+        sLoggerCache = new LoggerCache(LOGGER_CACHE_SIZE);
+    }
+
+    /**
+     * Rebuild the active logger after initialization or any change of border, thread info or
+     * stack trace.
+     */
+    private static synchronized void updateActiveLogger() {
+        if (!sIsInitialized) {
+            return;
+        }
+        if (!isBorderEnable && !isThreadInfo && stackTraceDept <= 0) {
+            sActiveLogger = sLogger;
+            return;
+        }
+        Logger.Builder builder = new Logger.Builder();
+        if (isBorderEnable) {
+            builder.b();
+        }
+        if (isThreadInfo) {
+            builder.t();
+        }
+        if (stackTraceDept > 0) {
+            builder.st(stackTraceDept);
+        }
+        sActiveLogger = builder.build();
     }
 
     /**
@@ -167,18 +248,23 @@ public class TALog {//implements PermissionListener{
     }
 
     /**
-     * Start to customize a {@link Logger} and enable thread info.
+     * Enable or disable thread info for direct logging via {@link TALog}.
      *
-     * @return the {@link Logger.Builder} to build the {@link Logger}
+     * @param threadInfo true to log with thread info
      */
-    public static void enableThreadInfo(boolean threadInfo) {
+    public static synchronized void enableThreadInfo(boolean threadInfo) {
         isThreadInfo = threadInfo;
-//        return new Logger.Builder().t();
+        updateActiveLogger();
     }
 
-
-    public static void setStacktraceInfo(int dept) {
+    /**
+     * Set the number of stack trace elements logged for direct logging via {@link TALog}.
+     *
+     * @param dept the number of stack trace elements, 0 to log without stack trace
+     */
+    public static synchronized void setStacktraceInfo(int dept) {
         stackTraceDept = dept;
+        updateActiveLogger();
     }
 
     /**
@@ -226,13 +312,13 @@ public class TALog {//implements PermissionListener{
     }
 
     /**
-     * Start to customize a {@link Logger} and enable border.
+     * Enable or disable border for direct logging via {@link TALog}.
      *
-     * @return the {@link Logger.Builder} to build the {@link Logger}
+     * @param borderSet true to log with border
      */
-    public static void enableBorder(boolean borderSet) {
+    public static synchronized void enableBorder(boolean borderSet) {
         isBorderEnable = borderSet;
-//    return new Logger.Builder().b();
+        updateActiveLogger();
     }
 
     /**
@@ -347,12 +433,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void verbose(Object object) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.v(object);
-        } else {
-            sLogger.v(object);
-        }
+        sActiveLogger.v(object);
     }
 
     /**
@@ -362,12 +443,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void verbose(Object[] array) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.v(array);
-        } else {
-            sLogger.v(array);
-        }
+        sActiveLogger.v(array);
     }
 
     /**
@@ -378,12 +454,115 @@ public class TALog {//implements PermissionListener{
      */
     public static void verbose(String format, Object... args) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.v(format, args);
-        } else {
-            sLogger.v(format, args);
-        }
+        sActiveLogger.v(format, args);
+    }
+
+    /**
+     * Log a message supplied on demand with level {@link LogLevel#VERBOSE}.
+     *
+     * @param supplier the supplier of the message to log
+     * @see Logger#v(MessageSupplier)
+     */
+    public static void verbose(MessageSupplier supplier) {
+        assertInitialization();
+        sActiveLogger.v(supplier);
+    }
+
+    /**
+     * Log a message with arguments supplied on demand and level {@link LogLevel#VERBOSE}.
+     *
+     * @param format the format of the message to log
+     * @param args   the suppliers of the arguments of the message to log
+     * @see Logger#v(String, MessageSupplier...)
+     */
+    public static void verbose(String format, MessageSupplier... args) {
+        assertInitialization();
+        sActiveLogger.v(format, args);
+    }
+
+    /**
+     * Log a message with an int argument and level {@link LogLevel#VERBOSE}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#v(String, int)
+     */
+    public static void verbose(String format, int arg) {
+        assertInitialization();
+        sActiveLogger.v(format, arg);
+    }
+
+    /**
+     * Log a message with a long argument and level {@link LogLevel#VERBOSE}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#v(String, long)
+     */
+    public static void verbose(String format, long arg) {
+        assertInitialization();
+        sActiveLogger.v(format, arg);
+    }
+
+    /**
+     * Log a message with a char argument and level {@link LogLevel#VERBOSE}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#v(String, char)
+     */
+    public static void verbose(String format, char arg) {
+        assertInitialization();
+        sActiveLogger.v(format, arg);
+    }
+
+    /**
+     * Log a message with a short argument and level {@link LogLevel#VERBOSE}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#v(String, short)
+     */
+    public static void verbose(String format, short arg) {
+        assertInitialization();
+        sActiveLogger.v(format, arg);
+    }
+
+    /**
+     * Log a message with a byte argument and level {@link LogLevel#VERBOSE}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#v(String, byte)
+     */
+    public static void verbose(String format, byte arg) {
+        assertInitialization();
+        sActiveLogger.v(format, arg);
+    }
+
+    /**
+     * Log a message with an argument and level {@link LogLevel#VERBOSE}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#v(String, Object)
+     */
+    public static void verbose(String format, Object arg) {
+        assertInitialization();
+        sActiveLogger.v(format, arg);
+    }
+
+    /**
+     * Log a message with two arguments and level {@link LogLevel#VERBOSE}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg1   the first argument of the message to log
+     * @param arg2   the second argument of the message to log
+     * @see Logger#v(String, Object, Object)
+     */
+    public static void verbose(String format, Object arg1, Object arg2) {
+        assertInitialization();
+        sActiveLogger.v(format, arg1, arg2);
     }
 
     /**
@@ -393,12 +572,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void verbose(String msg) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.v(msg);
-        } else {
-            sLogger.v(msg);
-        }
+        sActiveLogger.v(msg);
     }
 
     /**
@@ -409,12 +583,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void verbose(String msg, Throwable tr) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.v(msg, tr);
-        } else {
-            sLogger.v(msg, tr);
-        }
+        sActiveLogger.v(msg, tr);
     }
 
     /**
@@ -426,12 +595,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void debug(Object object) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.d(object);
-        } else {
-            sLogger.d(object);
-        }
+        sActiveLogger.d(object);
     }
 
     /**
@@ -441,12 +605,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void debug(Object[] array) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.d(array);
-        } else {
-            sLogger.d(array);
-        }
+        sActiveLogger.d(array);
     }
 
     /**
@@ -457,43 +616,125 @@ public class TALog {//implements PermissionListener{
      */
     public static void debug(String format, Object... args) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.d(format, args);
-        } else {
-            sLogger.d(format, args);
-        }
+        sActiveLogger.d(format, args);
     }
 
     /**
-     * Log a message with level {@link LogLevel#DEBUG}.
+     * Log a message supplied on demand with level {@link LogLevel#DEBUG}.
      *
-     * @param msg the message to log
+     * @param supplier the supplier of the message to log
+     * @see Logger#d(MessageSupplier)
      */
-    public static void debug(String msg) {
+    public static void debug(MessageSupplier supplier) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.d(msg);
-        } else {
-            sLogger.d(msg);
-        }
+        sActiveLogger.d(supplier);
+    }
 
+    /**
+     * Log a message with arguments supplied on demand and level {@link LogLevel#DEBUG}.
+     *
+     * @param format the format of the message to log
+     * @param args   the suppliers of the arguments of the message to log
+     * @see Logger#d(String, MessageSupplier...)
+     */
+    public static void debug(String format, MessageSupplier... args) {
+        assertInitialization();
+        sActiveLogger.d(format, args);
+    }
 
+    /**
+     * Log a message with an int argument and level {@link LogLevel#DEBUG}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#d(String, int)
+     */
+    public static void debug(String format, int arg) {
+        assertInitialization();
+        sActiveLogger.d(format, arg);
     }
 
-    private static Logger getLogger() {
-        Logger.Builder builder = new Logger.Builder();
-        if (isBorderEnable) {
-            builder.b();
-        }
-        if (isThreadInfo) {
-            builder.t();
-        }
-        if (stackTraceDept != 0) {
-            builder.st(stackTraceDept);
-        }
-        return builder.build();
+    /**
+     * Log a message with a long argument and level {@link LogLevel#DEBUG}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#d(String, long)
+     */
+    public static void debug(String format, long arg) {
+        assertInitialization();
+        sActiveLogger.d(format, arg);
+    }
+
+    /**
+     * Log a message with a char argument and level {@link LogLevel#DEBUG}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#d(String, char)
+     */
+    public static void debug(String format, char arg) {
+        assertInitialization();
+        sActiveLogger.d(format, arg);
+    }
+
+    /**
+     * Log a message with a short argument and level {@link LogLevel#DEBUG}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#d(String, short)
+     */
+    public static void debug(String format, short arg) {
+        assertInitialization();
+        sActiveLogger.d(format, arg);
+    }
+
+    /**
+     * Log a message with a byte argument and level {@link LogLevel#DEBUG}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#d(String, byte)
+     */
+    public static void debug(String format, byte arg) {
+        assertInitialization();
+        sActiveLogger.d(format, arg);
+    }
+
+    /**
+     * Log a message with an argument and level {@link LogLevel#DEBUG}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#d(String, Object)
+     */
+    public static void debug(String format, Object arg) {
+        assertInitialization();
+        sActiveLogger.d(format, arg);
+    }
+
+    /**
+     * Log a message with two arguments and level {@link LogLevel#DEBUG}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg1   the first argument of the message to log
+     * @param arg2   the second argument of the message to log
+     * @see Logger#d(String, Object, Object)
+     */
+    public static void debug(String format, Object arg1, Object arg2) {
+        assertInitialization();
+        sActiveLogger.d(format, arg1, arg2);
+    }
+
+    /**
+     * Log a message with level {@link LogLevel#DEBUG}.
+     *
+     * @param msg the message to log
+     */
+    public static void debug(String msg) {
+        assertInitialization();
+        sActiveLogger.d(msg);
     }
 
     private static Logger.Builder getEnableLogger() {
@@ -508,12 +749,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void debug(String msg, Throwable tr) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.d(msg, tr);
-        } else {
-            sLogger.d(msg, tr);
-        }
+        sActiveLogger.d(msg, tr);
     }
 
     /**
@@ -525,12 +761,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void info(Object object) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.i(object);
-        } else {
-            sLogger.i(object);
-        }
+        sActiveLogger.i(object);
     }
 
     /**
@@ -540,12 +771,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void info(Object[] array) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.i(array);
-        } else {
-            sLogger.i(array);
-        }
+        sActiveLogger.i(array);
     }
 
     /**
@@ -556,12 +782,115 @@ public class TALog {//implements PermissionListener{
      */
     public static void info(String format, Object... args) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.i(format, args);
-        } else {
-            sLogger.i(format, args);
-        }
+        sActiveLogger.i(format, args);
+    }
+
+    /**
+     * Log a message supplied on demand with level {@link LogLevel#INFO}.
+     *
+     * @param supplier the supplier of the message to log
+     * @see Logger#i(MessageSupplier)
+     */
+    public static void info(MessageSupplier supplier) {
+        assertInitialization();
+        sActiveLogger.i(supplier);
+    }
+
+    /**
+     * Log a message with arguments supplied on demand and level {@link LogLevel#INFO}.
+     *
+     * @param format the format of the message to log
+     * @param args   the suppliers of the arguments of the message to log
+     * @see Logger#i(String, MessageSupplier...)
+     */
+    public static void info(String format, MessageSupplier... args) {
+        assertInitialization();
+        sActiveLogger.i(format, args);
+    }
+
+    /**
+     * Log a message with an int argument and level {@link LogLevel#INFO}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#i(String, int)
+     */
+    public static void info(String format, int arg) {
+        assertInitialization();
+        sActiveLogger.i(format, arg);
+    }
+
+    /**
+     * Log a message with a long argument and level {@link LogLevel#INFO}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#i(String, long)
+     */
+    public static void info(String format, long arg) {
+        assertInitialization();
+        sActiveLogger.i(format, arg);
+    }
+
+    /**
+     * Log a message with a char argument and level {@link LogLevel#INFO}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#i(String, char)
+     */
+    public static void info(String format, char arg) {
+        assertInitialization();
+        sActiveLogger.i(format, arg);
+    }
+
+    /**
+     * Log a message with a short argument and level {@link LogLevel#INFO}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#i(String, short)
+     */
+    public static void info(String format, short arg) {
+        assertInitialization();
+        sActiveLogger.i(format, arg);
+    }
+
+    /**
+     * Log a message with a byte argument and level {@link LogLevel#INFO}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#i(String, byte)
+     */
+    public static void info(String format, byte arg) {
+        assertInitialization();
+        sActiveLogger.i(format, arg);
+    }
+
+    /**
+     * Log a message with an argument and level {@link LogLevel#INFO}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#i(String, Object)
+     */
+    public static void info(String format, Object arg) {
+        assertInitialization();
+        sActiveLogger.i(format, arg);
+    }
+
+    /**
+     * Log a message with two arguments and level {@link LogLevel#INFO}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg1   the first argument of the message to log
+     * @param arg2   the second argument of the message to log
+     * @see Logger#i(String, Object, Object)
+     */
+    public static void info(String format, Object arg1, Object arg2) {
+        assertInitialization();
+        sActiveLogger.i(format, arg1, arg2);
     }
 
     /**
@@ -571,12 +900,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void info(String msg) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.i(msg);
-        } else {
-            sLogger.i(msg);
-        }
+        sActiveLogger.i(msg);
     }
 
     /**
@@ -587,12 +911,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void info(String msg, Throwable tr) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.i(msg, tr);
-        } else {
-            sLogger.i(msg, tr);
-        }
+        sActiveLogger.i(msg, tr);
     }
 
     /**
@@ -604,12 +923,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void warn(Object object) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.w(object);
-        } else {
-            sLogger.w(object);
-        }
+        sActiveLogger.w(object);
     }
 
     /**
@@ -619,12 +933,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void warn(Object[] object) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.w(object);
-        } else {
-            sLogger.w(object);
-        }
+        sActiveLogger.w(object);
     }
 
     /**
@@ -635,12 +944,115 @@ public class TALog {//implements PermissionListener{
      */
     public static void warn(String format, Object... args) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.w(format, args);
-        } else {
-            sLogger.w(format, args);
-        }
+        sActiveLogger.w(format, args);
+    }
+
+    /**
+     * Log a message supplied on demand with level {@link LogLevel#WARN}.
+     *
+     * @param supplier the supplier of the message to log
+     * @see Logger#w(MessageSupplier)
+     */
+    public static void warn(MessageSupplier supplier) {
+        assertInitialization();
+        sActiveLogger.w(supplier);
+    }
+
+    /**
+     * Log a message with arguments supplied on demand and level {@link LogLevel#WARN}.
+     *
+     * @param format the format of the message to log
+     * @param args   the suppliers of the arguments of the message to log
+     * @see Logger#w(String, MessageSupplier...)
+     */
+    public static void warn(String format, MessageSupplier... args) {
+        assertInitialization();
+        sActiveLogger.w(format, args);
+    }
+
+    /**
+     * Log a message with an int argument and level {@link LogLevel#WARN}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#w(String, int)
+     */
+    public static void warn(String format, int arg) {
+        assertInitialization();
+        sActiveLogger.w(format, arg);
+    }
+
+    /**
+     * Log a message with a long argument and level {@link LogLevel#WARN}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#w(String, long)
+     */
+    public static void warn(String format, long arg) {
+        assertInitialization();
+        sActiveLogger.w(format, arg);
+    }
+
+    /**
+     * Log a message with a char argument and level {@link LogLevel#WARN}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#w(String, char)
+     */
+    public static void warn(String format, char arg) {
+        assertInitialization();
+        sActiveLogger.w(format, arg);
+    }
+
+    /**
+     * Log a message with a short argument and level {@link LogLevel#WARN}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#w(String, short)
+     */
+    public static void warn(String format, short arg) {
+        assertInitialization();
+        sActiveLogger.w(format, arg);
+    }
+
+    /**
+     * Log a message with a byte argument and level {@link LogLevel#WARN}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#w(String, byte)
+     */
+    public static void warn(String format, byte arg) {
+        assertInitialization();
+        sActiveLogger.w(format, arg);
+    }
+
+    /**
+     * Log a message with an argument and level {@link LogLevel#WARN}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#w(String, Object)
+     */
+    public static void warn(String format, Object arg) {
+        assertInitialization();
+        sActiveLogger.w(format, arg);
+    }
+
+    /**
+     * Log a message with two arguments and level {@link LogLevel#WARN}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg1   the first argument of the message to log
+     * @param arg2   the second argument of the message to log
+     * @see Logger#w(String, Object, Object)
+     */
+    public static void warn(String format, Object arg1, Object arg2) {
+        assertInitialization();
+        sActiveLogger.w(format, arg1, arg2);
     }
 
     /**
@@ -650,12 +1062,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void warn(String msg) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.w(msg);
-        } else {
-            sLogger.w(msg);
-        }
+        sActiveLogger.w(msg);
     }
 
     /**
@@ -666,12 +1073,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void warn(String msg, Throwable tr) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.w(msg, tr);
-        } else {
-            sLogger.w(msg, tr);
-        }
+        sActiveLogger.w(msg, tr);
 
     }
 
@@ -684,12 +1086,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void error(Object object) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.e(object);
-        } else {
-            sLogger.e(object);
-        }
+        sActiveLogger.e(object);
 
     }
 
@@ -700,12 +1097,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void error(Object[] array) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.e(array);
-        } else {
-            sLogger.e(array);
-        }
+        sActiveLogger.e(array);
     }
 
     /**
@@ -716,13 +1108,116 @@ public class TALog {//implements PermissionListener{
      */
     public static void error(String format, Object... args) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.e(format, args);
-        } else {
-            sLogger.e(format, args);
-        }
+        sActiveLogger.e(format, args);
+
+    }
+
+    /**
+     * Log a message supplied on demand with level {@link LogLevel#ERROR}.
+     *
+     * @param supplier the supplier of the message to log
+     * @see Logger#e(MessageSupplier)
+     */
+    public static void error(MessageSupplier supplier) {
+        assertInitialization();
+        sActiveLogger.e(supplier);
+    }
+
+    /**
+     * Log a message with arguments supplied on demand and level {@link LogLevel#ERROR}.
+     *
+     * @param format the format of the message to log
+     * @param args   the suppliers of the arguments of the message to log
+     * @see Logger#e(String, MessageSupplier...)
+     */
+    public static void error(String format, MessageSupplier... args) {
+        assertInitialization();
+        sActiveLogger.e(format, args);
+    }
 
+    /**
+     * Log a message with an int argument and level {@link LogLevel#ERROR}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#e(String, int)
+     */
+    public static void error(String format, int arg) {
+        assertInitialization();
+        sActiveLogger.e(format, arg);
+    }
+
+    /**
+     * Log a message with a long argument and level {@link LogLevel#ERROR}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#e(String, long)
+     */
+    public static void error(String format, long arg) {
+        assertInitialization();
+        sActiveLogger.e(format, arg);
+    }
+
+    /**
+     * Log a message with a char argument and level {@link LogLevel#ERROR}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#e(String, char)
+     */
+    public static void error(String format, char arg) {
+        assertInitialization();
+        sActiveLogger.e(format, arg);
+    }
+
+    /**
+     * Log a message with a short argument and level {@link LogLevel#ERROR}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#e(String, short)
+     */
+    public static void error(String format, short arg) {
+        assertInitialization();
+        sActiveLogger.e(format, arg);
+    }
+
+    /**
+     * Log a message with a byte argument and level {@link LogLevel#ERROR}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#e(String, byte)
+     */
+    public static void error(String format, byte arg) {
+        assertInitialization();
+        sActiveLogger.e(format, arg);
+    }
+
+    /**
+     * Log a message with an argument and level {@link LogLevel#ERROR}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg    the argument of the message to log
+     * @see Logger#e(String, Object)
+     */
+    public static void error(String format, Object arg) {
+        assertInitialization();
+        sActiveLogger.e(format, arg);
+    }
+
+    /**
+     * Log a message with two arguments and level {@link LogLevel#ERROR}.
+     *
+     * @param format the format of the message to log, null if just need to concat arguments
+     * @param arg1   the first argument of the message to log
+     * @param arg2   the second argument of the message to log
+     * @see Logger#e(String, Object, Object)
+     */
+    public static void error(String format, Object arg1, Object arg2) {
+        assertInitialization();
+        sActiveLogger.e(format, arg1, arg2);
     }
 
     /**
@@ -732,12 +1227,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void error(String msg) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.e(msg);
-        } else {
-            sLogger.e(msg);
-        }
+        sActiveLogger.e(msg);
     }
 
     /**
@@ -748,12 +1238,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void error(String msg, Throwable tr) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.e(msg);
-        } else {
-            sLogger.e(msg);
-        }
+        sActiveLogger.e(msg);
     }
 
 
@@ -777,12 +1262,7 @@ public class TALog {//implements PermissionListener{
      */
     public static void json(String json) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.json(json);
-        } else {
-            sLogger.json(json);
-        }
+        sActiveLogger.json(json);
     }
 
     /**
@@ -792,25 +1272,9 @@ public class TALog {//implements PermissionListener{
      */
     public static void xml(String xml) {
         assertInitialization();
-        if (isBorderEnable || isThreadInfo || stackTraceDept > 0) {
-            Logger logger = getLogger();
-            logger.xml(xml);
-        } else {
-            sLogger.xml(xml);
-        }
+        sActiveLogger.xml(xml);
     }
 
-
-//    @Override
-//    public void onAccepted() {
-//
-//    }
-//
-//    @Override
-//    public void onDenied() {
-//
-//    }
-
     /**
      * Compatible class with {@link android.util.Log}.
      *
@@ -818,81 +1282,89 @@ public class TALog {//implements PermissionListener{
      */
     public static class Log {
 
+        /**
+         * Get the logger of a tag, loggers are cached so a call costs one map lookup.
+         */
+        private static Logger logger(String tag) {
+            assertInitialization();
+            return sLoggerCache.get(tag);
+        }
+
         /**
          * @deprecated compatible with {@link android.util.Log#v(String, String)}
          */
         public static void v(String tag, String msg) {
-            tag(tag).build().v(msg);
+            logger(tag).v(msg);
         }
 
         /**
          * @deprecated compatible with {@link android.util.Log#v(String, String, Throwable)}
          */
         public static void v(String tag, String msg, Throwable tr) {
-            tag(tag).build().v(msg, tr);
+            logger(tag).v(msg, tr);
         }
 
         /**
          * @deprecated compatible with {@link android.util.Log#d(String, String)}
          */
         public static void d(String tag, String msg) {
-            tag(tag).build().d(msg);
+            logger(tag).d(msg);
         }
 
         /**
          * @deprecated compatible with {@link android.util.Log#d(String, String, Throwable)}
          */
         public static void d(String tag, String msg, Throwable tr) {
-            tag(tag).build().d(msg, tr);
+            logger(tag).d(msg, tr);
         }
 
         /**
          * @deprecated compatible with {@link android.util.Log#i(String, String)}
          */
         public static void i(String tag, String msg) {
-            tag(tag).build().i(msg);
+            logger(tag).i(msg);
         }
 
         /**
          * @deprecated compatible with {@link android.util.Log#i(String, String, Throwable)}
          */
         public static void i(String tag, String msg, Throwable tr) {
-            tag(tag).build().i(msg, tr);
+            logger(tag).i(msg, tr);
         }
 
         /**
          * @deprecated compatible with {@link android.util.Log#w(String, String)}
          */
         public static void w(String tag, String msg) {
-            tag(tag).build().w(msg);
+            logger(tag).w(msg);
         }
 
         /**
          * @deprecated compatible with {@link android.util.Log#w(String, String, Throwable)}
          */
         public static void w(String tag, String msg, Throwable tr) {
-            tag(tag).build().w(msg, tr);
+            logger(tag).w(msg, tr);
         }
 
         /**
          * @deprecated compatible with {@link android.util.Log#w(String, Throwable)}
          */
         public static void w(String tag, Throwable tr) {
-            tag(tag).build().w("", tr);
+            logger(tag).w("", tr);
         }
 
         /**
          * @deprecated compatible with {@link android.util.Log#e(String, String)}
          */
         public static void e(String tag, String msg) {
-            tag(tag).build().e(msg);
+            logger(tag).e(msg);
         }
 
         /**
          * @deprecated compatible with {@link android.util.Log#e(String, String, Throwable)}
          */
         public static void e(String tag, String msg, Throwable tr) {
-            tag(tag).build().e(msg, tr);
+            logger(tag).e(msg, tr);
         }
 
         /**
@@ -920,14 +1392,17 @@ public class TALog {//implements PermissionListener{
          * @deprecated compatible with {@link android.util.Log#println(int, String, String)}
          */
         public static void println(int logLevel, String tag, String msg) {
-            tag(tag).build().println(logLevel, msg);
+            logger(tag).println(logLevel, msg);
         }
 
         /**
+         * Only the levels are checked, the pre-filters are not asked, as they may count the logs
+         * they are asked about.
+         *
          * @deprecated compatible with {@link android.util.Log#isLoggable(String, int)}
          */
         public static boolean isLoggable(String tag, int level) {
-            return sLogConfiguration.isLoggable(level);
+            return level >= sLogConfiguration.getLogLevel(tag);
         }
 
         /**
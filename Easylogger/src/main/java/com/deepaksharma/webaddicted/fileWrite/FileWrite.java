@@ -1,59 +1,42 @@
 package com.deepaksharma.webaddicted.fileWrite;
 
+import android.Manifest;
 import android.content.Context;
-import android.content.Intent;
-import android.os.Build;
+import android.content.pm.PackageManager;
 import android.os.Environment;
 import android.support.annotation.NonNull;
-import android.util.Log;
+import android.support.v4.content.ContextCompat;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
-
-import com.deepaksharma.webaddicted.Logger;
 
+/**
+ * Resolve where the log file lives, should be done only once when initializing.
+ */
 public class FileWrite {
 
-    public static void writeFile(@NonNull Context context, @NonNull String message) {
-        if(Build.VERSION.SDK_INT >= 23){
-            Intent intent = new Intent(context, PermissionActivity.class);
-            intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
-            context.startActivity(intent);
-            new Logger().permissionInit(message);
+    private static final String LOG_FOLDER = "TALOG";
+
+    private static final String LOG_FILE = "talog" + ".txt";
+
+    /**
+     * Get the log file.
+     * <p>
+     * The shared external storage is used when it is mounted and the app holds
+     * {@link Manifest.permission#WRITE_EXTERNAL_STORAGE}, otherwise the app-private files
+     * folder is used, so no permission is ever requested while logging.
+     *
+     * @param context the context
+     * @return the log file, the file and its folder may not exist yet
+     */
+    public static File resolveLogFile(@NonNull Context context) {
+        File dirFile;
+        if (Environment.MEDIA_MOUNTED.equals(Environment.getExternalStorageState())
+                && ContextCompat.checkSelfPermission(context,
+                Manifest.permission.WRITE_EXTERNAL_STORAGE) == PackageManager.PERMISSION_GRANTED) {
+            dirFile = new File(Environment.getExternalStorageDirectory(), LOG_FOLDER);
+        } else {
+            dirFile = new File(context.getFilesDir(), LOG_FOLDER);
         }
-        new Logger().permissionInit(message);
+        return new File(dirFile, LOG_FILE);
     }
-
-    public static boolean logFile(String strLog) {
-        /*String systemTime = new SimpleDateFormat("dd-MM-yyyy-HH:mm:ss").format(System
-                .currentTimeMillis());
-        Log.d("FileWrite", "logFile: "+ systemTime);
-        Log.d("FileWrite", "logFile Msg: "+ strLog);*/
-        File dirFile = new File(Environment.getExternalStorageDirectory() + "/TALOG");
-        if (!dirFile.exists()) {
-            dirFile.mkdirs();
-        }
-        File file = new File(dirFile, "talog" + ".txt");
-        FileOutputStream fileOutputStream = null;
-        try {
-            String stackString = strLog;
-            if (stackString.length() > 0) {
-                file.createNewFile();
-                fileOutputStream = new FileOutputStream(file,true);
-                fileOutputStream.write(stackString.getBytes());
-                fileOutputStream.flush();
-                fileOutputStream.close();
-                return true;
-            }
-        } catch (FileNotFoundException fileNotFoundException) {
-            Log.e("TAG", "File not found!", fileNotFoundException);
-        } catch (IOException ioException) {
-            Log.e("TAG", "Unable to write to file!", ioException);
-        }
-        return false;
-    }
-
-
 }
@@ -1,6 +0,0 @@
-package com.deepaksharma.webaddicted.fileWrite;
-
-public interface PermissionListener {
-    void onAccepted();
-    void onDenied();
-}
@@ -18,16 +18,22 @@ package com.deepaksharma.webaddicted.flattener;
 
 
 import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.internal.DispatchThread;
 
 /**
  * Simply join the timestamp, log level, tag and message together.
  *
  */
-public class DefaultFlattener implements Flattener {
+public class DefaultFlattener implements Flattener2 {
 
   @Override
   public CharSequence flatten(int logLevel, String tag, String message) {
-    return Long.toString(System.currentTimeMillis())
+    return flatten(DispatchThread.currentTimeMillis(), logLevel, tag, message);
+  }
+
+  @Override
+  public CharSequence flatten(long timeMillis, int logLevel, String tag, String message) {
+    return Long.toString(timeMillis)
         + '|' + LogLevel.getShortLevelName(logLevel)
         + '|' + tag
         + '|' + message;
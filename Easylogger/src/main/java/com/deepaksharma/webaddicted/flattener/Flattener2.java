@@ -0,0 +1,19 @@
+package com.deepaksharma.webaddicted.flattener;
+
+/**
+ * A {@link Flattener} which takes the time of the log rather than reading the clock by itself, so
+ * a log can be flattened long after it was made, e.g. when decoding a binary log file.
+ */
+public interface Flattener2 extends Flattener {
+
+  /**
+   * Flatten the log.
+   *
+   * @param timeMillis the time at which the log was made
+   * @param logLevel   the level of log
+   * @param tag        the tag of log
+   * @param message    the message of log
+   * @return the formatted final log Charsequence
+   */
+  CharSequence flatten(long timeMillis, int logLevel, String tag, String message);
+}
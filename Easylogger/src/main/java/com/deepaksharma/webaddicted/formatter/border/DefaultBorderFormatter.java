@@ -48,53 +48,73 @@ public class DefaultBorderFormatter implements BorderFormatter {
       "╚═════════════════════════════════════════════════" +
           "══════════════════════════════════════════════════";
 
+  /**
+   * Max capacity of the reusable builder kept by a thread, a larger one is dropped after use.
+   */
+  private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+  private static final ThreadLocal<StringBuilder> sBuilder = new ThreadLocal<StringBuilder>() {
+    @Override
+    protected StringBuilder initialValue() {
+      return new StringBuilder(1024);
+    }
+  };
+
   @Override
   public String format(String[] segments) {
     if (segments == null || segments.length == 0) {
       return "";
     }
 
-    String[] nonNullSegments = new String[segments.length];
-    int nonNullCount = 0;
+    StringBuilder msgBuilder = sBuilder.get();
+    msgBuilder.setLength(0);
+    boolean first = true;
     for (String segment : segments) {
-      if (segment != null) {
-        nonNullSegments[nonNullCount++] = segment;
+      if (segment == null) {
+        continue;
       }
+      msgBuilder.append(first ? TOP_HORIZONTAL_BORDER : DIVIDER_HORIZONTAL_BORDER)
+          .append(SystemCompat.lineSeparator);
+      appendVerticalBorder(msgBuilder, segment);
+      msgBuilder.append(SystemCompat.lineSeparator);
+      first = false;
     }
-    if (nonNullCount == 0) {
+    if (first) {
       return "";
     }
-
-    StringBuilder msgBuilder = new StringBuilder();
-    msgBuilder.append(TOP_HORIZONTAL_BORDER).append(SystemCompat.lineSeparator);
-    for (int i = 0; i < nonNullCount; i++) {
-      msgBuilder.append(appendVerticalBorder(nonNullSegments[i]));
-      if (i != nonNullCount - 1) {
-        msgBuilder.append(SystemCompat.lineSeparator).append(DIVIDER_HORIZONTAL_BORDER)
-            .append(SystemCompat.lineSeparator);
-      } else {
-        msgBuilder.append(SystemCompat.lineSeparator).append(BOTTOM_HORIZONTAL_BORDER);
-      }
+    msgBuilder.append(BOTTOM_HORIZONTAL_BORDER);
+    String result = msgBuilder.toString();
+    if (msgBuilder.capacity() > MAX_RETAINED_CAPACITY) {
+      sBuilder.remove();
     }
-    return msgBuilder.toString();
+    return result;
   }
 
   /**
-   * Add {@value #VERTICAL_BORDER_CHAR} to each line of msg.
+   * Add {@value #VERTICAL_BORDER_CHAR} to each line of msg, trailing empty lines are dropped.
    *
-   * @param msg the message to add border
-   * @return the message with {@value #VERTICAL_BORDER_CHAR} in the start of each line
+   * @param msgBuilder the builder to append the bordered message to
+   * @param msg        the message to add border
    */
-  private static String appendVerticalBorder(String msg) {
-    StringBuilder borderedMsgBuilder = new StringBuilder(msg.length() + 10);
-    String[] lines = msg.split(SystemCompat.lineSeparator);
-    for (int i = 0, N = lines.length; i < N; i++) {
-      if (i != 0) {
-        borderedMsgBuilder.append(SystemCompat.lineSeparator);
+  private static void appendVerticalBorder(StringBuilder msgBuilder, String msg) {
+    String separator = SystemCompat.lineSeparator;
+    int end = msg.length();
+    while (end > 0 && msg.startsWith(separator, end - separator.length())) {
+      end -= separator.length();
+    }
+    if (end == 0 && msg.length() != 0) {
+      // Nothing but empty lines.
+      return;
+    }
+    int start = 0;
+    for (; ; ) {
+      int index = msg.indexOf(separator, start);
+      if (index == -1 || index >= end) {
+        msgBuilder.append(VERTICAL_BORDER_CHAR).append(msg, start, end);
+        return;
       }
-      String line = lines[i];
-      borderedMsgBuilder.append(VERTICAL_BORDER_CHAR).append(line);
+      msgBuilder.append(VERTICAL_BORDER_CHAR).append(msg, start, index).append(separator);
+      start = index + separator.length();
     }
-    return borderedMsgBuilder.toString();
   }
 }
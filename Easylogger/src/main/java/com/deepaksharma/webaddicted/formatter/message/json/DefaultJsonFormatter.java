@@ -16,38 +16,328 @@
 
 package com.deepaksharma.webaddicted.formatter.message.json;
 
-
-import org.json.JSONArray;
-import org.json.JSONObject;
-
 import com.deepaksharma.webaddicted.formatter.FormatException;
 
 /**
- * Simply format the JSON using {@link JSONObject} and {@link JSONArray}.
+ * Format the JSON in a single pass, indenting it as it is scanned, without building any object
+ * tree, so a large JSON costs no more than the formatted string, and the keys are kept in their
+ * original order. Strings and numbers are copied as they are.
+ * <p>
+ * The formatted JSON may be capped to a max length, the rest of the JSON is then not scanned,
+ * and a truncation marker telling the number of characters left is appended instead.
  */
 public class DefaultJsonFormatter implements JsonFormatter {
 
   private static final int JSON_INDENT = 4;
 
+  private final int maxLength;
+
+  /**
+   * Constructor, the formatted JSON is not capped.
+   */
+  public DefaultJsonFormatter() {
+    this(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param maxLength the max length of the formatted JSON, not including the truncation marker
+   */
+  public DefaultJsonFormatter(int maxLength) {
+    if (maxLength <= 0) {
+      throw new IllegalArgumentException("Illegal max length " + maxLength);
+    }
+    this.maxLength = maxLength;
+  }
+
   @Override
   public String format(String json) {
-    String formattedString = null;
     if (json == null || json.trim().length() == 0) {
       throw new FormatException("JSON empty.");
     }
-    try {
-      if (json.startsWith("{")) {
-        JSONObject jsonObject = new JSONObject(json);
-        formattedString = jsonObject.toString(JSON_INDENT);
-      } else if (json.startsWith("[")) {
-        JSONArray jsonArray = new JSONArray(json);
-        formattedString = jsonArray.toString(JSON_INDENT);
+    return new JsonScanner(json, maxLength).format();
+  }
+
+  /**
+   * Scan a JSON, writing the formatted JSON as it goes.
+   */
+  private static class JsonScanner {
+
+    private static final int STATE_VALUE = 0;
+
+    private static final int STATE_KEY = 1;
+
+    private static final int STATE_AFTER_VALUE = 2;
+
+    private final String json;
+
+    private final int length;
+
+    private final int maxLength;
+
+    private final StringBuilder out;
+
+    private int pos;
+
+    /**
+     * The opening brackets of the containers the scan is in.
+     */
+    private char[] containers = new char[16];
+
+    private int depth;
+
+    JsonScanner(String json, int maxLength) {
+      this.json = json;
+      this.length = json.length();
+      this.maxLength = maxLength;
+      this.out = new StringBuilder((int) Math.min(maxLength, length + length / 2L));
+    }
+
+    String format() {
+      skipWhitespace();
+      char first = json.charAt(pos);
+      if (first != '{' && first != '[') {
+        throw new FormatException("JSON should start with { or [, but found " + snippet());
+      }
+      if (scan()) {
+        skipWhitespace();
+        if (pos < length) {
+          throw error("Unexpected content after JSON");
+        }
+      }
+      return out.toString();
+    }
+
+    /**
+     * Scan the JSON.
+     *
+     * @return true if the whole JSON is scanned, false if the formatted JSON is truncated
+     */
+    private boolean scan() {
+      int state = STATE_VALUE;
+      while (true) {
+        if (out.length() >= maxLength) {
+          return truncate();
+        }
+        skipWhitespace();
+        if (state == STATE_AFTER_VALUE && depth == 0) {
+          return true;
+        }
+        if (pos >= length) {
+          throw error("Unexpected end of JSON");
+        }
+        char c = json.charAt(pos);
+        switch (state) {
+          case STATE_VALUE:
+            if (c == '{' || c == '[') {
+              pos++;
+              char close = c == '{' ? '}' : ']';
+              skipWhitespace();
+              if (pos < length && json.charAt(pos) == close) {
+                pos++;
+                out.append(c).append(close);
+                state = STATE_AFTER_VALUE;
+              } else {
+                push(c);
+                out.append(c);
+                newLine();
+                state = c == '{' ? STATE_KEY : STATE_VALUE;
+              }
+            } else if (c == '"') {
+              if (!copy(stringEnd())) {
+                return false;
+              }
+              state = STATE_AFTER_VALUE;
+            } else if (c == '}' || c == ']' || c == ',' || c == ':') {
+              throw error("Expecting a value");
+            } else {
+              if (!copy(literalEnd())) {
+                return false;
+              }
+              state = STATE_AFTER_VALUE;
+            }
+            break;
+          case STATE_KEY:
+            if (c != '"') {
+              throw error("Expecting a key");
+            }
+            if (!copy(stringEnd())) {
+              return false;
+            }
+            skipWhitespace();
+            if (pos >= length || json.charAt(pos) != ':') {
+              throw error("Expecting ':'");
+            }
+            pos++;
+            out.append(": ");
+            state = STATE_VALUE;
+            break;
+          default:
+            char open = containers[depth - 1];
+            if (c == ',') {
+              pos++;
+              out.append(',');
+              newLine();
+              state = open == '{' ? STATE_KEY : STATE_VALUE;
+            } else if (c == (open == '{' ? '}' : ']')) {
+              pos++;
+              depth--;
+              newLine();
+              out.append(c);
+            } else {
+              throw error("Expecting ',' or '" + (open == '{' ? '}' : ']') + "'");
+            }
+            break;
+        }
+      }
+    }
+
+    /**
+     * Get the end of the string starting at the current position.
+     */
+    private int stringEnd() {
+      for (int i = pos + 1; i < length; i++) {
+        char c = json.charAt(i);
+        if (c == '\\') {
+          i++;
+        } else if (c == '"') {
+          return i + 1;
+        }
+      }
+      throw error("Unterminated string");
+    }
+
+    /**
+     * Get the end of the number, true, false or null starting at the current position.
+     */
+    private int literalEnd() {
+      int i = pos;
+      while (i < length) {
+        char c = json.charAt(i);
+        if (c == ',' || c == '}' || c == ']' || c == ':' || c == '"' || c <= ' ') {
+          break;
+        }
+        i++;
+      }
+      if (!isKeyword(i, "true") && !isKeyword(i, "false") && !isKeyword(i, "null")
+          && !isNumber(i)) {
+        throw error("Unexpected value");
+      }
+      return i;
+    }
+
+    private boolean isKeyword(int end, String keyword) {
+      return end - pos == keyword.length() && json.startsWith(keyword, pos);
+    }
+
+    /**
+     * Whether the JSON from the current position to the end is a number, as the JSON grammar
+     * has it, e.g. {@code -0.5e+3} but not {@code 01}, {@code .5} or {@code 1.}.
+     */
+    private boolean isNumber(int end) {
+      int i = pos;
+      if (i < end && json.charAt(i) == '-') {
+        i++;
+      }
+      if (i < end && json.charAt(i) == '0') {
+        i++;
       } else {
-        throw new FormatException("JSON should start with { or [, but found " + json);
+        int digits = skipDigits(i, end);
+        if (digits == i) {
+          return false;
+        }
+        i = digits;
+      }
+      if (i < end && json.charAt(i) == '.') {
+        int digits = skipDigits(i + 1, end);
+        if (digits == i + 1) {
+          return false;
+        }
+        i = digits;
+      }
+      if (i < end && (json.charAt(i) == 'e' || json.charAt(i) == 'E')) {
+        i++;
+        if (i < end && (json.charAt(i) == '+' || json.charAt(i) == '-')) {
+          i++;
+        }
+        int digits = skipDigits(i, end);
+        if (digits == i) {
+          return false;
+        }
+        i = digits;
+      }
+      return i == end;
+    }
+
+    private int skipDigits(int start, int end) {
+      int i = start;
+      while (i < end && json.charAt(i) >= '0' && json.charAt(i) <= '9') {
+        i++;
+      }
+      return i;
+    }
+
+    /**
+     * Copy the JSON from the current position to the end, as much as the max length allows.
+     *
+     * @return true if copied, false if the formatted JSON is truncated
+     */
+    private boolean copy(int end) {
+      if (out.length() + (end - pos) > maxLength) {
+        int copied = maxLength - out.length();
+        out.append(json, pos, pos + copied);
+        // Only what is not copied is truncated.
+        pos += copied;
+        return truncate();
       }
-    } catch (Exception e) {
-      throw new FormatException("Parse JSON error. JSON string:" + json, e);
+      out.append(json, pos, end);
+      pos = end;
+      return true;
+    }
+
+    private boolean truncate() {
+      if (out.length() > maxLength) {
+        out.setLength(maxLength);
+      }
+      out.append("\n... (").append(length - pos).append(" more characters of JSON truncated)");
+      return false;
+    }
+
+    private void push(char container) {
+      if (depth == containers.length) {
+        char[] newContainers = new char[depth * 2];
+        System.arraycopy(containers, 0, newContainers, 0, depth);
+        containers = newContainers;
+      }
+      containers[depth++] = container;
+    }
+
+    private void newLine() {
+      out.append('\n');
+      for (int i = depth * JSON_INDENT; i > 0; i--) {
+        out.append(' ');
+      }
+    }
+
+    private void skipWhitespace() {
+      while (pos < length && json.charAt(pos) <= ' ') {
+        pos++;
+      }
+    }
+
+    private FormatException error(String message) {
+      return new FormatException("Parse JSON error: " + message + " at " + pos + ", near "
+          + snippet());
+    }
+
+    /**
+     * Get the JSON around the current position, not to put a large JSON in an exception.
+     */
+    private String snippet() {
+      int start = Math.max(0, pos - 20);
+      int end = Math.min(length, pos + 20);
+      return json.substring(start, end);
     }
-    return formattedString;
   }
 }
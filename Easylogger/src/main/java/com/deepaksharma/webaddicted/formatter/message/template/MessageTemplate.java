@@ -0,0 +1,420 @@
+package com.deepaksharma.webaddicted.formatter.message.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Formattable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A format string compiled into literal fragments and placeholders, so formatting is just
+ * appending the fragments and the arguments one after another.
+ * <p>
+ * Two styles of format string are supported:
+ * <br>{@link #STYLE_PRINTF}, compatible with {@link String#format(String, Object...)}, "%s" and
+ * "%d" are formatted directly, a format with any other conversion, flag, width or precision is
+ * formatted by {@link String#format(String, Object...)}, so is an argument which can not be
+ * formatted directly, e.g. a {@link Formattable} for "%s". Numbers formatted directly always use
+ * ASCII digits whatever the default locale is.
+ * <br>{@link #STYLE_BRACES}, each "{}" is replaced by the next argument, as in SLF4J, an array
+ * argument is printed with its elements, "\{}" stands for a literal "{}", and "{}"s without an
+ * argument are kept as they are.
+ * <p>
+ * Get a template with {@link #of(String, int)}, templates are cached by format string.
+ */
+public final class MessageTemplate {
+
+  /**
+   * Format string of {@link String#format(String, Object...)}.
+   */
+  public static final int STYLE_PRINTF = 1;
+
+  /**
+   * Format string with "{}" placeholders.
+   */
+  public static final int STYLE_BRACES = 2;
+
+  private static final byte KIND_STRING = 0;
+
+  private static final byte KIND_DECIMAL = 1;
+
+  /**
+   * The max number of cached templates of each style, an arbitrary one is evicted when exceeded.
+   */
+  private static final int MAX_CACHED_TEMPLATES = 512;
+
+  /**
+   * Max capacity of the reusable builder kept by a thread, a larger one is dropped after use.
+   */
+  private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+  private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+  private static final ConcurrentHashMap<String, MessageTemplate> sPrintfTemplates =
+      new ConcurrentHashMap<>();
+
+  private static final ConcurrentHashMap<String, MessageTemplate> sBracesTemplates =
+      new ConcurrentHashMap<>();
+
+  private static final ThreadLocal<Buffer> sBuffer = new ThreadLocal<Buffer>() {
+    @Override
+    protected Buffer initialValue() {
+      return new Buffer();
+    }
+  };
+
+  private final String format;
+
+  private final int style;
+
+  /**
+   * The literals before, between and after the placeholders, one more than the placeholders.
+   */
+  private final String[] literals;
+
+  private final byte[] kinds;
+
+  /**
+   * Whether the format can only be formatted by {@link String#format(String, Object...)}.
+   */
+  private final boolean fallback;
+
+  private MessageTemplate(String format, int style, String[] literals, byte[] kinds,
+                          boolean fallback) {
+    this.format = format;
+    this.style = style;
+    this.literals = literals;
+    this.kinds = kinds;
+    this.fallback = fallback;
+  }
+
+  /**
+   * Get the template of a format string, compiled once and cached.
+   *
+   * @param format the format string
+   * @param style  the style of the format string, {@link #STYLE_PRINTF} or {@link #STYLE_BRACES}
+   * @return the template
+   */
+  public static MessageTemplate of(String format, int style) {
+    ConcurrentHashMap<String, MessageTemplate> templates =
+        style == STYLE_BRACES ? sBracesTemplates : sPrintfTemplates;
+    MessageTemplate template = templates.get(format);
+    if (template != null) {
+      return template;
+    }
+    template = compile(format, style);
+    if (templates.size() >= MAX_CACHED_TEMPLATES) {
+      Iterator<String> iterator = templates.keySet().iterator();
+      if (iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+    }
+    MessageTemplate existing = templates.putIfAbsent(format, template);
+    return existing != null ? existing : template;
+  }
+
+  /**
+   * Compile a format string without caching.
+   *
+   * @param format the format string
+   * @param style  the style of the format string, {@link #STYLE_PRINTF} or {@link #STYLE_BRACES}
+   * @return the template
+   */
+  public static MessageTemplate compile(String format, int style) {
+    if (format == null) {
+      throw new NullPointerException("format");
+    }
+    return style == STYLE_BRACES ? compileBraces(format) : compilePrintf(format);
+  }
+
+  private static MessageTemplate compilePrintf(String format) {
+    Fragments fragments = new Fragments();
+    int length = format.length();
+    for (int i = 0; i < length; i++) {
+      char c = format.charAt(i);
+      if (c != '%') {
+        fragments.literal.append(c);
+        continue;
+      }
+      char conversion = i + 1 < length ? format.charAt(i + 1) : 0;
+      if (conversion == 's') {
+        fragments.placeholder(KIND_STRING);
+      } else if (conversion == 'd') {
+        fragments.placeholder(KIND_DECIMAL);
+      } else if (conversion == '%') {
+        fragments.literal.append('%');
+      } else if (conversion == 'n') {
+        fragments.literal.append(LINE_SEPARATOR);
+      } else {
+        return new MessageTemplate(format, STYLE_PRINTF, null, null, true);
+      }
+      i++;
+    }
+    return fragments.build(format, STYLE_PRINTF);
+  }
+
+  private static MessageTemplate compileBraces(String format) {
+    Fragments fragments = new Fragments();
+    int length = format.length();
+    for (int i = 0; i < length; i++) {
+      char c = format.charAt(i);
+      if (c == '{' && i + 1 < length && format.charAt(i + 1) == '}') {
+        int literalLength = fragments.literal.length();
+        boolean escaped = i > 0 && format.charAt(i - 1) == '\\';
+        if (escaped && i > 1 && format.charAt(i - 2) == '\\') {
+          // "\\{}", a literal backslash followed by a placeholder.
+          fragments.literal.setLength(literalLength - 1);
+          fragments.placeholder(KIND_STRING);
+        } else if (escaped) {
+          // "\{}", a literal "{}".
+          fragments.literal.setLength(literalLength - 1);
+          fragments.literal.append("{}");
+        } else {
+          fragments.placeholder(KIND_STRING);
+        }
+        i++;
+        continue;
+      }
+      fragments.literal.append(c);
+    }
+    return fragments.build(format, STYLE_BRACES);
+  }
+
+  public String getFormat() {
+    return format;
+  }
+
+  public int getStyle() {
+    return style;
+  }
+
+  /**
+   * Format the arguments.
+   *
+   * @param args the arguments
+   * @return the formatted string
+   */
+  public String format(Object... args) {
+    if (args == null) {
+      args = new Object[0];
+    }
+    if (fallback || !canFormatDirectly(args)) {
+      return String.format(format, args);
+    }
+    StringBuilder builder = acquireBuilder();
+    try {
+      appendDirectly(builder, args);
+      return builder.toString();
+    } finally {
+      releaseBuilder(builder);
+    }
+  }
+
+  /**
+   * Format an int argument without boxing it.
+   *
+   * @param arg the argument
+   * @return the formatted string
+   */
+  public String format(int arg) {
+    if (!canFormatIntegral()) {
+      return String.format(format, arg);
+    }
+    return formatIntegral(arg);
+  }
+
+  /**
+   * Format a long argument without boxing it.
+   *
+   * @param arg the argument
+   * @return the formatted string
+   */
+  public String format(long arg) {
+    if (!canFormatIntegral()) {
+      return String.format(format, arg);
+    }
+    return formatIntegral(arg);
+  }
+
+  /**
+   * Whether a single integral argument can be formatted directly, every placeholder prints an
+   * integral the same way.
+   */
+  private boolean canFormatIntegral() {
+    return !fallback && (style == STYLE_BRACES || kinds.length <= 1);
+  }
+
+  private String formatIntegral(long arg) {
+    StringBuilder builder = acquireBuilder();
+    try {
+      builder.append(literals[0]);
+      for (int i = 0; i < kinds.length; i++) {
+        if (i == 0) {
+          builder.append(arg);
+        } else {
+          builder.append("{}");
+        }
+        builder.append(literals[i + 1]);
+      }
+      return builder.toString();
+    } finally {
+      releaseBuilder(builder);
+    }
+  }
+
+  /**
+   * Get the reusable builder of the current thread, or a new one if it is in use, e.g. an
+   * argument is logging while being formatted.
+   */
+  private StringBuilder acquireBuilder() {
+    Buffer buffer = sBuffer.get();
+    if (buffer.inUse) {
+      return new StringBuilder(format.length() + 32);
+    }
+    buffer.inUse = true;
+    buffer.builder.setLength(0);
+    return buffer.builder;
+  }
+
+  private void releaseBuilder(StringBuilder builder) {
+    Buffer buffer = sBuffer.get();
+    if (buffer.builder == builder) {
+      if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+        buffer.builder = new StringBuilder(256);
+      }
+      buffer.inUse = false;
+    }
+  }
+
+  /**
+   * Format the arguments and append the result to a builder.
+   *
+   * @param builder the builder to append to
+   * @param args    the arguments
+   */
+  public void appendTo(StringBuilder builder, Object... args) {
+    if (args == null) {
+      args = new Object[0];
+    }
+    if (fallback || !canFormatDirectly(args)) {
+      builder.append(String.format(format, args));
+    } else {
+      appendDirectly(builder, args);
+    }
+  }
+
+  private boolean canFormatDirectly(Object[] args) {
+    if (style == STYLE_BRACES) {
+      return true;
+    }
+    if (args.length < kinds.length) {
+      // Let String.format complain about the missing argument.
+      return false;
+    }
+    for (int i = 0; i < kinds.length; i++) {
+      Object arg = args[i];
+      if (arg == null) {
+        continue;
+      }
+      if (kinds[i] == KIND_DECIMAL) {
+        if (!(arg instanceof Integer || arg instanceof Long || arg instanceof Short
+            || arg instanceof Byte)) {
+          return false;
+        }
+      } else if (arg instanceof Formattable) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void appendDirectly(StringBuilder builder, Object[] args) {
+    builder.append(literals[0]);
+    for (int i = 0; i < kinds.length; i++) {
+      if (i < args.length) {
+        appendArg(builder, args[i]);
+      } else {
+        builder.append("{}");
+      }
+      builder.append(literals[i + 1]);
+    }
+  }
+
+  private void appendArg(StringBuilder builder, Object arg) {
+    if (arg == null) {
+      builder.append("null");
+    } else if (arg instanceof String) {
+      builder.append((String) arg);
+    } else if (arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+      builder.append(((Number) arg).intValue());
+    } else if (arg instanceof Long) {
+      builder.append(((Long) arg).longValue());
+    } else if (style == STYLE_BRACES && arg.getClass().isArray()) {
+      appendArray(builder, arg);
+    } else {
+      builder.append(arg.toString());
+    }
+  }
+
+  private static void appendArray(StringBuilder builder, Object array) {
+    if (array instanceof Object[]) {
+      builder.append(Arrays.deepToString((Object[]) array));
+    } else if (array instanceof int[]) {
+      builder.append(Arrays.toString((int[]) array));
+    } else if (array instanceof long[]) {
+      builder.append(Arrays.toString((long[]) array));
+    } else if (array instanceof byte[]) {
+      builder.append(Arrays.toString((byte[]) array));
+    } else if (array instanceof short[]) {
+      builder.append(Arrays.toString((short[]) array));
+    } else if (array instanceof char[]) {
+      builder.append(Arrays.toString((char[]) array));
+    } else if (array instanceof boolean[]) {
+      builder.append(Arrays.toString((boolean[]) array));
+    } else if (array instanceof float[]) {
+      builder.append(Arrays.toString((float[]) array));
+    } else {
+      builder.append(Arrays.toString((double[]) array));
+    }
+  }
+
+  /**
+   * Collects literals and placeholders while compiling.
+   */
+  private static class Fragments {
+
+    final StringBuilder literal = new StringBuilder();
+
+    final StringBuilder kinds = new StringBuilder();
+
+    final List<String> literals = new ArrayList<>();
+
+    void placeholder(byte kind) {
+      literals.add(literal.toString());
+      literal.setLength(0);
+      kinds.append((char) kind);
+    }
+
+    MessageTemplate build(String format, int style) {
+      literals.add(literal.toString());
+      byte[] kindArray = new byte[kinds.length()];
+      for (int i = 0; i < kindArray.length; i++) {
+        kindArray[i] = (byte) kinds.charAt(i);
+      }
+      return new MessageTemplate(format, style, literals.toArray(new String[literals.size()]),
+          kindArray, false);
+    }
+  }
+
+  /**
+   * The reusable builder of a thread.
+   */
+  private static class Buffer {
+
+    StringBuilder builder = new StringBuilder(256);
+
+    boolean inUse;
+  }
+}
@@ -16,12 +16,14 @@
 
 package com.deepaksharma.webaddicted.formatter.message.xml;
 
+import java.io.IOException;
 import java.io.StringReader;
-import java.io.StringWriter;
+import java.io.Writer;
 
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -31,31 +33,128 @@ import com.deepaksharma.webaddicted.internal.SystemCompat;
 
 /**
  * Simply format the XML with a indent of {@value XML_INDENT}.
+ * <p>
+ * The transformer factory is looked up once, and each thread keeps its own transformer, as
+ * looking them up and creating them costs far more than formatting a small XML.
+ * <p>
+ * The formatted XML may be capped to a max length, the transform is then stopped, and a
+ * truncation marker is appended instead of the rest.
  * <br>TODO: Make indent size and enable/disable state configurable.
  */
 public class DefaultXmlFormatter implements XmlFormatter {
 
   private static final int XML_INDENT = 4;
 
+  private static TransformerFactory sTransformerFactory;
+
+  private final int maxLength;
+
+  private final ThreadLocal<Transformer> transformers = new ThreadLocal<>();
+
+  /**
+   * Constructor, the formatted XML is not capped.
+   */
+  public DefaultXmlFormatter() {
+    this(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param maxLength the max length of the formatted XML, not including the truncation marker
+   */
+  public DefaultXmlFormatter(int maxLength) {
+    if (maxLength <= 0) {
+      throw new IllegalArgumentException("Illegal max length " + maxLength);
+    }
+    this.maxLength = maxLength;
+  }
+
   @Override
   public String format(String xml) {
-    String formattedString;
     if (xml == null || xml.trim().length() == 0) {
       throw new FormatException("XML empty.");
     }
+    CappedWriter writer = new CappedWriter(maxLength);
     try {
       Source xmlInput = new StreamSource(new StringReader(xml));
-      StreamResult xmlOutput = new StreamResult(new StringWriter());
-      Transformer transformer = TransformerFactory.newInstance().newTransformer();
+      transformer().transform(xmlInput, new StreamResult(writer));
+    } catch (Exception e) {
+      // Not to reuse a transformer left in an unknown state.
+      transformers.remove();
+      if (!writer.truncated) {
+        throw new FormatException("Parse XML error. XML string:" + xml, e);
+      }
+    }
+
+    // Put the XML declaration on a line of its own.
+    StringBuilder formatted = writer.out;
+    int declarationEnd = formatted.indexOf(">");
+    if (declarationEnd >= 0) {
+      formatted.insert(declarationEnd + 1, SystemCompat.lineSeparator);
+    }
+    if (writer.truncated) {
+      formatted.append(SystemCompat.lineSeparator).append("... (XML truncated at ")
+          .append(maxLength).append(" characters)");
+    }
+    return formatted.toString();
+  }
+
+  /**
+   * Get the transformer of the current thread, created at the first call.
+   */
+  private Transformer transformer() throws TransformerConfigurationException {
+    Transformer transformer = transformers.get();
+    if (transformer == null) {
+      transformer = newTransformer();
       transformer.setOutputProperty(OutputKeys.INDENT, "yes");
       transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount",
           String.valueOf(XML_INDENT));
-      transformer.transform(xmlInput, xmlOutput);
-      formattedString = xmlOutput.getWriter().toString().replaceFirst(">", ">"
-          + SystemCompat.lineSeparator);
-    } catch (Exception e) {
-      throw new FormatException("Parse XML error. XML string:" + xml, e);
+      transformers.set(transformer);
+    }
+    return transformer;
+  }
+
+  private static synchronized Transformer newTransformer()
+      throws TransformerConfigurationException {
+    if (sTransformerFactory == null) {
+      sTransformerFactory = TransformerFactory.newInstance();
+    }
+    return sTransformerFactory.newTransformer();
+  }
+
+  /**
+   * Writer into a string builder, failing the transform once the max length is reached, not to
+   * format the rest of the XML for nothing.
+   */
+  private static class CappedWriter extends Writer {
+
+    final StringBuilder out = new StringBuilder();
+
+    final int maxLength;
+
+    boolean truncated;
+
+    CappedWriter(int maxLength) {
+      this.maxLength = maxLength;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+      if (out.length() + length > maxLength) {
+        out.append(chars, offset, maxLength - out.length());
+        truncated = true;
+        throw new IOException("XML truncated");
+      }
+      out.append(chars, offset, length);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
     }
-    return formattedString;
   }
 }
@@ -0,0 +1,58 @@
+package com.deepaksharma.webaddicted.interceptor;
+
+import java.util.Arrays;
+
+import com.deepaksharma.webaddicted.LogItem;
+import com.deepaksharma.webaddicted.internal.TagPatterns;
+
+/**
+ * Filter out the logs with a tag that matches any of the patterns, a pattern is either an exact
+ * tag, or a prefix followed by a {@code *}, e.g. {@code Net*} or {@code com.foo.*}.
+ */
+public class BlacklistTagPatternsFilterInterceptor extends AbstractFilterInterceptor
+    implements PreFilterInterceptor {
+
+  private final TagPatterns patterns;
+
+  /**
+   * Constructor
+   *
+   * @param patterns the tag patterns, the logs with a tag matching any of them will be
+   *                 filtered out
+   * @throws IllegalArgumentException if a pattern has a {@code *} other than at the end
+   */
+  public BlacklistTagPatternsFilterInterceptor(String... patterns) {
+    this(Arrays.asList(patterns));
+  }
+
+  /**
+   * Constructor
+   *
+   * @param patterns the tag patterns, the logs with a tag matching any of them will be
+   *                 filtered out
+   * @throws IllegalArgumentException if a pattern has a {@code *} other than at the end
+   */
+  public BlacklistTagPatternsFilterInterceptor(Iterable<String> patterns) {
+    this.patterns = new TagPatterns(patterns);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return true if the tag of the log matches any of the patterns, false otherwise
+   */
+  @Override
+  protected boolean reject(LogItem log) {
+    return reject(log.level, log.tag);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return true if the tag of the log matches any of the patterns, false otherwise
+   */
+  @Override
+  public boolean reject(int logLevel, String tag) {
+    return patterns.matches(tag);
+  }
+}
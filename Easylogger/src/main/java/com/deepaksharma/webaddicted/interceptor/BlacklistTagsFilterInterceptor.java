@@ -17,6 +17,8 @@
 package com.deepaksharma.webaddicted.interceptor;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import com.deepaksharma.webaddicted.LogItem;
 
@@ -25,9 +27,10 @@ import com.deepaksharma.webaddicted.LogItem;
  *
 
  */
-public class BlacklistTagsFilterInterceptor extends AbstractFilterInterceptor {
+public class BlacklistTagsFilterInterceptor extends AbstractFilterInterceptor
+    implements PreFilterInterceptor {
 
-  private Iterable<String> blacklistTags;
+  private final Set<String> blacklistTags;
 
   /**
    * Constructor
@@ -43,13 +46,16 @@ public class BlacklistTagsFilterInterceptor extends AbstractFilterInterceptor {
    * Constructor
    *
    * @param blacklistTags the blacklist tags, the logs with a tag that is in the blacklist will be
-   *                      filtered out
+   *                      filtered out, copied so later changes to it are not seen
    */
   public BlacklistTagsFilterInterceptor(Iterable<String> blacklistTags) {
     if (blacklistTags == null) {
       throw new NullPointerException();
     }
-    this.blacklistTags = blacklistTags;
+    this.blacklistTags = new HashSet<>();
+    for (String tag : blacklistTags) {
+      this.blacklistTags.add(tag);
+    }
   }
 
   /**
@@ -59,13 +65,16 @@ public class BlacklistTagsFilterInterceptor extends AbstractFilterInterceptor {
    */
   @Override
   protected boolean reject(LogItem log) {
-    if (blacklistTags != null) {
-      for (String disabledTag : blacklistTags) {
-        if (log.tag.equals(disabledTag)) {
-          return true;
-        }
-      }
-    }
-    return false;
+    return reject(log.level, log.tag);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return true if the tag of the log is in the blacklist, false otherwise
+   */
+  @Override
+  public boolean reject(int logLevel, String tag) {
+    return blacklistTags.contains(tag);
   }
 }
@@ -0,0 +1,23 @@
+package com.deepaksharma.webaddicted.interceptor;
+
+import com.deepaksharma.webaddicted.LogItem;
+
+/**
+ * A {@link PreFilterInterceptor} which also modifies the logs it accepts, e.g. to annotate them.
+ * <p>
+ * At the head of the interceptors, it decides with {@link #reject(int, String)} before a log is
+ * formatted, and the formatted log goes through {@link #decorate(LogItem)} in place of
+ * {@link #intercept(LogItem)}, ahead of the rest interceptors. Elsewhere,
+ * {@link #intercept(LogItem)} is called as for any interceptor, and should decide and modify at
+ * once.
+ */
+public interface DecoratingPreFilterInterceptor extends PreFilterInterceptor {
+
+  /**
+   * Modify a formatted log accepted by {@link #reject(int, String)} ahead.
+   *
+   * @param log the accepted log
+   * @return the modified log, should not be null
+   */
+  LogItem decorate(LogItem log);
+}
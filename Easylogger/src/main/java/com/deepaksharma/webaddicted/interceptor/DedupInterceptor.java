@@ -0,0 +1,150 @@
+package com.deepaksharma.webaddicted.interceptor;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.deepaksharma.webaddicted.LogItem;
+import com.deepaksharma.webaddicted.internal.BackgroundTimer;
+import com.deepaksharma.webaddicted.printer.Printer;
+
+/**
+ * Collapse a run of the same log, e.g. from a tight retry loop, into the first log and a
+ * "Last message repeated N times" log.
+ * <p>
+ * A log is a repeat if it has the same level and message as the previous log of the same tag,
+ * and comes within the window since the first log of the run. Repeats are filtered out, and
+ * the number of them is printed with the printer, as a log of the same tag and level, when a
+ * different log of the tag comes, or when the window expires, from the thread of
+ * {@link BackgroundTimer}, so a run of a tag which logs no more is reported as well.
+ * <p>
+ * Only the length and hash of the previous message are kept for each tag, a different message
+ * with the same length and hash is taken as a repeat.
+ */
+public class DedupInterceptor implements Interceptor {
+
+  /**
+   * The max number of tags whose logs are collapsed, logs of tags beyond are printed as they are.
+   */
+  private static final int MAX_TAGS = 1024;
+
+  private final long windowMillis;
+
+  private final long windowNanos;
+
+  private final Printer printer;
+
+  private final ConcurrentHashMap<String, Run> runs = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param windowMillis the max time in milliseconds a run lasts, a repeat coming later starts
+   *                     a new run
+   * @param printer      the printer to print the number of repeats, e.g. the same printer as
+   *                     the logger
+   */
+  public DedupInterceptor(long windowMillis, Printer printer) {
+    if (printer == null) {
+      throw new NullPointerException();
+    }
+    this.windowMillis = windowMillis;
+    this.windowNanos = windowMillis * 1000000L;
+    this.printer = printer;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return the original log, or null if it is a repeat
+   */
+  @Override
+  public LogItem intercept(final LogItem log) {
+    final Run run = runOf(log.tag);
+    if (run == null) {
+      return log;
+    }
+    int length = log.msg.length();
+    int hash = log.msg.hashCode();
+    long now = System.nanoTime();
+    int repeats;
+    int level;
+    synchronized (run) {
+      if (run.started && run.level == log.level && run.length == length && run.hash == hash
+          && now - run.startTime < windowNanos) {
+        if (run.repeats++ == 0) {
+          final long startTime = run.startTime;
+          BackgroundTimer.schedule(new Runnable() {
+            @Override
+            public void run() {
+              flush(run, startTime, log.tag);
+            }
+          }, windowMillis - (now - startTime) / 1000000L);
+        }
+        return null;
+      }
+      repeats = run.repeats;
+      level = run.level;
+      run.started = true;
+      run.level = log.level;
+      run.length = length;
+      run.hash = hash;
+      run.startTime = now;
+      run.repeats = 0;
+    }
+    if (repeats > 0) {
+      printer.println(level, log.tag, "Last message repeated " + repeats + " times");
+    }
+    return log;
+  }
+
+  /**
+   * Print the number of repeats of a run whose window has expired, if not printed yet.
+   *
+   * @param startTime the start time of the run, the run is left alone if another has started
+   */
+  private void flush(Run run, long startTime, String tag) {
+    int repeats;
+    int level;
+    synchronized (run) {
+      if (run.startTime != startTime || run.repeats == 0) {
+        return;
+      }
+      repeats = run.repeats;
+      level = run.level;
+      run.repeats = 0;
+      // Any log from now on starts a new run.
+      run.started = false;
+    }
+    printer.println(level, tag, "Last message repeated " + repeats + " times");
+  }
+
+  private Run runOf(String tag) {
+    Run run = runs.get(tag);
+    if (run != null) {
+      return run;
+    }
+    if (runs.size() >= MAX_TAGS) {
+      return null;
+    }
+    run = new Run();
+    Run existing = runs.putIfAbsent(tag, run);
+    return existing != null ? existing : run;
+  }
+
+  /**
+   * The current run of a tag.
+   */
+  private static class Run {
+
+    boolean started;
+
+    int level;
+
+    int length;
+
+    int hash;
+
+    long startTime;
+
+    int repeats;
+  }
+}
@@ -28,6 +28,9 @@ import com.deepaksharma.webaddicted.LogItem;
  * <p>
  * If any interceptor remove the log(by returning null when {@link #intercept(LogItem)}),
  * then the interceptors behind that one won't receive the log, and the log won't be printed at all.
+ * <p>
+ * An interceptor which only looks at the level and tag should be a {@link PreFilterInterceptor},
+ * so the logs it drops are not formatted at all.
 
  */
 public interface Interceptor {
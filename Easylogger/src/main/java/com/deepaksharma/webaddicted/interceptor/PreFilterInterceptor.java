@@ -0,0 +1,32 @@
+package com.deepaksharma.webaddicted.interceptor;
+
+import com.deepaksharma.webaddicted.LogItem;
+
+/**
+ * An interceptor which can decide to drop a log by its level and tag only, before the message,
+ * thread info, stack trace info and border of the log are made.
+ * <p>
+ * Such interceptors at the head of the interceptors are asked with
+ * {@link #reject(int, String)} as soon as a log passes the level check, and are skipped when the
+ * formatted log goes through the rest interceptors. One added behind a normal interceptor still
+ * sees the log as that interceptor returns it, through {@link #intercept(LogItem)}, which should
+ * drop the log the same way.
+ * <p>
+ * See {@link DecoratingPreFilterInterceptor} for one which also modifies the logs it accepts.
+ */
+public interface PreFilterInterceptor extends Interceptor {
+
+  /**
+   * Whether a log should be filtered out, called without any formatting work done.
+   * <p>
+   * Called exactly once for each log which passes the level check, so an implementation may
+   * count the logs it is asked about, as {@link RateLimitInterceptor} and
+   * {@link SamplingInterceptor} do. It must not be called only to find out whether a log would
+   * be printed, {@code TALog.Log.isLoggable(String, int)} checks the levels only for that.
+   *
+   * @param logLevel the level of the log
+   * @param tag      the tag of the log
+   * @return true if the log should be filtered out, false otherwise
+   */
+  boolean reject(int logLevel, String tag);
+}
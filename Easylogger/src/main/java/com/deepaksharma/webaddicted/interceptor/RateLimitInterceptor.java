@@ -0,0 +1,283 @@
+package com.deepaksharma.webaddicted.interceptor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.deepaksharma.webaddicted.LogItem;
+import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.internal.BackgroundTimer;
+import com.deepaksharma.webaddicted.printer.Printer;
+
+/**
+ * Filter out the logs of a tag and level beyond a rate, so a misbehaving component can not swamp
+ * the printers.
+ * <p>
+ * Each tag has a token bucket for each level, a log takes a token, and tokens are refilled at a
+ * constant rate up to a burst size, logs finding the bucket empty are filtered out. Buckets are
+ * updated with atomics, no lock is taken when logging.
+ * <p>
+ * The number of logs filtered out is printed with the summary printer, if any, as a log of the
+ * same tag and level, one summary interval after the first log filtered out since the last
+ * summary, from the thread of {@link BackgroundTimer}, so whether or not a log of the bucket
+ * passes later, and at most once every summary interval. Tags beyond {@value #MAX_TAGS} share
+ * the same buckets, so their summary tells no specific tag, and is logged with the tag of the
+ * first log it counts.
+ */
+public class RateLimitInterceptor extends AbstractFilterInterceptor
+    implements PreFilterInterceptor {
+
+  /**
+   * The max number of tags which have their own buckets, tags beyond share the same buckets.
+   */
+  private static final int MAX_TAGS = 1024;
+
+  private static final int MIN_LEVEL = LogLevel.VERBOSE;
+
+  private static final int MAX_LEVEL = LogLevel.ERROR;
+
+  /**
+   * The nanoseconds to refill a token, of each level, 0 if not limited.
+   */
+  private final long[] refillNanos;
+
+  /**
+   * How many nanoseconds of tokens a full bucket holds, of each level.
+   */
+  private final long[] burstNanos;
+
+  private final Printer summaryPrinter;
+
+  private final long summaryIntervalMillis;
+
+  private final ConcurrentHashMap<String, Bucket[]> buckets = new ConcurrentHashMap<>();
+
+  /**
+   * The buckets shared by tags beyond {@link #MAX_TAGS}.
+   */
+  private final Bucket[] sharedBuckets;
+
+  private final AtomicLong suppressedCount = new AtomicLong();
+
+  /**
+   * Constructor, limit logs of all levels to the same rate, without summary.
+   *
+   * @param logsPerSecond the max number of logs per second, of each tag and level
+   * @param burst         the max number of logs at once, of each tag and level
+   */
+  public RateLimitInterceptor(double logsPerSecond, int burst) {
+    this(new Builder().limit(logsPerSecond, burst));
+  }
+
+  private RateLimitInterceptor(Builder builder) {
+    refillNanos = builder.refillNanos;
+    burstNanos = builder.burstNanos;
+    summaryPrinter = builder.summaryPrinter;
+    summaryIntervalMillis = builder.summaryIntervalMillis;
+    sharedBuckets = newBuckets();
+  }
+
+  /**
+   * Get the number of logs filtered out so far.
+   *
+   * @return the number of logs filtered out
+   */
+  public long getSuppressedCount() {
+    return suppressedCount.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return true if the bucket of the tag and level of the log is empty, false otherwise
+   */
+  @Override
+  protected boolean reject(LogItem log) {
+    return reject(log.level, log.tag);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return true if the bucket of the tag and level is empty, false otherwise
+   */
+  @Override
+  public boolean reject(final int logLevel, final String tag) {
+    if (logLevel < MIN_LEVEL || logLevel > MAX_LEVEL || refillNanos[logLevel - MIN_LEVEL] == 0) {
+      return false;
+    }
+    final Bucket bucket = bucketsOf(tag)[logLevel - MIN_LEVEL];
+    if (bucket.tryTake(System.nanoTime(), refillNanos[logLevel - MIN_LEVEL],
+        burstNanos[logLevel - MIN_LEVEL])) {
+      return false;
+    }
+    suppressedCount.incrementAndGet();
+    // The first log filtered out since the last summary schedules the next one.
+    if (bucket.suppressed.incrementAndGet() == 1 && summaryPrinter != null) {
+      BackgroundTimer.schedule(new Runnable() {
+        @Override
+        public void run() {
+          printSummary(bucket, logLevel, tag);
+        }
+      }, summaryIntervalMillis);
+    }
+    return true;
+  }
+
+  private void printSummary(Bucket bucket, int logLevel, String tag) {
+    int suppressed = bucket.suppressed.getAndSet(0);
+    if (suppressed <= 0) {
+      return;
+    }
+    if (bucket == sharedBuckets[logLevel - MIN_LEVEL]) {
+      // Counts the logs of any tag sharing the bucket.
+      summaryPrinter.println(logLevel, tag, "Suppressed " + suppressed
+          + " logs for tags beyond the first " + MAX_TAGS);
+    } else {
+      summaryPrinter.println(logLevel, tag, "Suppressed " + suppressed + " logs for tag " + tag);
+    }
+  }
+
+  private Bucket[] bucketsOf(String tag) {
+    if (tag == null) {
+      // Not a key of the map, shares the buckets of the empty tag.
+      tag = "";
+    }
+    Bucket[] tagBuckets = buckets.get(tag);
+    if (tagBuckets != null) {
+      return tagBuckets;
+    }
+    if (buckets.size() >= MAX_TAGS) {
+      return sharedBuckets;
+    }
+    tagBuckets = newBuckets();
+    Bucket[] existing = buckets.putIfAbsent(tag, tagBuckets);
+    return existing != null ? existing : tagBuckets;
+  }
+
+  private Bucket[] newBuckets() {
+    Bucket[] newBuckets = new Bucket[MAX_LEVEL - MIN_LEVEL + 1];
+    long now = System.nanoTime();
+    for (int i = 0; i < newBuckets.length; i++) {
+      newBuckets[i] = new Bucket(now - burstNanos[i]);
+    }
+    return newBuckets;
+  }
+
+  /**
+   * A token bucket, kept as the time when the bucket will be full again, a log takes a token by
+   * moving the time a refill period later, as long as the time does not go beyond a burst from
+   * now.
+   */
+  private static class Bucket {
+
+    final AtomicLong fullTime;
+
+    /**
+     * The number of logs filtered out since the last summary.
+     */
+    final AtomicInteger suppressed = new AtomicInteger();
+
+    Bucket(long fullTime) {
+      this.fullTime = new AtomicLong(fullTime);
+    }
+
+    boolean tryTake(long now, long refillNanos, long burstNanos) {
+      for (; ; ) {
+        long current = fullTime.get();
+        long next = Math.max(current, now) + refillNanos;
+        if (next - now > burstNanos) {
+          return false;
+        }
+        if (fullTime.compareAndSet(current, next)) {
+          return true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Builder for {@link RateLimitInterceptor}.
+   */
+  public static class Builder {
+
+    private static final long DEFAULT_SUMMARY_INTERVAL = 10000;
+
+    private final long[] refillNanos = new long[MAX_LEVEL - MIN_LEVEL + 1];
+
+    private final long[] burstNanos = new long[MAX_LEVEL - MIN_LEVEL + 1];
+
+    private Printer summaryPrinter;
+
+    private long summaryIntervalMillis = DEFAULT_SUMMARY_INTERVAL;
+
+    /**
+     * Limit logs of all levels, of each tag and level.
+     *
+     * @param logsPerSecond the max number of logs per second, 0 for no limit
+     * @param burst         the max number of logs at once
+     * @return the builder
+     */
+    public Builder limit(double logsPerSecond, int burst) {
+      for (int level = MIN_LEVEL; level <= MAX_LEVEL; level++) {
+        limit(level, logsPerSecond, burst);
+      }
+      return this;
+    }
+
+    /**
+     * Limit logs of specific level, of each tag.
+     *
+     * @param logLevel      the level, from {@link LogLevel#VERBOSE} to {@link LogLevel#ERROR}
+     * @param logsPerSecond the max number of logs per second, 0 for no limit
+     * @param burst         the max number of logs at once
+     * @return the builder
+     */
+    public Builder limit(int logLevel, double logsPerSecond, int burst) {
+      if (logLevel < MIN_LEVEL || logLevel > MAX_LEVEL) {
+        throw new IllegalArgumentException("Unknown log level " + logLevel);
+      }
+      if (logsPerSecond < 0 || burst < 1) {
+        throw new IllegalArgumentException("Illegal limit " + logsPerSecond + "/s, burst " + burst);
+      }
+      long refill = logsPerSecond == 0 ? 0 : Math.max(1, (long) (1000000000L / logsPerSecond));
+      refillNanos[logLevel - MIN_LEVEL] = refill;
+      burstNanos[logLevel - MIN_LEVEL] = refill * burst;
+      return this;
+    }
+
+    /**
+     * Set the printer to print the number of logs filtered out, e.g. the same printer as the
+     * logger, default to none.
+     *
+     * @param summaryPrinter the printer of summaries
+     * @return the builder
+     */
+    public Builder summaryPrinter(Printer summaryPrinter) {
+      this.summaryPrinter = summaryPrinter;
+      return this;
+    }
+
+    /**
+     * Set the interval from the first log filtered out to the summary of the logs filtered out,
+     * which is also the min interval between two summaries of the same tag and level, default to
+     * {@value #DEFAULT_SUMMARY_INTERVAL} milliseconds.
+     *
+     * @param summaryIntervalMillis the interval in milliseconds
+     * @return the builder
+     */
+    public Builder summaryInterval(long summaryIntervalMillis) {
+      this.summaryIntervalMillis = summaryIntervalMillis;
+      return this;
+    }
+
+    /**
+     * Build the interceptor.
+     *
+     * @return the built interceptor
+     */
+    public RateLimitInterceptor build() {
+      return new RateLimitInterceptor(this);
+    }
+  }
+}
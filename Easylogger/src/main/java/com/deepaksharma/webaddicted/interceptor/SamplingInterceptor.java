@@ -0,0 +1,201 @@
+package com.deepaksharma.webaddicted.interceptor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.deepaksharma.webaddicted.LogItem;
+import com.deepaksharma.webaddicted.LogLevel;
+
+/**
+ * Keep a fraction of the logs of each tag and level, e.g. 1 in 100 debug logs in production, and
+ * annotate each kept log with its sampling weight, e.g. {@code [sampled 1/100]}, which is how many
+ * logs it stands for.
+ * <p>
+ * The decision is made with a counter of the tag and level, the first log and every Nth after it
+ * are kept, so the same sequence of logs is always sampled the same way. At the head of the
+ * interceptors, logs are dropped before being formatted.
+ */
+public class SamplingInterceptor implements DecoratingPreFilterInterceptor {
+
+  /**
+   * The max number of tags which have their own counters, tags beyond share the same counters.
+   */
+  private static final int MAX_TAGS = 1024;
+
+  private static final int MIN_LEVEL = LogLevel.VERBOSE;
+
+  private static final int MAX_LEVEL = LogLevel.ERROR;
+
+  private static final int LEVEL_COUNT = MAX_LEVEL - MIN_LEVEL + 1;
+
+  /**
+   * Keep 1 in how many logs, of each level.
+   */
+  private final int[] levelIntervals;
+
+  /**
+   * Keep 1 in how many logs, of each level of specific tags.
+   */
+  private final Map<String, int[]> tagIntervals;
+
+  private final ConcurrentHashMap<String, AtomicLongArray> counters = new ConcurrentHashMap<>();
+
+  /**
+   * The counters shared by tags beyond {@link #MAX_TAGS}.
+   */
+  private final AtomicLongArray sharedCounters = new AtomicLongArray(LEVEL_COUNT);
+
+  /**
+   * Constructor, sample {@link LogLevel#VERBOSE} and {@link LogLevel#DEBUG} logs of all tags at
+   * the same rate.
+   *
+   * @param rate the fraction of logs to keep, e.g. 0.01 for 1 in 100
+   */
+  public SamplingInterceptor(double rate) {
+    this(new Builder().rate(LogLevel.VERBOSE, rate).rate(LogLevel.DEBUG, rate));
+  }
+
+  private SamplingInterceptor(Builder builder) {
+    levelIntervals = builder.levelIntervals;
+    tagIntervals = builder.tagIntervals;
+  }
+
+  @Override
+  public LogItem intercept(LogItem log) {
+    if (reject(log.level, log.tag)) {
+      return null;
+    }
+    return decorate(log);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return true if the log is not one of the samples, false otherwise
+   */
+  @Override
+  public boolean reject(int logLevel, String tag) {
+    int interval = intervalOf(logLevel, tag);
+    if (interval == 1) {
+      return false;
+    }
+    long count = countersOf(tag).getAndIncrement(logLevel - MIN_LEVEL);
+    return count % interval != 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Append the sampling weight to the message if some logs are dropped for each sample.
+   */
+  @Override
+  public LogItem decorate(LogItem log) {
+    int interval = intervalOf(log.level, log.tag);
+    if (interval != 1) {
+      log.msg = log.msg + " [sampled 1/" + interval + "]";
+    }
+    return log;
+  }
+
+  private int intervalOf(int logLevel, String tag) {
+    if (logLevel < MIN_LEVEL || logLevel > MAX_LEVEL) {
+      return 1;
+    }
+    int[] intervals = tagIntervals != null ? tagIntervals.get(tag) : null;
+    return (intervals != null ? intervals : levelIntervals)[logLevel - MIN_LEVEL];
+  }
+
+  private AtomicLongArray countersOf(String tag) {
+    AtomicLongArray tagCounters = counters.get(tag);
+    if (tagCounters != null) {
+      return tagCounters;
+    }
+    if (counters.size() >= MAX_TAGS) {
+      return sharedCounters;
+    }
+    tagCounters = new AtomicLongArray(LEVEL_COUNT);
+    AtomicLongArray existing = counters.putIfAbsent(tag, tagCounters);
+    return existing != null ? existing : tagCounters;
+  }
+
+  /**
+   * Builder for {@link SamplingInterceptor}.
+   */
+  public static class Builder {
+
+    private final int[] levelIntervals = newIntervals();
+
+    private Map<String, int[]> tagIntervals;
+
+    /**
+     * Set the fraction of logs to keep of specific level, of all tags without their own rates,
+     * default to 1, keeping all logs.
+     *
+     * @param logLevel the level, from {@link LogLevel#VERBOSE} to {@link LogLevel#ERROR}
+     * @param rate     the fraction of logs to keep, e.g. 0.01 for 1 in 100
+     * @return the builder
+     */
+    public Builder rate(int logLevel, double rate) {
+      levelIntervals[checkLevel(logLevel)] = intervalOf(rate);
+      return this;
+    }
+
+    /**
+     * Set the fraction of logs to keep of specific tag and level, other levels of the tag keep
+     * all logs unless set as well.
+     *
+     * @param tag      the tag
+     * @param logLevel the level, from {@link LogLevel#VERBOSE} to {@link LogLevel#ERROR}
+     * @param rate     the fraction of logs to keep, e.g. 0.01 for 1 in 100
+     * @return the builder
+     */
+    public Builder rate(String tag, int logLevel, double rate) {
+      if (tag == null) {
+        throw new NullPointerException();
+      }
+      if (tagIntervals == null) {
+        tagIntervals = new HashMap<>();
+      }
+      int[] intervals = tagIntervals.get(tag);
+      if (intervals == null) {
+        intervals = newIntervals();
+        tagIntervals.put(tag, intervals);
+      }
+      intervals[checkLevel(logLevel)] = intervalOf(rate);
+      return this;
+    }
+
+    /**
+     * Build the interceptor.
+     *
+     * @return the built interceptor
+     */
+    public SamplingInterceptor build() {
+      return new SamplingInterceptor(this);
+    }
+
+    private static int[] newIntervals() {
+      int[] intervals = new int[LEVEL_COUNT];
+      for (int i = 0; i < LEVEL_COUNT; i++) {
+        intervals[i] = 1;
+      }
+      return intervals;
+    }
+
+    private static int checkLevel(int logLevel) {
+      if (logLevel < MIN_LEVEL || logLevel > MAX_LEVEL) {
+        throw new IllegalArgumentException("Unknown log level " + logLevel);
+      }
+      return logLevel - MIN_LEVEL;
+    }
+
+    private static int intervalOf(double rate) {
+      if (!(rate > 0 && rate <= 1)) {
+        throw new IllegalArgumentException("Illegal rate " + rate);
+      }
+      return (int) Math.min(Integer.MAX_VALUE, Math.round(1 / rate));
+    }
+  }
+}
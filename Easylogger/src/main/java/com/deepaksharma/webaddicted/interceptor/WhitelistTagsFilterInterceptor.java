@@ -17,6 +17,8 @@
 package com.deepaksharma.webaddicted.interceptor;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import com.deepaksharma.webaddicted.LogItem;
 
@@ -25,9 +27,10 @@ import com.deepaksharma.webaddicted.LogItem;
  *
 
  */
-public class WhitelistTagsFilterInterceptor extends AbstractFilterInterceptor {
+public class WhitelistTagsFilterInterceptor extends AbstractFilterInterceptor
+    implements PreFilterInterceptor {
 
-  private Iterable<String> whitelistTags;
+  private final Set<String> whitelistTags;
 
   /**
    * Constructor
@@ -43,13 +46,16 @@ public class WhitelistTagsFilterInterceptor extends AbstractFilterInterceptor {
    * Constructor
    *
    * @param whitelistTags the whitelist tags, the logs with a tag that is NOT in the whitelist
-   *                      will be filtered out
+   *                      will be filtered out, copied so later changes to it are not seen
    */
   public WhitelistTagsFilterInterceptor(Iterable<String> whitelistTags) {
     if (whitelistTags == null) {
       throw new NullPointerException();
     }
-    this.whitelistTags = whitelistTags;
+    this.whitelistTags = new HashSet<>();
+    for (String tag : whitelistTags) {
+      this.whitelistTags.add(tag);
+    }
   }
 
   /**
@@ -59,13 +65,16 @@ public class WhitelistTagsFilterInterceptor extends AbstractFilterInterceptor {
    */
   @Override
   protected boolean reject(LogItem log) {
-    if (whitelistTags != null) {
-      for (String enabledTag : whitelistTags) {
-        if (log.tag.equals(enabledTag)) {
-          return false;
-        }
-      }
-    }
-    return true;
+    return reject(log.level, log.tag);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return true if the tag of the log is NOT in the whitelist, false otherwise
+   */
+  @Override
+  public boolean reject(int logLevel, String tag) {
+    return !whitelistTags.contains(tag);
   }
 }
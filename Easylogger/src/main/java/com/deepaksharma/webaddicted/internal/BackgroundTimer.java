@@ -0,0 +1,49 @@
+package com.deepaksharma.webaddicted.internal;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The single low priority thread shared by interceptors to report what they held back once a
+ * window ends, e.g. the number of repeats or of logs filtered out.
+ * <p>
+ * The thread is started when a task is first scheduled, and ends when no task is left for a
+ * while, so it costs nothing while nothing is held back.
+ */
+public class BackgroundTimer {
+
+  private static ScheduledThreadPoolExecutor sExecutor;
+
+  private BackgroundTimer() {
+  }
+
+  /**
+   * Run a task once after a delay.
+   *
+   * @param task        the task, which should be quick and not throw
+   * @param delayMillis the delay in milliseconds
+   */
+  public static void schedule(Runnable task, long delayMillis) {
+    executor().schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private static synchronized ScheduledThreadPoolExecutor executor() {
+    if (sExecutor == null) {
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+          new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+              Thread thread = new Thread(r, "TALog-Timer");
+              thread.setDaemon(true);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            }
+          });
+      executor.setKeepAliveTime(10, TimeUnit.SECONDS);
+      executor.allowCoreThreadTimeOut(true);
+      sExecutor = executor;
+    }
+    return sExecutor;
+  }
+}
@@ -0,0 +1,69 @@
+package com.deepaksharma.webaddicted.internal;
+
+/**
+ * A background thread that prints logs on behalf of the threads which made them.
+ * <p>
+ * While a log is being dispatched, the thread carries the time at which the log was made and the
+ * id of the thread which made it, so printers and flatteners should use
+ * {@link #currentTimeMillis()} and {@link #currentThreadId()} instead of
+ * {@link System#currentTimeMillis()} and {@link Thread#getId()} to stamp a log.
+ */
+public class DispatchThread extends Thread {
+
+  /**
+   * The call-site time of the log being dispatched, 0 if no log is being dispatched.
+   */
+  private long timeMillis;
+
+  /**
+   * The id of the thread which made the log being dispatched.
+   */
+  private long threadId;
+
+  public DispatchThread(String name) {
+    super(name);
+    setDaemon(true);
+  }
+
+  /**
+   * Mark the log about to be dispatched on this thread, should be called on this thread only.
+   *
+   * @param timeMillis the time at which the log was made, 0 when the dispatch is finished
+   * @param threadId   the id of the thread which made the log
+   */
+  protected void dispatching(long timeMillis, long threadId) {
+    this.timeMillis = timeMillis;
+    this.threadId = threadId;
+  }
+
+  /**
+   * Get the time at which the current log was made.
+   *
+   * @return the call-site time if the current thread is dispatching a log on behalf of another
+   * thread, or the current time otherwise
+   */
+  public static long currentTimeMillis() {
+    Thread thread = Thread.currentThread();
+    if (thread instanceof DispatchThread) {
+      long timeMillis = ((DispatchThread) thread).timeMillis;
+      if (timeMillis != 0) {
+        return timeMillis;
+      }
+    }
+    return System.currentTimeMillis();
+  }
+
+  /**
+   * Get the id of the thread which made the current log.
+   *
+   * @return the id of the calling thread if the current thread is dispatching a log on behalf of
+   * another thread, or the id of the current thread otherwise
+   */
+  public static long currentThreadId() {
+    Thread thread = Thread.currentThread();
+    if (thread instanceof DispatchThread && ((DispatchThread) thread).timeMillis != 0) {
+      return ((DispatchThread) thread).threadId;
+    }
+    return thread.getId();
+  }
+}
@@ -0,0 +1,223 @@
+package com.deepaksharma.webaddicted.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A set of tag patterns compiled into a trie, a pattern is either an exact tag, or a prefix
+ * followed by a single {@code *} which matches any tag starting with the prefix, e.g.
+ * {@code Net*} or {@code com.foo.*}, and {@code *} alone matches all tags.
+ * <p>
+ * Each pattern may have a value, the value of a tag is the one of the exact pattern of the tag,
+ * or of the longest prefix pattern matching the tag.
+ * <p>
+ * A tag is matched in time linear to its length, and the result is remembered for the first
+ * {@link #MAX_MEMOIZED_TAGS} distinct tags.
+ */
+public class TagPatterns {
+
+  /**
+   * The max number of tags whose results are remembered, tags beyond are matched each time.
+   */
+  private static final int MAX_MEMOIZED_TAGS = 1024;
+
+  /**
+   * Memoized for tags matching no pattern.
+   */
+  private static final Object NO_MATCH = new Object();
+
+  private final Node root;
+
+  private final ConcurrentHashMap<String, Object> memo = new ConcurrentHashMap<>();
+
+  /**
+   * Compile the patterns, without values.
+   *
+   * @param patterns the patterns
+   * @throws IllegalArgumentException if a pattern has a {@code *} other than at the end
+   */
+  public TagPatterns(Iterable<String> patterns) {
+    this(withoutValues(patterns));
+  }
+
+  /**
+   * Compile the patterns with their values.
+   *
+   * @param patterns the patterns, mapped to their values
+   * @throws IllegalArgumentException if a pattern has a {@code *} other than at the end
+   */
+  public TagPatterns(Map<String, Integer> patterns) {
+    MutableNode mutableRoot = new MutableNode();
+    for (Map.Entry<String, Integer> entry : patterns.entrySet()) {
+      String pattern = entry.getKey();
+      if (!isValid(pattern)) {
+        throw new IllegalArgumentException("Only a trailing * is allowed in tag pattern "
+            + pattern);
+      }
+      int wildcard = pattern.indexOf('*');
+      int end = wildcard == -1 ? pattern.length() : wildcard;
+      MutableNode node = mutableRoot;
+      for (int i = 0; i < end; i++) {
+        char c = pattern.charAt(i);
+        MutableNode child = node.children.get(c);
+        if (child == null) {
+          child = new MutableNode();
+          node.children.put(c, child);
+        }
+        node = child;
+      }
+      if (wildcard == -1) {
+        node.exact = entry.getValue();
+      } else {
+        node.prefix = entry.getValue();
+      }
+    }
+    root = mutableRoot.freeze();
+  }
+
+  private static Map<String, Integer> withoutValues(Iterable<String> patterns) {
+    if (patterns == null) {
+      throw new NullPointerException();
+    }
+    Map<String, Integer> map = new LinkedHashMap<>();
+    Integer none = 0;
+    for (String pattern : patterns) {
+      map.put(pattern, none);
+    }
+    return map;
+  }
+
+  /**
+   * Whether a pattern is valid, that is it has no {@code *} other than at the end.
+   *
+   * @param pattern the pattern
+   * @return true if valid, false otherwise
+   */
+  public static boolean isValid(String pattern) {
+    int wildcard = pattern.indexOf('*');
+    return wildcard == -1 || wildcard == pattern.length() - 1;
+  }
+
+  /**
+   * Whether a tag matches any of the patterns.
+   *
+   * @param tag the tag, null matches no pattern
+   * @return true if matched, false otherwise
+   */
+  public boolean matches(String tag) {
+    return get(tag) != null;
+  }
+
+  /**
+   * Get the value of a tag, the one of the exact pattern of the tag, or of the longest prefix
+   * pattern matching the tag.
+   *
+   * @param tag the tag, null matches no pattern
+   * @return the value, or null if the tag matches no pattern
+   */
+  public Integer get(String tag) {
+    if (tag == null) {
+      // Not a key of the memo, and no pattern is null.
+      return null;
+    }
+    Object value = memo.get(tag);
+    if (value == null) {
+      value = match(tag);
+      if (value == null) {
+        value = NO_MATCH;
+      }
+      if (memo.size() < MAX_MEMOIZED_TAGS) {
+        memo.put(tag, value);
+      }
+    }
+    return value != NO_MATCH ? (Integer) value : null;
+  }
+
+  private Integer match(String tag) {
+    Node node = root;
+    Integer longestPrefix = null;
+    for (int i = 0, length = tag.length(); i < length; i++) {
+      if (node.prefix != null) {
+        longestPrefix = node.prefix;
+      }
+      node = node.child(tag.charAt(i));
+      if (node == null) {
+        return longestPrefix;
+      }
+    }
+    if (node.exact != null) {
+      return node.exact;
+    }
+    return node.prefix != null ? node.prefix : longestPrefix;
+  }
+
+  /**
+   * A node of the compiled trie, the children are looked up by binary search.
+   */
+  private static class Node {
+
+    final char[] keys;
+
+    final Node[] children;
+
+    /**
+     * The value of the exact pattern ending here, null if none.
+     */
+    final Integer exact;
+
+    /**
+     * The value of the prefix pattern ending here, null if none.
+     */
+    final Integer prefix;
+
+    Node(char[] keys, Node[] children, Integer exact, Integer prefix) {
+      this.keys = keys;
+      this.children = children;
+      this.exact = exact;
+      this.prefix = prefix;
+    }
+
+    Node child(char c) {
+      int low = 0;
+      int high = keys.length - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        char key = keys[mid];
+        if (key < c) {
+          low = mid + 1;
+        } else if (key > c) {
+          high = mid - 1;
+        } else {
+          return children[mid];
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * A node of the trie being built.
+   */
+  private static class MutableNode {
+
+    final TreeMap<Character, MutableNode> children = new TreeMap<>();
+
+    Integer exact;
+
+    Integer prefix;
+
+    Node freeze() {
+      char[] keys = new char[children.size()];
+      Node[] nodes = new Node[children.size()];
+      int i = 0;
+      for (Map.Entry<Character, MutableNode> entry : children.entrySet()) {
+        keys[i] = entry.getKey();
+        nodes[i] = entry.getValue().freeze();
+        i++;
+      }
+      return new Node(keys, nodes, exact, prefix);
+    }
+  }
+}
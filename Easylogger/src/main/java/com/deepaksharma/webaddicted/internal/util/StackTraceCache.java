@@ -0,0 +1,77 @@
+package com.deepaksharma.webaddicted.internal.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.deepaksharma.webaddicted.formatter.stacktrace.StackTraceFormatter;
+
+/**
+ * Remember the formatted stack traces of call sites, so a call site logging again does not have
+ * its stack trace formatted again, the formatter should always format the same stack trace the
+ * same way.
+ */
+public class StackTraceCache {
+
+  /**
+   * The max number of call sites whose stack traces are remembered, the ones beyond are formatted
+   * each time.
+   */
+  private static final int MAX_CALL_SITES = 1024;
+
+  private final StackTraceFormatter stackTraceFormatter;
+
+  private final ConcurrentHashMap<CallSite, String> formattedStackTraces =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Constructor.
+   *
+   * @param stackTraceFormatter the formatter of stack traces
+   */
+  public StackTraceCache(StackTraceFormatter stackTraceFormatter) {
+    this.stackTraceFormatter = stackTraceFormatter;
+  }
+
+  /**
+   * Format a stack trace, or get the one formatted before for the same call site.
+   *
+   * @param stackTrace the stack trace
+   * @return the formatted stack trace
+   */
+  public String format(StackTraceElement[] stackTrace) {
+    CallSite callSite = new CallSite(stackTrace);
+    String formatted = formattedStackTraces.get(callSite);
+    if (formatted == null) {
+      formatted = stackTraceFormatter.format(stackTrace);
+      if (formatted != null && formattedStackTraces.size() < MAX_CALL_SITES) {
+        formattedStackTraces.put(callSite, formatted);
+      }
+    }
+    return formatted;
+  }
+
+  /**
+   * A call site, identified by its stack trace.
+   */
+  private static class CallSite {
+
+    private final StackTraceElement[] stackTrace;
+
+    private final int hashCode;
+
+    CallSite(StackTraceElement[] stackTrace) {
+      this.stackTrace = stackTrace;
+      this.hashCode = Arrays.hashCode(stackTrace);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof CallSite && Arrays.equals(stackTrace, ((CallSite) o).stackTrace);
+    }
+  }
+}
@@ -20,6 +20,7 @@ package com.deepaksharma.webaddicted.internal.util;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.net.UnknownHostException;
+import java.util.Arrays;
 
 import com.deepaksharma.webaddicted.TALog;
 
@@ -64,59 +65,37 @@ public class StackTraceUtil {
   }
 
   /**
-   * Get the real stack trace and then crop it with a max depth.
+   * Get the stack trace of the caller of the library, leaving out the frames of the library and
+   * the stack trace origin at the top, with a max depth.
+   * <p>
+   * Only the frames until the caller are examined, and the kept frames are copied once.
    *
-   * @param stackTrace the full stack trace
-   * @param maxDepth   the max depth of real stack trace that will be cropped, 0 means no limitation
-   * @return the cropped real stack trace
+   * @param stackTraceOrigin the origin of stack trace elements which should also be left out,
+   *                         null if none
+   * @param maxDepth         the max depth of the stack trace, 0 means no limitation
+   * @return the stack trace of the caller
    */
-  public static StackTraceElement[] getCroppedRealStackTrack(StackTraceElement[] stackTrace,
-                                                             String stackTraceOrigin,
-                                                             int maxDepth) {
-    return cropStackTrace(getRealStackTrack(stackTrace, stackTraceOrigin), maxDepth);
-  }
-
-  /**
-   * Get the real stack trace, all elements that come from TALog library would be dropped.
-   *
-   * @param stackTrace the full stack trace
-   * @return the real stack trace, all elements come from system and library user
-   */
-  private static StackTraceElement[] getRealStackTrack(StackTraceElement[] stackTrace,
-                                                       String stackTraceOrigin) {
-    int ignoreDepth = 0;
-    int allDepth = stackTrace.length;
-    String className;
-    for (int i = allDepth - 1; i >= 0; i--) {
-      className = stackTrace[i].getClassName();
-      if (className.startsWith(XLOG_STACK_TRACE_ORIGIN)
-          || (stackTraceOrigin != null && className.startsWith(stackTraceOrigin))) {
-        ignoreDepth = i + 1;
-        break;
-      }
+  public static StackTraceElement[] getCallerStackTrace(String stackTraceOrigin, int maxDepth) {
+    StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+    int length = stackTrace.length;
+    int start = 0;
+    // Frames of the VM above the library, if any.
+    while (start < length && !isLibraryFrame(stackTrace[start], stackTraceOrigin)) {
+      start++;
     }
-    int realDepth = allDepth - ignoreDepth;
-    StackTraceElement[] realStack = new StackTraceElement[realDepth];
-    System.arraycopy(stackTrace, ignoreDepth, realStack, 0, realDepth);
-    return realStack;
+    if (start == length) {
+      start = 0;
+    }
+    while (start < length && isLibraryFrame(stackTrace[start], stackTraceOrigin)) {
+      start++;
+    }
+    int end = maxDepth > 0 ? Math.min(length, start + maxDepth) : length;
+    return Arrays.copyOfRange(stackTrace, start, end);
   }
 
-  /**
-   * Crop the stack trace with a max depth.
-   *
-   * @param callStack the original stack trace
-   * @param maxDepth  the max depth of real stack trace that will be cropped,
-   *                  0 means no limitation
-   * @return the cropped stack trace
-   */
-  private static StackTraceElement[] cropStackTrace(StackTraceElement[] callStack,
-                                                    int maxDepth) {
-    int realDepth = callStack.length;
-    if (maxDepth > 0) {
-      realDepth = Math.min(maxDepth, realDepth);
-    }
-    StackTraceElement[] realStack = new StackTraceElement[realDepth];
-    System.arraycopy(callStack, 0, realStack, 0, realDepth);
-    return realStack;
+  private static boolean isLibraryFrame(StackTraceElement element, String stackTraceOrigin) {
+    String className = element.getClassName();
+    return className.startsWith(XLOG_STACK_TRACE_ORIGIN)
+        || (stackTraceOrigin != null && className.startsWith(stackTraceOrigin));
   }
 }
@@ -0,0 +1,360 @@
+package com.deepaksharma.webaddicted.printer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate;
+import com.deepaksharma.webaddicted.internal.DispatchThread;
+import com.deepaksharma.webaddicted.internal.Platform;
+
+/**
+ * Print logs with another {@link Printer} on a background thread, so a slow printer never stalls
+ * the thread which made the log.
+ * <p>
+ * Logs are handed to the background thread through a bounded lock-free ring buffer, what to do
+ * when the buffer is full is decided by the overflow policy, see
+ * {@link Builder#overflowPolicy(int)}.
+ * <p>
+ * The time at which each log is made and the thread which made it are recorded when handing off,
+ * printers running on the background thread can get them via
+ * {@link DispatchThread#currentTimeMillis()} and {@link DispatchThread#currentThreadId()}.
+ * <p>
+ * If the wrapped printer is a {@link TemplatePrinter}, a template log whose arguments are all
+ * strings, boxed primitives or null is handed off unformatted, other template logs are formatted
+ * before handing off, as their arguments may be modified meanwhile.
+ * <p>
+ * Call {@link #flush()} to wait until the logs in the buffer are printed, e.g. before the process
+ * is killed, and {@link #close()} to also stop the background thread when the printer is no
+ * longer used.
+ */
+public class AsyncPrinter implements TemplatePrinter {
+
+  /**
+   * Wait until there is room in the buffer.
+   */
+  public static final int OVERFLOW_BLOCK = 1;
+
+  /**
+   * Drop the log being printed.
+   */
+  public static final int OVERFLOW_DROP_NEWEST = 2;
+
+  /**
+   * Drop the oldest log in the buffer to make room for the log being printed.
+   */
+  public static final int OVERFLOW_DROP_OLDEST = 3;
+
+  /**
+   * Drop the log being printed if its level is below the level specified by
+   * {@link Builder#dropBelowLevel(int)}, otherwise wait until there is room in the buffer.
+   */
+  public static final int OVERFLOW_DROP_BELOW_LEVEL = 4;
+
+  static final int DEFAULT_CAPACITY = 1024;
+
+  /**
+   * How long a blocked producer waits before checking the buffer again.
+   */
+  private static final long BLOCK_PARK_NANOS = 100000;
+
+  private final Printer printer;
+
+  private final RingBuffer ringBuffer;
+
+  private final int overflowPolicy;
+
+  private final int dropBelowLevel;
+
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  private final Dispatcher dispatcher;
+
+  private volatile boolean closed;
+
+  /**
+   * Constructor, with a buffer of {@value #DEFAULT_CAPACITY} logs which drops the newest log
+   * when full.
+   *
+   * @param printer the printer which would print logs on the background thread
+   */
+  public AsyncPrinter(Printer printer) {
+    this(new Builder(printer));
+  }
+
+  private AsyncPrinter(Builder builder) {
+    printer = builder.printer;
+    ringBuffer = new RingBuffer(builder.capacity);
+    overflowPolicy = builder.overflowPolicy;
+    dropBelowLevel = builder.dropBelowLevel;
+    dispatcher = new Dispatcher();
+    dispatcher.start();
+  }
+
+  @Override
+  public void println(int logLevel, String tag, String msg) {
+    enqueue(logLevel, tag, msg, null, null);
+  }
+
+  @Override
+  public void println(int logLevel, String tag, MessageTemplate template, Object[] args) {
+    if (printer instanceof TemplatePrinter && isImmutable(args)) {
+      enqueue(logLevel, tag, null, template, args);
+    } else {
+      enqueue(logLevel, tag, template.format(args), null, null);
+    }
+  }
+
+  @Override
+  public boolean acceptsTemplates() {
+    return printer instanceof TemplatePrinter && ((TemplatePrinter) printer).acceptsTemplates();
+  }
+
+  private static boolean isImmutable(Object[] args) {
+    for (Object arg : args) {
+      if (arg != null && !(arg instanceof String || arg instanceof Integer || arg instanceof Long
+          || arg instanceof Double || arg instanceof Float || arg instanceof Boolean
+          || arg instanceof Character || arg instanceof Short || arg instanceof Byte)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void enqueue(int logLevel, String tag, String msg, MessageTemplate template,
+      Object[] args) {
+    if (closed) {
+      droppedCount.incrementAndGet();
+      return;
+    }
+    long timeMillis = System.currentTimeMillis();
+    long threadId = Thread.currentThread().getId();
+    if (!ringBuffer.offer(timeMillis, threadId, logLevel, tag, msg, template, args)
+        && !handleOverflow(timeMillis, threadId, logLevel, tag, msg, template, args)) {
+      droppedCount.incrementAndGet();
+      return;
+    }
+    dispatcher.wakeUp();
+  }
+
+  /**
+   * Handle a log which could not be put into the full buffer.
+   *
+   * @return true if the log is put into the buffer finally, false if it is dropped
+   */
+  private boolean handleOverflow(long timeMillis, long threadId, int logLevel, String tag,
+      String msg, MessageTemplate template, Object[] args) {
+    switch (overflowPolicy) {
+      case OVERFLOW_DROP_OLDEST:
+        do {
+          if (ringBuffer.poll(null)) {
+            droppedCount.incrementAndGet();
+          }
+        } while (!ringBuffer.offer(timeMillis, threadId, logLevel, tag, msg, template, args));
+        return true;
+      case OVERFLOW_DROP_BELOW_LEVEL:
+        if (logLevel < dropBelowLevel) {
+          return false;
+        }
+        return awaitRoom(timeMillis, threadId, logLevel, tag, msg, template, args);
+      case OVERFLOW_BLOCK:
+        return awaitRoom(timeMillis, threadId, logLevel, tag, msg, template, args);
+      case OVERFLOW_DROP_NEWEST:
+      default:
+        return false;
+    }
+  }
+
+  private boolean awaitRoom(long timeMillis, long threadId, int logLevel, String tag,
+      String msg, MessageTemplate template, Object[] args) {
+    if (Thread.currentThread() == dispatcher) {
+      // The wrapped printer is logging by itself, waiting for its own thread would never end.
+      return false;
+    }
+    do {
+      dispatcher.wakeUp();
+      LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+    } while (!ringBuffer.offer(timeMillis, threadId, logLevel, tag, msg, template, args));
+    return true;
+  }
+
+  /**
+   * Wait until the logs put into the buffer so far are printed, or dropped by the overflow
+   * policy, the wrapped printer itself is not flushed.
+   * <p>
+   * Returns at once when called on the background thread, e.g. by the wrapped printer.
+   */
+  public void flush() {
+    if (Thread.currentThread() == dispatcher) {
+      return;
+    }
+    long end = ringBuffer.tailPosition();
+    while (ringBuffer.headPosition() < end || dispatcher.dispatchingPosition < end) {
+      if (!dispatcher.isAlive()) {
+        return;
+      }
+      dispatcher.wakeUp();
+      LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+    }
+  }
+
+  /**
+   * Print the logs in the buffer, as {@link #flush()}, then stop the background thread, logs
+   * printed from now on are dropped, and so may be a log printed while closing.
+   */
+  public void close() {
+    closed = true;
+    flush();
+    dispatcher.wakeUp();
+  }
+
+  /**
+   * Get the number of logs dropped because the buffer was full, or the printer was closed.
+   *
+   * @return the number of dropped logs
+   */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * The background thread which takes logs from the buffer and prints them.
+   */
+  private class Dispatcher extends DispatchThread {
+
+    private volatile boolean waiting;
+
+    /**
+     * No more than the position of the log being dispatched, {@link Long#MAX_VALUE} if the buffer
+     * was found empty, see {@link #flush()}.
+     */
+    volatile long dispatchingPosition;
+
+    Dispatcher() {
+      super("TALog-AsyncPrinter");
+    }
+
+    void wakeUp() {
+      if (waiting) {
+        LockSupport.unpark(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      RingBuffer.Record record = new RingBuffer.Record();
+      for (; ; ) {
+        // Set before taking, as the log taken is at this position or later.
+        dispatchingPosition = ringBuffer.headPosition();
+        if (ringBuffer.poll(record)) {
+          dispatch(record);
+          continue;
+        }
+        dispatchingPosition = Long.MAX_VALUE;
+        if (closed) {
+          return;
+        }
+        waiting = true;
+        if (ringBuffer.isEmpty() && !closed) {
+          LockSupport.park(this);
+        }
+        waiting = false;
+      }
+    }
+
+    private void dispatch(RingBuffer.Record record) {
+      dispatching(record.timeMillis, record.threadId);
+      try {
+        if (record.template != null) {
+          ((TemplatePrinter) printer).println(record.logLevel, record.tag, record.template,
+              record.args);
+        } else {
+          printer.println(record.logLevel, record.tag, record.msg);
+        }
+      } catch (RuntimeException e) {
+        Platform.get().warn("AsyncPrinter failed to print a log: " + e);
+      } finally {
+        dispatching(0, 0);
+        record.tag = null;
+        record.msg = null;
+        record.template = null;
+        record.args = null;
+      }
+    }
+  }
+
+  /**
+   * Builder for {@link AsyncPrinter}.
+   */
+  public static class Builder {
+
+    private final Printer printer;
+
+    private int capacity = DEFAULT_CAPACITY;
+
+    private int overflowPolicy = OVERFLOW_DROP_NEWEST;
+
+    private int dropBelowLevel = LogLevel.WARN;
+
+    /**
+     * Construct a builder.
+     *
+     * @param printer the printer which would print logs on the background thread, it can be a
+     *                {@link PrinterSet} to print with several printers
+     */
+    public Builder(Printer printer) {
+      if (printer == null) {
+        throw new NullPointerException();
+      }
+      this.printer = printer;
+    }
+
+    /**
+     * Set how many logs can be waiting for printing, default to
+     * {@value AsyncPrinter#DEFAULT_CAPACITY}.
+     *
+     * @param capacity the capacity of the buffer, rounded up to a power of two
+     * @return the builder
+     */
+    public Builder capacity(int capacity) {
+      this.capacity = capacity;
+      return this;
+    }
+
+    /**
+     * Set what to do when the buffer is full, default to
+     * {@link AsyncPrinter#OVERFLOW_DROP_NEWEST}.
+     *
+     * @param overflowPolicy one of {@link AsyncPrinter#OVERFLOW_BLOCK},
+     *                       {@link AsyncPrinter#OVERFLOW_DROP_NEWEST},
+     *                       {@link AsyncPrinter#OVERFLOW_DROP_OLDEST} and
+     *                       {@link AsyncPrinter#OVERFLOW_DROP_BELOW_LEVEL}
+     * @return the builder
+     */
+    public Builder overflowPolicy(int overflowPolicy) {
+      this.overflowPolicy = overflowPolicy;
+      return this;
+    }
+
+    /**
+     * Set the level below which logs are dropped when the buffer is full, only used with
+     * {@link AsyncPrinter#OVERFLOW_DROP_BELOW_LEVEL}, default to {@link LogLevel#WARN}.
+     *
+     * @param logLevel the log level
+     * @return the builder
+     */
+    public Builder dropBelowLevel(int logLevel) {
+      this.dropBelowLevel = logLevel;
+      return this;
+    }
+
+    /**
+     * Builds configured {@link AsyncPrinter} object, the background thread is started at once.
+     *
+     * @return the built configured {@link AsyncPrinter} object
+     */
+    public AsyncPrinter build() {
+      return new AsyncPrinter(this);
+    }
+  }
+}
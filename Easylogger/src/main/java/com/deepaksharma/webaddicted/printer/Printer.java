@@ -21,9 +21,16 @@ package com.deepaksharma.webaddicted.printer;
  * A printer is used for printing the log to somewhere, like android shell, terminal
  * or file system.
  * <p>
- * There are 4 main implementation of Printer.
+ * There are 6 main implementation of Printer.
  * <br>{@link AndroidPrinter}, print log to android shell terminal.
  * <br>{@link ConsolePrinter}, print log to console via System.out.
+ * <br>{@link AsyncPrinter}, print log with another printer on a background thread.
+ * <br>{@link com.deepaksharma.webaddicted.printer.file.FilePrinter FilePrinter},
+ * print log to a file, through an in-memory buffer.
+ * <br>{@link com.deepaksharma.webaddicted.printer.file.MappedFilePrinter MappedFilePrinter},
+ * print log to a file, through a memory-mapped cache file.
+ * <br>{@link com.deepaksharma.webaddicted.printer.file.BinaryFilePrinter BinaryFilePrinter},
+ * print log to a file, in a compact binary format.
  */
 public interface Printer {
 
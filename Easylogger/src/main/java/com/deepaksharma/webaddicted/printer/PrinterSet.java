@@ -16,14 +16,21 @@
 
 package com.deepaksharma.webaddicted.printer;
 
+import com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate;
+
 /**
  * Represents a group of Printers that should used to print logs in the same time, each printer
  * may probably print the log to different place.
+ * <p>
+ * A template log is passed as is to the {@link TemplatePrinter}s, and formatted once for the
+ * others.
  */
-public class PrinterSet implements Printer {
+public class PrinterSet implements TemplatePrinter {
 
   private Printer[] printers;
 
+  private final boolean acceptsTemplates;
+
   /**
    * Constructor, pass printers in and will use all these printers to print the same logs.
    *
@@ -31,6 +38,14 @@ public class PrinterSet implements Printer {
    */
   public PrinterSet(Printer... printers) {
     this.printers = printers;
+    boolean acceptsTemplates = false;
+    for (Printer printer : printers) {
+      if (printer instanceof TemplatePrinter && ((TemplatePrinter) printer).acceptsTemplates()) {
+        acceptsTemplates = true;
+        break;
+      }
+    }
+    this.acceptsTemplates = acceptsTemplates;
   }
 
   @Override
@@ -39,4 +54,24 @@ public class PrinterSet implements Printer {
       printer.println(logLevel, tag, msg);
     }
   }
+
+  @Override
+  public void println(int logLevel, String tag, MessageTemplate template, Object[] args) {
+    String msg = null;
+    for (Printer printer : printers) {
+      if (printer instanceof TemplatePrinter) {
+        ((TemplatePrinter) printer).println(logLevel, tag, template, args);
+      } else {
+        if (msg == null) {
+          msg = template.format(args);
+        }
+        printer.println(logLevel, tag, msg);
+      }
+    }
+  }
+
+  @Override
+  public boolean acceptsTemplates() {
+    return acceptsTemplates;
+  }
 }
@@ -0,0 +1,177 @@
+package com.deepaksharma.webaddicted.printer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate;
+
+/**
+ * A bounded, lock-free ring buffer of log records, safe for multiple producers and consumers.
+ * <p>
+ * Slots are allocated once and reused, each slot carries a sequence number telling whether it is
+ * free for the producer at a position or published for the consumer at that position, so neither
+ * side ever takes a lock or allocates when passing a log.
+ */
+class RingBuffer {
+
+  /**
+   * Holder of a record taken out of the buffer.
+   */
+  static class Record {
+    long timeMillis;
+    long threadId;
+    int logLevel;
+    String tag;
+    String msg;
+    MessageTemplate template;
+    Object[] args;
+  }
+
+  private final int mask;
+
+  private final AtomicLongArray sequences;
+
+  private final long[] timeMillis;
+
+  private final long[] threadIds;
+
+  private final int[] logLevels;
+
+  private final String[] tags;
+
+  private final String[] msgs;
+
+  private final MessageTemplate[] templates;
+
+  private final Object[][] args;
+
+  /**
+   * The next position to write.
+   */
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * The next position to read.
+   */
+  private final AtomicLong head = new AtomicLong();
+
+  /**
+   * Constructor.
+   *
+   * @param capacity the min capacity, rounded up to a power of two
+   */
+  RingBuffer(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("Capacity should be at least 2, but found " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity - 1) << 1;
+    mask = size - 1;
+    sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    timeMillis = new long[size];
+    threadIds = new long[size];
+    logLevels = new int[size];
+    tags = new String[size];
+    msgs = new String[size];
+    templates = new MessageTemplate[size];
+    args = new Object[size][];
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Append a record.
+   *
+   * @param msg      the message, null if the message is a template
+   * @param template the template of the message, null if the message is already formatted
+   * @param args     the arguments of the template
+   * @return true if appended, false if the buffer is full
+   */
+  boolean offer(long timeMillis, long threadId, int logLevel, String tag, String msg,
+      MessageTemplate template, Object[] args) {
+    long pos = tail.get();
+    for (; ; ) {
+      int index = (int) pos & mask;
+      long diff = sequences.get(index) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          this.timeMillis[index] = timeMillis;
+          threadIds[index] = threadId;
+          logLevels[index] = logLevel;
+          tags[index] = tag;
+          msgs[index] = msg;
+          templates[index] = template;
+          this.args[index] = args;
+          // Publish the slot to consumers.
+          sequences.lazySet(index, pos + 1);
+          return true;
+        }
+      } else if (diff < 0) {
+        // The slot still holds a record from the previous lap.
+        return false;
+      }
+      pos = tail.get();
+    }
+  }
+
+  /**
+   * Take the oldest record.
+   *
+   * @param out the holder to copy the record to, null to just discard the record
+   * @return true if a record is taken, false if the buffer is empty
+   */
+  boolean poll(Record out) {
+    long pos = head.get();
+    for (; ; ) {
+      int index = (int) pos & mask;
+      long diff = sequences.get(index) - (pos + 1);
+      if (diff == 0) {
+        if (head.compareAndSet(pos, pos + 1)) {
+          if (out != null) {
+            out.timeMillis = timeMillis[index];
+            out.threadId = threadIds[index];
+            out.logLevel = logLevels[index];
+            out.tag = tags[index];
+            out.msg = msgs[index];
+            out.template = templates[index];
+            out.args = args[index];
+          }
+          tags[index] = null;
+          msgs[index] = null;
+          templates[index] = null;
+          args[index] = null;
+          // Hand the slot back to producers of the next lap.
+          sequences.lazySet(index, pos + mask + 1);
+          return true;
+        }
+      } else if (diff < 0) {
+        // Nothing published at this position yet.
+        return false;
+      }
+      pos = head.get();
+    }
+  }
+
+  boolean isEmpty() {
+    return head.get() >= tail.get();
+  }
+
+  /**
+   * Get the position of the next record to take, all records before it are taken.
+   */
+  long headPosition() {
+    return head.get();
+  }
+
+  /**
+   * Get the position of the next record to append, all records before it are appended or being
+   * appended.
+   */
+  long tailPosition() {
+    return tail.get();
+  }
+}
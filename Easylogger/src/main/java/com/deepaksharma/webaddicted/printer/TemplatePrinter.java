@@ -0,0 +1,32 @@
+package com.deepaksharma.webaddicted.printer;
+
+import com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate;
+
+/**
+ * A {@link Printer} which can take a log as a message template and its arguments, and format it
+ * later, or never, e.g. by writing only the arguments and formatting when the log is read.
+ * <p>
+ * {@link com.deepaksharma.webaddicted.Logger} hands a log made by {@code v/d/i/w/e(format, args)}
+ * over as a template when the log needs no decoration and no interceptor, otherwise the log is
+ * formatted first and printed with {@link #println(int, String, String)}.
+ */
+public interface TemplatePrinter extends Printer {
+
+  /**
+   * Print log in new line, the message of which is {@code template.format(args)}.
+   *
+   * @param logLevel the level of log
+   * @param tag      the tag of log
+   * @param template the template of the message
+   * @param args     the arguments of the message, should not be modified after the call
+   */
+  void println(int logLevel, String tag, MessageTemplate template, Object[] args);
+
+  /**
+   * Whether this printer makes use of template logs, if not, a log is better formatted before
+   * printed, sparing the arguments array.
+   *
+   * @return true if template logs are printed without being formatted first
+   */
+  boolean acceptsTemplates();
+}
@@ -0,0 +1,488 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimerTask;
+
+import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate;
+import com.deepaksharma.webaddicted.internal.DispatchThread;
+import com.deepaksharma.webaddicted.printer.Printer;
+import com.deepaksharma.webaddicted.printer.TemplatePrinter;
+
+/**
+ * Log {@link Printer} which appends logs to a file in a compact binary format instead of text,
+ * use {@link BinaryLogDecoder} to turn the file back into text.
+ * <p>
+ * A file is a sequence of sections, each of which starts with a header and is followed by entries:
+ * <pre>
+ * header: "TLB" version(1 byte) base-time(8 bytes)
+ * tag:    0x01 id(varint) length(varint) UTF-8 bytes
+ * log:    0x02 level(1 byte) time-delta(zigzag varint) tag-id(varint) length(varint) UTF-8 bytes
+ * log:    0x03 level(1 byte) time-delta(zigzag varint) tag-id(varint) thread-id(varint)
+ *         length(varint) UTF-8 bytes
+ * format: 0x04 id(varint) style(1 byte) length(varint) UTF-8 bytes
+ * log:    0x05 level(1 byte) time-delta(zigzag varint) tag-id(varint) format-id(varint)
+ *         count(varint) arguments
+ * log:    0x06 level(1 byte) time-delta(zigzag varint) tag-id(varint) thread-id(varint)
+ *         format-id(varint) count(varint) arguments
+ * </pre>
+ * Each tag and format is written once per section and referred to by id afterwards, the time of
+ * a log is relative to the previous log in the section.
+ * <p>
+ * As a {@link TemplatePrinter}, a log made with a {@link MessageTemplate} and arguments that are
+ * all strings, boxed primitives or null is written as the id of its format and the arguments,
+ * each of which is a type byte followed by its value, and is only formatted when decoded, in the
+ * default locale of the decoder. Other template logs are formatted before writing.
+ * <p>
+ * A new section is started whenever the file is opened or rotated, so each file and each rotated
+ * segment can be decoded on its own.
+ */
+public class BinaryFilePrinter implements TemplatePrinter {
+
+  static final byte[] MAGIC = {'T', 'L', 'B'};
+
+  static final byte VERSION = 1;
+
+  static final byte ENTRY_TAG = 0x01;
+
+  static final byte ENTRY_LOG = 0x02;
+
+  static final byte ENTRY_LOG_WITH_THREAD = 0x03;
+
+  static final byte ENTRY_FORMAT = 0x04;
+
+  static final byte ENTRY_TEMPLATE_LOG = 0x05;
+
+  static final byte ENTRY_TEMPLATE_LOG_WITH_THREAD = 0x06;
+
+  static final byte ARG_NULL = 0;
+
+  static final byte ARG_STRING = 1;
+
+  static final byte ARG_INT = 2;
+
+  static final byte ARG_LONG = 3;
+
+  static final byte ARG_DOUBLE = 4;
+
+  static final byte ARG_FLOAT = 5;
+
+  static final byte ARG_TRUE = 6;
+
+  static final byte ARG_FALSE = 7;
+
+  static final byte ARG_CHAR = 8;
+
+  static final byte ARG_SHORT = 9;
+
+  static final byte ARG_BYTE = 10;
+
+  /**
+   * The max number of tags or formats in a section, a new section is started when exceeded.
+   */
+  static final int MAX_IDS = 1024;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /**
+   * Enough for the fixed fields of any entry.
+   */
+  private static final int HEAD_SIZE = 64;
+
+  private final FileAppender appender;
+
+  private final int flushLevel;
+
+  private final boolean threadId;
+
+  private final TimerTask flushTask;
+
+  private final CharsetEncoder encoder = UTF_8.newEncoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+  private final ByteBuffer head = ByteBuffer.allocate(HEAD_SIZE);
+
+  private ByteBuffer text = ByteBuffer.allocate(256);
+
+  private ByteBuffer argBytes = ByteBuffer.allocate(256);
+
+  /**
+   * Ids of tags written in the current section.
+   */
+  private final Map<String, Integer> tagIds = new HashMap<>();
+
+  /**
+   * Ids of formats written in the current section, templates are cached so identity is enough.
+   */
+  private final Map<MessageTemplate, Integer> formatIds = new HashMap<>();
+
+  private boolean sectionStarted;
+
+  private long lastTimeMillis;
+
+  private BinaryFilePrinter(Builder builder) {
+    appender = new FileAppender(builder.file, builder.bufferSize, builder.rollingPolicy);
+    flushLevel = builder.flushLevel;
+    threadId = builder.threadId;
+    if (builder.flushInterval > 0) {
+      flushTask = new TimerTask() {
+        @Override
+        public void run() {
+          appender.flush();
+        }
+      };
+      FilePrinter.flushTimer().schedule(flushTask, builder.flushInterval, builder.flushInterval);
+    } else {
+      flushTask = null;
+    }
+  }
+
+  @Override
+  public void println(int logLevel, String tag, String msg) {
+    long timeMillis = DispatchThread.currentTimeMillis();
+    synchronized (appender) {
+      printLog(timeMillis, logLevel, tag, msg);
+    }
+  }
+
+  @Override
+  public void println(int logLevel, String tag, MessageTemplate template, Object[] args) {
+    long timeMillis = DispatchThread.currentTimeMillis();
+    synchronized (appender) {
+      if (!encodeArgs(args)) {
+        printLog(timeMillis, logLevel, tag, template.format(args));
+        return;
+      }
+      int tagId = prepare(timeMillis, tag, template);
+      int formatId = defineFormat(template);
+      putLogHead(threadId ? ENTRY_TEMPLATE_LOG_WITH_THREAD : ENTRY_TEMPLATE_LOG, logLevel,
+          timeMillis, tagId);
+      putVarint(head, formatId);
+      putVarint(head, args.length);
+      head.flip();
+      appender.append(head);
+      appender.append(argBytes);
+      afterLog(logLevel);
+    }
+  }
+
+  @Override
+  public boolean acceptsTemplates() {
+    return true;
+  }
+
+  private void printLog(long timeMillis, int logLevel, String tag, String msg) {
+    int tagId = prepare(timeMillis, tag, null);
+    encodeText(String.valueOf(msg));
+    putLogHead(threadId ? ENTRY_LOG_WITH_THREAD : ENTRY_LOG, logLevel, timeMillis, tagId);
+    appendWithText();
+    afterLog(logLevel);
+  }
+
+  /**
+   * Start a new section if needed, and write the tag if new to the section.
+   *
+   * @param template the template of the log, null if not a template log
+   * @return the id of the tag
+   */
+  private int prepare(long timeMillis, String tag, MessageTemplate template) {
+    if (appender.rollIfNeeded() || !sectionStarted
+        || (tagIds.size() >= MAX_IDS && !tagIds.containsKey(tag))
+        || (template != null && formatIds.size() >= MAX_IDS
+        && !formatIds.containsKey(template))) {
+      startSection(timeMillis);
+    }
+    Integer id = tagIds.get(tag);
+    if (id == null) {
+      id = tagIds.size();
+      tagIds.put(tag, id);
+      encodeText(String.valueOf(tag));
+      head.clear();
+      head.put(ENTRY_TAG);
+      putVarint(head, id);
+      appendWithText();
+    }
+    return id;
+  }
+
+  /**
+   * Get the id of a format, write it first if new to the section.
+   */
+  private int defineFormat(MessageTemplate template) {
+    Integer id = formatIds.get(template);
+    if (id == null) {
+      id = formatIds.size();
+      formatIds.put(template, id);
+      encodeText(template.getFormat());
+      head.clear();
+      head.put(ENTRY_FORMAT);
+      putVarint(head, id);
+      head.put((byte) template.getStyle());
+      appendWithText();
+    }
+    return id;
+  }
+
+  /**
+   * Put the fields shared by all kinds of log into the head.
+   */
+  private void putLogHead(byte entry, int logLevel, long timeMillis, int tagId) {
+    head.clear();
+    head.put(entry);
+    head.put((byte) logLevel);
+    putZigzag(head, timeMillis - lastTimeMillis);
+    putVarint(head, tagId);
+    if (threadId) {
+      putVarint(head, DispatchThread.currentThreadId());
+    }
+    lastTimeMillis = timeMillis;
+  }
+
+  private void afterLog(int logLevel) {
+    if (logLevel >= flushLevel) {
+      appender.flush();
+    }
+  }
+
+  /**
+   * Encode the arguments of a template log into the argument buffer.
+   *
+   * @return false if any argument is of a type which can not be encoded
+   */
+  private boolean encodeArgs(Object[] args) {
+    argBytes.clear();
+    for (Object arg : args) {
+      ensureArgRoom(16);
+      if (arg == null) {
+        argBytes.put(ARG_NULL);
+      } else if (arg instanceof String) {
+        encodeText((String) arg);
+        ensureArgRoom(6 + text.remaining());
+        argBytes.put(ARG_STRING);
+        putVarint(argBytes, text.remaining());
+        argBytes.put(text);
+      } else if (arg instanceof Integer) {
+        argBytes.put(ARG_INT);
+        putZigzag(argBytes, (Integer) arg);
+      } else if (arg instanceof Long) {
+        argBytes.put(ARG_LONG);
+        putZigzag(argBytes, (Long) arg);
+      } else if (arg instanceof Double) {
+        argBytes.put(ARG_DOUBLE);
+        argBytes.putDouble((Double) arg);
+      } else if (arg instanceof Float) {
+        argBytes.put(ARG_FLOAT);
+        argBytes.putFloat((Float) arg);
+      } else if (arg instanceof Boolean) {
+        argBytes.put((Boolean) arg ? ARG_TRUE : ARG_FALSE);
+      } else if (arg instanceof Character) {
+        argBytes.put(ARG_CHAR);
+        putVarint(argBytes, (Character) arg);
+      } else if (arg instanceof Short) {
+        argBytes.put(ARG_SHORT);
+        putZigzag(argBytes, (Short) arg);
+      } else if (arg instanceof Byte) {
+        argBytes.put(ARG_BYTE);
+        argBytes.put((Byte) arg);
+      } else {
+        // Its string form may change before it is decoded.
+        return false;
+      }
+    }
+    argBytes.flip();
+    return true;
+  }
+
+  private void ensureArgRoom(int bytes) {
+    if (argBytes.remaining() < bytes) {
+      ByteBuffer larger = ByteBuffer.allocate(
+          Math.max(argBytes.capacity() * 2, argBytes.position() + bytes));
+      argBytes.flip();
+      larger.put(argBytes);
+      argBytes = larger;
+    }
+  }
+
+  private void startSection(long timeMillis) {
+    tagIds.clear();
+    formatIds.clear();
+    lastTimeMillis = timeMillis;
+    sectionStarted = true;
+    head.clear();
+    head.put(MAGIC);
+    head.put(VERSION);
+    head.putLong(timeMillis);
+    head.flip();
+    appender.append(head);
+  }
+
+  /**
+   * Encode a text into the text buffer, growing the buffer if needed.
+   */
+  private void encodeText(String s) {
+    CharBuffer in = CharBuffer.wrap(s);
+    int maxBytes = (int) (s.length() * encoder.maxBytesPerChar());
+    if (text.capacity() < maxBytes) {
+      text = ByteBuffer.allocate(Math.max(maxBytes, text.capacity() * 2));
+    }
+    text.clear();
+    encoder.reset();
+    CoderResult result = encoder.encode(in, text, true);
+    if (!result.isUnderflow()) {
+      // Never happens as the buffer is large enough.
+      throw new IllegalStateException(result.toString());
+    }
+    encoder.flush(text);
+    text.flip();
+  }
+
+  /**
+   * Append the head, the length of the text and the text.
+   */
+  private void appendWithText() {
+    putVarint(head, text.remaining());
+    head.flip();
+    appender.append(head);
+    appender.append(text);
+  }
+
+  private static void putZigzag(ByteBuffer buffer, long value) {
+    putVarint(buffer, (value << 1) ^ (value >> 63));
+  }
+
+  private static void putVarint(ByteBuffer buffer, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  /**
+   * Write all buffered logs to the file.
+   */
+  public void flush() {
+    appender.flush();
+  }
+
+  /**
+   * Write all buffered logs and close the file, logs printed after closing would open the file
+   * again, but would no longer be flushed periodically.
+   */
+  public void close() {
+    if (flushTask != null) {
+      flushTask.cancel();
+    }
+    synchronized (appender) {
+      appender.close();
+      // Whatever comes next may be appended after another writer, start over.
+      sectionStarted = false;
+    }
+  }
+
+  /**
+   * Builder for {@link BinaryFilePrinter}.
+   */
+  public static class Builder {
+
+    private final File file;
+
+    private int bufferSize = FileAppender.DEFAULT_BUFFER_SIZE;
+
+    private long flushInterval = FilePrinter.DEFAULT_FLUSH_INTERVAL;
+
+    private int flushLevel = LogLevel.ERROR;
+
+    private boolean threadId;
+
+    private RollingPolicy rollingPolicy;
+
+    /**
+     * Construct a builder.
+     *
+     * @param file the file to append logs to
+     */
+    public Builder(File file) {
+      if (file == null) {
+        throw new NullPointerException();
+      }
+      this.file = file;
+    }
+
+    /**
+     * Set the size of the in-memory buffer, the buffer is written to the file whenever it is
+     * full, default to {@value FileAppender#DEFAULT_BUFFER_SIZE} bytes.
+     *
+     * @param bufferSize the buffer size in bytes
+     * @return the builder
+     */
+    public Builder bufferSize(int bufferSize) {
+      this.bufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Set the max time logs can stay in the buffer, default to
+     * {@value FilePrinter#DEFAULT_FLUSH_INTERVAL} milliseconds.
+     *
+     * @param flushInterval the interval in milliseconds, 0 to flush only when the buffer is full
+     *                      or by level
+     * @return the builder
+     */
+    public Builder flushInterval(long flushInterval) {
+      this.flushInterval = flushInterval;
+      return this;
+    }
+
+    /**
+     * Set the level from which a log is written to the file immediately, default to
+     * {@link LogLevel#ERROR}.
+     *
+     * @param flushLevel the log level, {@link LogLevel#ALL} to write every log immediately
+     * @return the builder
+     */
+    public Builder flushLevel(int flushLevel) {
+      this.flushLevel = flushLevel;
+      return this;
+    }
+
+    /**
+     * Record the id of the thread which made each log, not recorded by default.
+     *
+     * @return the builder
+     */
+    public Builder threadId() {
+      this.threadId = true;
+      return this;
+    }
+
+    /**
+     * Set the policy to rotate the log file, the log file is never rotated by default.
+     *
+     * @param rollingPolicy the rolling policy
+     * @return the builder
+     */
+    public Builder rollingPolicy(RollingPolicy rollingPolicy) {
+      this.rollingPolicy = rollingPolicy;
+      return this;
+    }
+
+    /**
+     * Builds configured {@link BinaryFilePrinter} object.
+     *
+     * @return the built configured {@link BinaryFilePrinter} object
+     */
+    public BinaryFilePrinter build() {
+      return new BinaryFilePrinter(this);
+    }
+  }
+}
@@ -0,0 +1,324 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.deepaksharma.webaddicted.flattener.DefaultFlattener;
+import com.deepaksharma.webaddicted.flattener.Flattener2;
+import com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate;
+
+/**
+ * Read logs from a file written by {@link BinaryFilePrinter}.
+ * <p>
+ * Iterate the logs with {@link #next()} and the getters, or turn the whole file into the text a
+ * {@link FilePrinter} would have written with {@link #decode(InputStream, Flattener2, Writer)}.
+ * It also runs from the command line:
+ * <pre>
+ * java -cp easylogger.jar com.deepaksharma.webaddicted.printer.file.BinaryLogDecoder talog.bin
+ * </pre>
+ * A log cut off at the end of the file, e.g. by a crash, is ignored.
+ */
+public class BinaryLogDecoder implements Closeable {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final DataInputStream in;
+
+  /**
+   * Tags of the current section, indexed by id.
+   */
+  private final List<String> tags = new ArrayList<>();
+
+  /**
+   * Formats of the current section, indexed by id.
+   */
+  private final List<MessageTemplate> formats = new ArrayList<>();
+
+  private boolean sectionStarted;
+
+  private long timeMillis;
+
+  private int logLevel;
+
+  private String tag;
+
+  private long threadId;
+
+  private String message;
+
+  private byte[] bytes = new byte[256];
+
+  /**
+   * Constructor.
+   *
+   * @param in the stream of a file written by {@link BinaryFilePrinter}, closed along with the
+   *           decoder
+   */
+  public BinaryLogDecoder(InputStream in) {
+    this.in = new DataInputStream(new BufferedInputStream(in));
+  }
+
+  /**
+   * Move to the next log.
+   *
+   * @return true if there is a next log, false at the end of the file
+   * @throws IOException if failed to read, or the file is not written by
+   *                     {@link BinaryFilePrinter}
+   */
+  public boolean next() throws IOException {
+    try {
+      for (; ; ) {
+        int entry = in.read();
+        if (entry == -1) {
+          return false;
+        }
+        if (entry == BinaryFilePrinter.MAGIC[0]) {
+          readHeader();
+          continue;
+        }
+        if (!sectionStarted) {
+          throw new IOException("Not a binary log file");
+        }
+        switch (entry) {
+          case BinaryFilePrinter.ENTRY_TAG:
+            int id = (int) readVarint();
+            if (id != tags.size()) {
+              throw new IOException("Unexpected tag id " + id);
+            }
+            tags.add(readText());
+            break;
+          case BinaryFilePrinter.ENTRY_FORMAT:
+            id = (int) readVarint();
+            if (id != formats.size()) {
+              throw new IOException("Unexpected format id " + id);
+            }
+            int style = in.readByte();
+            formats.add(MessageTemplate.compile(readText(), style));
+            break;
+          case BinaryFilePrinter.ENTRY_LOG:
+          case BinaryFilePrinter.ENTRY_LOG_WITH_THREAD:
+            readLogHead(entry == BinaryFilePrinter.ENTRY_LOG_WITH_THREAD);
+            message = readText();
+            return true;
+          case BinaryFilePrinter.ENTRY_TEMPLATE_LOG:
+          case BinaryFilePrinter.ENTRY_TEMPLATE_LOG_WITH_THREAD:
+            readLogHead(entry == BinaryFilePrinter.ENTRY_TEMPLATE_LOG_WITH_THREAD);
+            int formatId = (int) readVarint();
+            if (formatId >= formats.size()) {
+              throw new IOException("Unknown format id " + formatId);
+            }
+            message = format(formats.get(formatId), readArgs());
+            return true;
+          default:
+            throw new IOException("Unknown entry " + entry);
+        }
+      }
+    } catch (EOFException e) {
+      return false;
+    }
+  }
+
+  private void readLogHead(boolean withThread) throws IOException {
+    logLevel = in.readByte();
+    timeMillis += readZigzag();
+    int tagId = (int) readVarint();
+    if (tagId >= tags.size()) {
+      throw new IOException("Unknown tag id " + tagId);
+    }
+    tag = tags.get(tagId);
+    threadId = withThread ? readVarint() : -1;
+  }
+
+  private Object[] readArgs() throws IOException {
+    int count = (int) readVarint();
+    if (count < 0) {
+      throw new IOException("Malformed argument count " + count);
+    }
+    Object[] args = new Object[count];
+    for (int i = 0; i < count; i++) {
+      int type = in.readByte();
+      switch (type) {
+        case BinaryFilePrinter.ARG_NULL:
+          break;
+        case BinaryFilePrinter.ARG_STRING:
+          args[i] = readText();
+          break;
+        case BinaryFilePrinter.ARG_INT:
+          args[i] = (int) readZigzag();
+          break;
+        case BinaryFilePrinter.ARG_LONG:
+          args[i] = readZigzag();
+          break;
+        case BinaryFilePrinter.ARG_DOUBLE:
+          args[i] = in.readDouble();
+          break;
+        case BinaryFilePrinter.ARG_FLOAT:
+          args[i] = in.readFloat();
+          break;
+        case BinaryFilePrinter.ARG_TRUE:
+          args[i] = true;
+          break;
+        case BinaryFilePrinter.ARG_FALSE:
+          args[i] = false;
+          break;
+        case BinaryFilePrinter.ARG_CHAR:
+          args[i] = (char) readVarint();
+          break;
+        case BinaryFilePrinter.ARG_SHORT:
+          args[i] = (short) readZigzag();
+          break;
+        case BinaryFilePrinter.ARG_BYTE:
+          args[i] = in.readByte();
+          break;
+        default:
+          throw new IOException("Unknown argument type " + type);
+      }
+    }
+    return args;
+  }
+
+  /**
+   * Format a template log, which was not checked when the log was made.
+   */
+  private static String format(MessageTemplate template, Object[] args) {
+    try {
+      return template.format(args);
+    } catch (IllegalFormatException e) {
+      return template.getFormat() + " " + Arrays.toString(args) + " (" + e + ")";
+    }
+  }
+
+  private void readHeader() throws IOException {
+    for (int i = 1; i < BinaryFilePrinter.MAGIC.length; i++) {
+      if (in.readByte() != BinaryFilePrinter.MAGIC[i]) {
+        throw new IOException("Not a binary log file");
+      }
+    }
+    int version = in.readByte();
+    if (version != BinaryFilePrinter.VERSION) {
+      throw new IOException("Unsupported version " + version);
+    }
+    timeMillis = in.readLong();
+    tags.clear();
+    formats.clear();
+    sectionStarted = true;
+  }
+
+  private long readVarint() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+
+  private long readZigzag() throws IOException {
+    long value = readVarint();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private String readText() throws IOException {
+    int length = (int) readVarint();
+    if (length < 0) {
+      throw new IOException("Malformed length " + length);
+    }
+    if (bytes.length < length) {
+      bytes = new byte[Math.max(length, bytes.length * 2)];
+    }
+    in.readFully(bytes, 0, length);
+    return new String(bytes, 0, length, UTF_8);
+  }
+
+  /**
+   * Get the time at which the current log was made.
+   */
+  public long getTimeMillis() {
+    return timeMillis;
+  }
+
+  public int getLogLevel() {
+    return logLevel;
+  }
+
+  public String getTag() {
+    return tag;
+  }
+
+  /**
+   * Get the id of the thread which made the current log.
+   *
+   * @return the thread id, or -1 if not recorded, see {@link BinaryFilePrinter.Builder#threadId()}
+   */
+  public long getThreadId() {
+    return threadId;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  /**
+   * Turn all logs from a stream into text, one log per line.
+   *
+   * @param in        the stream of a file written by {@link BinaryFilePrinter}, not closed
+   * @param flattener the flattener used to flatten each log, as the one a {@link FilePrinter}
+   *                  would use
+   * @param out       the writer of the text, not closed
+   * @throws IOException if failed to read or write
+   */
+  public static void decode(InputStream in, Flattener2 flattener, Writer out) throws IOException {
+    BinaryLogDecoder decoder = new BinaryLogDecoder(in);
+    while (decoder.next()) {
+      out.append(flattener.flatten(decoder.getTimeMillis(), decoder.getLogLevel(),
+          decoder.getTag(), decoder.getMessage()));
+      out.append('\n');
+    }
+    out.flush();
+  }
+
+  /**
+   * Print a binary log file, or a gzip compressed segment of it, as text with a
+   * {@link DefaultFlattener}.
+   *
+   * @param args the path of the file
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      System.err.println("Usage: BinaryLogDecoder <file>");
+      System.exit(1);
+    }
+    InputStream in = new FileInputStream(args[0]);
+    try {
+      if (args[0].endsWith(".gz")) {
+        in = new GZIPInputStream(in);
+      }
+      decode(in, new DefaultFlattener(),
+          new BufferedWriter(new OutputStreamWriter(System.out, UTF_8)));
+    } finally {
+      in.close();
+    }
+  }
+}
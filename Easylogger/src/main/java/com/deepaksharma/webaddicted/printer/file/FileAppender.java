@@ -0,0 +1,213 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import com.deepaksharma.webaddicted.internal.Platform;
+
+/**
+ * Append text or raw bytes to a single file which is kept open.
+ * <p>
+ * Everything appended is staged in a reusable direct buffer and written to the file channel only
+ * when the buffer is full or {@link #flush()} is called, text is encoded in UTF-8 straight into
+ * that buffer.
+ * <p>
+ * The file can be rotated according to a {@link RollingPolicy}, writers should call
+ * {@link #rollIfNeeded()} before appending each record, so a record never spans two files.
+ * <p>
+ * All methods are thread safe.
+ */
+public class FileAppender {
+
+  static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final File file;
+
+  private final ByteBuffer buffer;
+
+  private final CharsetEncoder encoder;
+
+  /**
+   * The roller of the file, null if the file is never rotated.
+   */
+  private final FileRoller roller;
+
+  private FileChannel channel;
+
+  /**
+   * Constructor, with a buffer of {@value #DEFAULT_BUFFER_SIZE} bytes.
+   *
+   * @param file the file to append to, it and its parent folders are created when needed
+   */
+  public FileAppender(File file) {
+    this(file, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param file       the file to append to, it and its parent folders are created when needed
+   * @param bufferSize the size of the buffer in bytes
+   */
+  public FileAppender(File file, int bufferSize) {
+    this(file, bufferSize, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param file          the file to append to, it and its parent folders are created when needed
+   * @param bufferSize    the size of the buffer in bytes
+   * @param rollingPolicy the policy to rotate the file, null if the file is never rotated
+   */
+  public FileAppender(File file, int bufferSize, RollingPolicy rollingPolicy) {
+    if (file == null) {
+      throw new NullPointerException();
+    }
+    this.file = file;
+    this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    this.encoder = UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.roller = rollingPolicy != null ? new FileRoller(file, rollingPolicy) : null;
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Append a text, encoded in UTF-8.
+   *
+   * @param text the text to append
+   */
+  public synchronized void append(CharSequence text) {
+    CharBuffer in = text instanceof CharBuffer ? (CharBuffer) text : CharBuffer.wrap(text);
+    encoder.reset();
+    for (; ; ) {
+      CoderResult result = encoder.encode(in, buffer, true);
+      if (result.isOverflow()) {
+        drain();
+        continue;
+      }
+      break;
+    }
+    while (encoder.flush(buffer).isOverflow()) {
+      drain();
+    }
+  }
+
+  /**
+   * Append raw bytes.
+   *
+   * @param bytes the bytes to append, from its position to its limit
+   */
+  public synchronized void append(ByteBuffer bytes) {
+    while (bytes.hasRemaining()) {
+      if (!buffer.hasRemaining()) {
+        drain();
+      }
+      int count = Math.min(bytes.remaining(), buffer.remaining());
+      int limit = bytes.limit();
+      bytes.limit(bytes.position() + count);
+      buffer.put(bytes);
+      bytes.limit(limit);
+    }
+  }
+
+  /**
+   * Rotate the file if the rolling policy asks for it, buffered bytes are written to the old file
+   * first.
+   *
+   * @return true if the file is rotated, what is appended from now on goes to a new file
+   */
+  public synchronized boolean rollIfNeeded() {
+    if (roller == null || !roller.shouldRoll(buffer.position())) {
+      return false;
+    }
+    flush();
+    closeChannel();
+    roller.roll();
+    return true;
+  }
+
+  /**
+   * Get the number of bytes not yet written to the file.
+   *
+   * @return the number of buffered bytes
+   */
+  public synchronized int bufferedBytes() {
+    return buffer.position();
+  }
+
+  /**
+   * Write all buffered bytes to the file.
+   */
+  public synchronized void flush() {
+    if (buffer.position() > 0) {
+      drain();
+    }
+  }
+
+  /**
+   * Flush and close the file, the file would be opened again if something is appended later.
+   */
+  public synchronized void close() {
+    flush();
+    closeChannel();
+  }
+
+  /**
+   * Write the buffer to the file, the buffer is always emptied even if the writing failed, so a
+   * broken file never blocks logging.
+   */
+  private void drain() {
+    buffer.flip();
+    try {
+      FileChannel channel = openChannel();
+      int bytes = buffer.remaining();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      if (roller != null) {
+        roller.written(bytes);
+      }
+    } catch (IOException e) {
+      Platform.get().warn("Unable to write to file " + file + ": " + e);
+      closeChannel();
+    } finally {
+      buffer.clear();
+    }
+  }
+
+  private FileChannel openChannel() throws IOException {
+    if (channel == null) {
+      File folder = file.getParentFile();
+      if (folder != null && !folder.exists()) {
+        folder.mkdirs();
+      }
+      channel = new FileOutputStream(file, true).getChannel();
+    }
+    return channel;
+  }
+
+  private void closeChannel() {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException ignored) {
+      }
+      channel = null;
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import java.io.File;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.flattener.Flattener;
+import com.deepaksharma.webaddicted.internal.DefaultsFactory;
+import com.deepaksharma.webaddicted.printer.Printer;
+
+/**
+ * Log {@link Printer} which appends logs to a file.
+ * <p>
+ * The file is kept open and logs are buffered in memory, the buffer is written to the file when
+ * it is full, when a log at or above the flush level is printed, or at latest after the flush
+ * interval, see {@link Builder}.
+ * <p>
+ * Use it like any other printer, e.g. {@code TALog.init(config, new AndroidPrinter(),
+ * new FilePrinter.Builder(logFile).build())}.
+ */
+public class FilePrinter implements Printer {
+
+  static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+  /**
+   * The timer shared by all file printers to flush idle buffers.
+   */
+  private static Timer sFlushTimer;
+
+  private final FileAppender appender;
+
+  private final Flattener flattener;
+
+  private final int flushLevel;
+
+  private final TimerTask flushTask;
+
+  private FilePrinter(Builder builder) {
+    appender = new FileAppender(builder.file, builder.bufferSize, builder.rollingPolicy);
+    flattener = builder.flattener;
+    flushLevel = builder.flushLevel;
+    if (builder.flushInterval > 0) {
+      flushTask = new TimerTask() {
+        @Override
+        public void run() {
+          appender.flush();
+        }
+      };
+      flushTimer().schedule(flushTask, builder.flushInterval, builder.flushInterval);
+    } else {
+      flushTask = null;
+    }
+  }
+
+  static synchronized Timer flushTimer() {
+    if (sFlushTimer == null) {
+      sFlushTimer = new Timer("TALog-FileFlusher", true);
+    }
+    return sFlushTimer;
+  }
+
+  @Override
+  public void println(int logLevel, String tag, String msg) {
+    CharSequence flattenedLog = flattener.flatten(logLevel, tag, msg);
+    synchronized (appender) {
+      appender.rollIfNeeded();
+      appender.append(flattenedLog);
+      appender.append("\n");
+      if (logLevel >= flushLevel) {
+        appender.flush();
+      }
+    }
+  }
+
+  /**
+   * Write all buffered logs to the file.
+   */
+  public void flush() {
+    appender.flush();
+  }
+
+  /**
+   * Write all buffered logs and close the file, logs printed after closing would open the file
+   * again, but would no longer be flushed periodically.
+   */
+  public void close() {
+    if (flushTask != null) {
+      flushTask.cancel();
+    }
+    appender.close();
+  }
+
+  /**
+   * Builder for {@link FilePrinter}.
+   */
+  public static class Builder {
+
+    private final File file;
+
+    private int bufferSize = FileAppender.DEFAULT_BUFFER_SIZE;
+
+    private long flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+    private int flushLevel = LogLevel.ERROR;
+
+    private Flattener flattener;
+
+    private RollingPolicy rollingPolicy;
+
+    /**
+     * Construct a builder.
+     *
+     * @param file the file to append logs to
+     */
+    public Builder(File file) {
+      if (file == null) {
+        throw new NullPointerException();
+      }
+      this.file = file;
+    }
+
+    /**
+     * Set the size of the in-memory buffer, the buffer is written to the file whenever it is
+     * full, default to {@value FileAppender#DEFAULT_BUFFER_SIZE} bytes.
+     *
+     * @param bufferSize the buffer size in bytes
+     * @return the builder
+     */
+    public Builder bufferSize(int bufferSize) {
+      this.bufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Set the max time logs can stay in the buffer, default to
+     * {@value FilePrinter#DEFAULT_FLUSH_INTERVAL} milliseconds.
+     *
+     * @param flushInterval the interval in milliseconds, 0 to flush only when the buffer is full
+     *                      or by level
+     * @return the builder
+     */
+    public Builder flushInterval(long flushInterval) {
+      this.flushInterval = flushInterval;
+      return this;
+    }
+
+    /**
+     * Set the level from which a log is written to the file immediately, default to
+     * {@link LogLevel#ERROR}.
+     *
+     * @param flushLevel the log level, {@link LogLevel#ALL} to write every log immediately
+     * @return the builder
+     */
+    public Builder flushLevel(int flushLevel) {
+      this.flushLevel = flushLevel;
+      return this;
+    }
+
+    /**
+     * Set the flattener used to flatten a log to a single line.
+     *
+     * @param flattener the flattener
+     * @return the builder
+     */
+    public Builder flattener(Flattener flattener) {
+      this.flattener = flattener;
+      return this;
+    }
+
+    /**
+     * Set the policy to rotate the log file, the log file is never rotated by default.
+     *
+     * @param rollingPolicy the rolling policy
+     * @return the builder
+     */
+    public Builder rollingPolicy(RollingPolicy rollingPolicy) {
+      this.rollingPolicy = rollingPolicy;
+      return this;
+    }
+
+    /**
+     * Builds configured {@link FilePrinter} object.
+     *
+     * @return the built configured {@link FilePrinter} object
+     */
+    public FilePrinter build() {
+      if (flattener == null) {
+        flattener = DefaultsFactory.createFlattener();
+      }
+      return new FilePrinter(this);
+    }
+  }
+}
@@ -0,0 +1,237 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import com.deepaksharma.webaddicted.internal.Platform;
+
+/**
+ * Rotate a log file according to a {@link RollingPolicy}, used by {@link FileAppender} with its
+ * lock held.
+ */
+class FileRoller {
+
+  private static final String GZIP_SUFFIX = ".gz";
+
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  /**
+   * The single low priority thread shared by all rollers to compress and delete segments.
+   */
+  private static ExecutorService sExecutor;
+
+  private final File file;
+
+  private final RollingPolicy policy;
+
+  /**
+   * The format of the rotation time in segment names, in UTC so the names sort by rotation time
+   * across time zone and daylight saving changes.
+   */
+  private final SimpleDateFormat segmentTimeFormat =
+      new SimpleDateFormat("yyyyMMdd-HHmmss-SSS", Locale.US);
+
+  private final Pattern segmentPattern;
+
+  private boolean initialized;
+
+  private long fileSize;
+
+  private long nextRollTime;
+
+  FileRoller(File file, RollingPolicy policy) {
+    this.file = file;
+    this.policy = policy;
+    segmentTimeFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    segmentPattern = Pattern.compile(
+        Pattern.quote(file.getName() + ".") + "\\d{8}-\\d{6}-\\d{3}(" + Pattern.quote(GZIP_SUFFIX)
+            + ")?");
+  }
+
+  /**
+   * Whether the log file should be rotated before the next record is written.
+   *
+   * @param pendingBytes the number of bytes appended but not yet written to the log file
+   */
+  boolean shouldRoll(int pendingBytes) {
+    if (!initialized) {
+      initialized = true;
+      fileSize = file.length();
+      if (fileSize > 0) {
+        if (policy.rollOnStartup) {
+          return true;
+        }
+        // The file left by a previous process belongs to the interval it was written in.
+        nextRollTime = nextBoundary(file.lastModified());
+      } else {
+        nextRollTime = nextBoundary(System.currentTimeMillis());
+      }
+    }
+    long size = fileSize + pendingBytes;
+    if (size == 0) {
+      // Never rotate an empty file, it belongs to the interval of its first record.
+      nextRollTime = nextBoundary(System.currentTimeMillis());
+      return false;
+    }
+    if (policy.maxBytes > 0 && size >= policy.maxBytes) {
+      return true;
+    }
+    return policy.interval > 0 && System.currentTimeMillis() >= nextRollTime;
+  }
+
+  private long nextBoundary(long time) {
+    if (policy.interval <= 0) {
+      return Long.MAX_VALUE;
+    }
+    return (time / policy.interval + 1) * policy.interval;
+  }
+
+  /**
+   * Bytes have been written to the log file.
+   */
+  void written(int bytes) {
+    fileSize += bytes;
+  }
+
+  /**
+   * Rename the log file to a new segment, the log file should be closed already.
+   * <p>
+   * If the log file can not be renamed, its size is kept, so it is still known to be over
+   * {@link RollingPolicy#maxBytes}.
+   */
+  void roll() {
+    long now = System.currentTimeMillis();
+    nextRollTime = nextBoundary(now);
+
+    File segment;
+    do {
+      segment = new File(file.getParentFile(),
+          file.getName() + "." + segmentTimeFormat.format(new Date(now++)));
+    } while (segment.exists() || new File(segment.getPath() + GZIP_SUFFIX).exists());
+    if (!file.renameTo(segment)) {
+      Platform.get().warn("Unable to rotate log file " + file);
+      return;
+    }
+    fileSize = 0;
+
+    final File rolledSegment = segment;
+    executor().execute(new Runnable() {
+      @Override
+      public void run() {
+        if (policy.compress) {
+          compress(rolledSegment);
+        }
+        deleteOverQuota();
+      }
+    });
+  }
+
+  private static synchronized ExecutorService executor() {
+    if (sExecutor == null) {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, "TALog-FileRoller");
+          thread.setDaemon(true);
+          thread.setPriority(Thread.MIN_PRIORITY);
+          return thread;
+        }
+      });
+      executor.allowCoreThreadTimeOut(true);
+      sExecutor = executor;
+    }
+    return sExecutor;
+  }
+
+  private static void compress(File segment) {
+    File temp = new File(segment.getPath() + GZIP_SUFFIX + TEMP_SUFFIX);
+    InputStream in = null;
+    OutputStream out = null;
+    try {
+      in = new FileInputStream(segment);
+      out = new GZIPOutputStream(new FileOutputStream(temp));
+      byte[] buffer = new byte[8192];
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        out.write(buffer, 0, count);
+      }
+      out.close();
+      out = null;
+      if (temp.renameTo(new File(segment.getPath() + GZIP_SUFFIX))) {
+        segment.delete();
+      }
+    } catch (IOException e) {
+      Platform.get().warn("Unable to compress log segment " + segment + ": " + e);
+    } finally {
+      closeQuietly(in);
+      closeQuietly(out);
+      temp.delete();
+    }
+  }
+
+  private static void closeQuietly(Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  /**
+   * Delete the oldest segments until the segments fit in the quota.
+   */
+  private void deleteOverQuota() {
+    if (policy.maxSegments <= 0 && policy.maxTotalBytes <= 0) {
+      return;
+    }
+    File folder = file.getParentFile();
+    String[] names = folder != null ? folder.list() : null;
+    if (names == null) {
+      return;
+    }
+    List<String> segments = new ArrayList<>();
+    long totalBytes = 0;
+    for (String name : names) {
+      if (segmentPattern.matcher(name).matches()) {
+        segments.add(name);
+        totalBytes += new File(folder, name).length();
+      }
+    }
+    // Segment names sort by rotation time.
+    Collections.sort(segments);
+    int count = segments.size();
+    for (String name : segments) {
+      if ((policy.maxSegments <= 0 || count <= policy.maxSegments)
+          && (policy.maxTotalBytes <= 0 || totalBytes <= policy.maxTotalBytes)) {
+        break;
+      }
+      File segment = new File(folder, name);
+      long length = segment.length();
+      if (segment.delete()) {
+        count--;
+        totalBytes -= length;
+      }
+    }
+  }
+}
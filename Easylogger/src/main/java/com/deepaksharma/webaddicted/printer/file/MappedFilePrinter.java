@@ -0,0 +1,300 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.flattener.Flattener;
+import com.deepaksharma.webaddicted.internal.DefaultsFactory;
+import com.deepaksharma.webaddicted.internal.Platform;
+import com.deepaksharma.webaddicted.printer.Printer;
+
+/**
+ * Log {@link Printer} which keeps recent logs in a memory-mapped cache file before moving them to
+ * the log file.
+ * <p>
+ * Writing to the mapped region is a plain memory copy, no system call is made per log, and the
+ * data is owned by the operating system rather than the process, so logs survive even if the
+ * process is killed. When the cache is full, or a log of the flush level is printed, or
+ * {@link #flush()} is called, its content is appended to the log file in one go.
+ * <p>
+ * Logs left in the cache by a previous process, e.g. one that crashed, are recovered and
+ * appended to the log file when the printer is built, which is normally in {@code TALog.init}.
+ * If the process is killed after the cache is appended to the log file but before the cache is
+ * emptied, the whole cache is appended again on recovery, so those logs appear twice in the log
+ * file, logs are never lost though.
+ */
+public class MappedFilePrinter implements Printer {
+
+  static final int DEFAULT_CACHE_SIZE = 128 * 1024;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /**
+   * Marks a cache file written by this printer, "TLMC".
+   */
+  private static final int MAGIC = 0x544c4d43;
+
+  /**
+   * Header of the cache file: the magic and the length of committed data.
+   */
+  private static final int HEADER_SIZE = 8;
+
+  private static final int LENGTH_OFFSET = 4;
+
+  private final FileAppender appender;
+
+  private final Flattener flattener;
+
+  private final int flushLevel;
+
+  private final CharsetEncoder encoder = UTF_8.newEncoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+  /**
+   * The mapped cache, null if the cache file could not be mapped, then logs go to the log file
+   * directly.
+   */
+  private MappedByteBuffer cache;
+
+  private MappedFilePrinter(Builder builder) {
+    appender = new FileAppender(builder.file, FileAppender.DEFAULT_BUFFER_SIZE,
+        builder.rollingPolicy);
+    flattener = builder.flattener;
+    flushLevel = builder.flushLevel;
+    try {
+      cache = map(builder.cacheFile, builder.cacheSize);
+      recover();
+    } catch (IOException e) {
+      Platform.get().warn("Unable to map log cache " + builder.cacheFile + ": " + e);
+      cache = null;
+    }
+  }
+
+  private static MappedByteBuffer map(File cacheFile, int cacheSize) throws IOException {
+    File folder = cacheFile.getParentFile();
+    if (folder != null && !folder.exists()) {
+      folder.mkdirs();
+    }
+    RandomAccessFile raf = new RandomAccessFile(cacheFile, "rw");
+    try {
+      long size = HEADER_SIZE + cacheSize;
+      if (raf.length() < size) {
+        raf.setLength(size);
+      }
+      return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+    } finally {
+      // The mapping stays valid after the file is closed.
+      raf.close();
+    }
+  }
+
+  /**
+   * Move logs left by a previous process to the log file.
+   */
+  private void recover() {
+    int length = cache.getInt(LENGTH_OFFSET);
+    if (cache.getInt(0) == MAGIC && length > 0 && length <= cache.capacity() - HEADER_SIZE) {
+      cache.position(HEADER_SIZE + length);
+      moveToFile();
+    } else {
+      cache.putInt(0, MAGIC);
+      commit(HEADER_SIZE);
+    }
+    cache.position(HEADER_SIZE);
+  }
+
+  @Override
+  public synchronized void println(int logLevel, String tag, String msg) {
+    CharSequence flattenedLog = flattener.flatten(logLevel, tag, msg);
+    if (cache == null) {
+      appender.rollIfNeeded();
+      appender.append(flattenedLog);
+      appender.append("\n");
+      appender.flush();
+      return;
+    }
+    CharBuffer in = CharBuffer.wrap(new StringBuilder(flattenedLog.length() + 1)
+        .append(flattenedLog).append('\n'));
+    if (!encode(in)) {
+      // Make room and try again from the start of the log.
+      moveToFile();
+      in.rewind();
+      if (!encode(in)) {
+        // Larger than the whole cache, bypass it.
+        cache.position(HEADER_SIZE);
+        in.rewind();
+        appender.rollIfNeeded();
+        appender.append(in);
+        appender.flush();
+        return;
+      }
+    }
+    commit(cache.position());
+    if (logLevel >= flushLevel) {
+      moveToFile();
+    }
+  }
+
+  /**
+   * Encode chars into the cache after the committed data, without committing them.
+   *
+   * @return true if all chars fit in the cache
+   */
+  private boolean encode(CharBuffer in) {
+    encoder.reset();
+    CoderResult result = encoder.encode(in, cache, true);
+    if (result.isOverflow()) {
+      return false;
+    }
+    return !encoder.flush(cache).isOverflow();
+  }
+
+  /**
+   * Mark the data before the given position as committed, only committed data is recovered.
+   */
+  private void commit(int position) {
+    cache.putInt(LENGTH_OFFSET, position - HEADER_SIZE);
+  }
+
+  /**
+   * Append the committed data to the log file and empty the cache.
+   */
+  private void moveToFile() {
+    int length = cache.getInt(LENGTH_OFFSET);
+    if (length > 0) {
+      ByteBuffer data = cache.duplicate();
+      data.position(HEADER_SIZE);
+      data.limit(HEADER_SIZE + length);
+      // The cache holds whole lines only.
+      appender.rollIfNeeded();
+      appender.append(data);
+      appender.flush();
+    }
+    commit(HEADER_SIZE);
+    cache.position(HEADER_SIZE);
+  }
+
+  /**
+   * Move all cached logs to the log file.
+   */
+  public synchronized void flush() {
+    if (cache != null) {
+      moveToFile();
+    }
+  }
+
+  /**
+   * Builder for {@link MappedFilePrinter}.
+   */
+  public static class Builder {
+
+    private final File file;
+
+    private File cacheFile;
+
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+
+    private int flushLevel = LogLevel.ERROR;
+
+    private Flattener flattener;
+
+    private RollingPolicy rollingPolicy;
+
+    /**
+     * Construct a builder.
+     *
+     * @param file the log file which logs are finally appended to
+     */
+    public Builder(File file) {
+      if (file == null) {
+        throw new NullPointerException();
+      }
+      this.file = file;
+    }
+
+    /**
+     * Set the cache file, default to a file named after the log file with a ".mmap" suffix, in
+     * the same folder.
+     *
+     * @param cacheFile the cache file, should not be shared with another printer
+     * @return the builder
+     */
+    public Builder cacheFile(File cacheFile) {
+      this.cacheFile = cacheFile;
+      return this;
+    }
+
+    /**
+     * Set how many bytes of logs the cache holds before they are moved to the log file, default
+     * to {@value MappedFilePrinter#DEFAULT_CACHE_SIZE}.
+     *
+     * @param cacheSize the cache size in bytes
+     * @return the builder
+     */
+    public Builder cacheSize(int cacheSize) {
+      this.cacheSize = cacheSize;
+      return this;
+    }
+
+    /**
+     * Set the level from which a log is moved to the log file immediately, along with the logs
+     * cached before it, default to {@link LogLevel#ERROR}.
+     *
+     * @param flushLevel the log level, {@link LogLevel#ALL} to write every log immediately
+     * @return the builder
+     */
+    public Builder flushLevel(int flushLevel) {
+      this.flushLevel = flushLevel;
+      return this;
+    }
+
+    /**
+     * Set the flattener used to flatten a log to a single line.
+     *
+     * @param flattener the flattener
+     * @return the builder
+     */
+    public Builder flattener(Flattener flattener) {
+      this.flattener = flattener;
+      return this;
+    }
+
+    /**
+     * Set the policy to rotate the log file, the log file is never rotated by default.
+     *
+     * @param rollingPolicy the rolling policy
+     * @return the builder
+     */
+    public Builder rollingPolicy(RollingPolicy rollingPolicy) {
+      this.rollingPolicy = rollingPolicy;
+      return this;
+    }
+
+    /**
+     * Builds configured {@link MappedFilePrinter} object, logs left by a previous process are
+     * recovered at once.
+     *
+     * @return the built configured {@link MappedFilePrinter} object
+     */
+    public MappedFilePrinter build() {
+      if (cacheFile == null) {
+        cacheFile = new File(file.getParentFile(), file.getName() + ".mmap");
+      }
+      if (flattener == null) {
+        flattener = DefaultsFactory.createFlattener();
+      }
+      return new MappedFilePrinter(this);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+/**
+ * Decide when the log file is rotated and how many rotated segments are kept.
+ * <p>
+ * When rotated, the log file is renamed to a segment named after the log file and the rotation
+ * time, like "talog.txt.20180601-120000-000", and a new log file is started. Segments are
+ * compressed with gzip and old segments beyond the quota are deleted on a low priority background
+ * thread, so the writer never waits for them.
+ * <p>
+ * Use the {@link Builder} to construct a {@link RollingPolicy} object.
+ */
+public class RollingPolicy {
+
+  /**
+   * The max size of the log file in bytes, 0 if no limitation.
+   */
+  final long maxBytes;
+
+  /**
+   * The interval of rotation in milliseconds, 0 if not rotated by time.
+   */
+  final long interval;
+
+  /**
+   * Whether a non-empty log file is rotated when it is opened for the first time.
+   */
+  final boolean rollOnStartup;
+
+  /**
+   * The max number of segments to keep, 0 if no limitation.
+   */
+  final int maxSegments;
+
+  /**
+   * The max total size of segments to keep in bytes, 0 if no limitation.
+   */
+  final long maxTotalBytes;
+
+  /**
+   * Whether segments are compressed with gzip.
+   */
+  final boolean compress;
+
+  private RollingPolicy(Builder builder) {
+    maxBytes = builder.maxBytes;
+    interval = builder.interval;
+    rollOnStartup = builder.rollOnStartup;
+    maxSegments = builder.maxSegments;
+    maxTotalBytes = builder.maxTotalBytes;
+    compress = builder.compress;
+  }
+
+  /**
+   * Builder for {@link RollingPolicy}.
+   */
+  public static class Builder {
+
+    private long maxBytes;
+
+    private long interval;
+
+    private boolean rollOnStartup;
+
+    private int maxSegments;
+
+    private long maxTotalBytes;
+
+    private boolean compress = true;
+
+    /**
+     * Rotate the log file once it reaches a size, a record is never split between two files, so
+     * the file may exceed the size by one record.
+     *
+     * @param maxBytes the max size in bytes, 0 if no limitation
+     * @return the builder
+     */
+    public Builder maxBytes(long maxBytes) {
+      this.maxBytes = maxBytes;
+      return this;
+    }
+
+    /**
+     * Rotate the log file each time the wall clock passes a multiple of the interval, counted
+     * from the epoch in UTC, e.g. 3600000 rotates at the start of every hour.
+     *
+     * @param interval the interval in milliseconds, 0 if not rotated by time
+     * @return the builder
+     */
+    public Builder interval(long interval) {
+      this.interval = interval;
+      return this;
+    }
+
+    /**
+     * Rotate the log file left by a previous process, so each process starts a new file.
+     *
+     * @return the builder
+     */
+    public Builder rollOnStartup() {
+      this.rollOnStartup = true;
+      return this;
+    }
+
+    /**
+     * Set how many segments are kept, the oldest are deleted first.
+     *
+     * @param maxSegments the max number of segments, 0 if no limitation
+     * @return the builder
+     */
+    public Builder maxSegments(int maxSegments) {
+      this.maxSegments = maxSegments;
+      return this;
+    }
+
+    /**
+     * Set how many bytes all segments may take, the oldest are deleted first.
+     *
+     * @param maxTotalBytes the max total size of segments in bytes, 0 if no limitation
+     * @return the builder
+     */
+    public Builder maxTotalBytes(long maxTotalBytes) {
+      this.maxTotalBytes = maxTotalBytes;
+      return this;
+    }
+
+    /**
+     * Set whether segments are compressed with gzip, default to true.
+     *
+     * @param compress true to compress segments
+     * @return the builder
+     */
+    public Builder compress(boolean compress) {
+      this.compress = compress;
+      return this;
+    }
+
+    /**
+     * Builds configured {@link RollingPolicy} object.
+     *
+     * @return the built configured {@link RollingPolicy} object
+     */
+    public RollingPolicy build() {
+      return new RollingPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.deepaksharma.webaddicted;
+
+import com.deepaksharma.webaddicted.interceptor.Interceptor;
+import com.deepaksharma.webaddicted.printer.Printer;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Call sites entered as the code generated by the plugin does, with logs nesting.
+ */
+public class CallSiteTest {
+
+    private final CallSite outer = new CallSite("app.Outer", "outer", "Outer.java", 10, "Outer");
+
+    private final CallSite inner = new CallSite("app.Inner", "inner", "Inner.java", 20, "Inner");
+
+    private final List<String> stackTraces = new ArrayList<>();
+
+    private final List<CallSite> currents = new ArrayList<>();
+
+    private final Logger logger = new Logger(new LogConfiguration.Builder()
+            .st(1)
+            .addInterceptor(new Interceptor() {
+                @Override
+                public LogItem intercept(LogItem log) {
+                    stackTraces.add(log.stackTraceInfo);
+                    currents.add(CallSite.current());
+                    return log;
+                }
+            })
+            .build(), new Printer() {
+        @Override
+        public void println(int logLevel, String tag, String msg) {
+        }
+    });
+
+    @After
+    public void tearDown() {
+        CallSite.exit(null);
+    }
+
+    @Test
+    public void exitRestoresPrevious() {
+        assertNull(CallSite.enter(outer));
+        assertSame(outer, CallSite.enter(inner));
+        assertSame(inner, CallSite.current());
+        CallSite.exit(outer);
+        assertSame(outer, CallSite.current());
+        CallSite.exit(null);
+        assertNull(CallSite.current());
+    }
+
+    @Test
+    public void nestedLogAtItsOwnCallSite() {
+        Object loggingObject = new Object() {
+            @Override
+            public String toString() {
+                CallSite previous = CallSite.enter(inner);
+                try {
+                    logger.d("inner");
+                } finally {
+                    CallSite.exit(previous);
+                }
+                return "object";
+            }
+        };
+        CallSite previous = CallSite.enter(outer);
+        logger.d(loggingObject);
+        assertSame(outer, CallSite.current());
+        CallSite.exit(previous);
+
+        assertEquals(2, stackTraces.size());
+        assertTrue(stackTraces.get(0), stackTraces.get(0).contains(inner.toString()));
+        assertTrue(stackTraces.get(1), stackTraces.get(1).contains(outer.toString()));
+        assertSame(inner, currents.get(0));
+        assertSame(outer, currents.get(1));
+        assertNull(CallSite.current());
+    }
+
+    @Test
+    public void nestedLogWithoutCallSite() {
+        Object loggingObject = new Object() {
+            @Override
+            public String toString() {
+                // As a class not processed by the plugin.
+                logger.d("inner");
+                return "object";
+            }
+        };
+        CallSite previous = CallSite.enter(outer);
+        logger.d("%s", loggingObject);
+        CallSite.exit(previous);
+
+        assertEquals(2, stackTraces.size());
+        assertFalse(stackTraces.get(0), stackTraces.get(0).contains(outer.toString()));
+        assertNull(currents.get(0));
+        assertTrue(stackTraces.get(1), stackTraces.get(1).contains(outer.toString()));
+        assertSame(outer, currents.get(1));
+    }
+
+    @Test
+    public void callSiteOnlyForDepthOne() {
+        Logger deepLogger = new Logger(new LogConfiguration.Builder()
+                .st(2)
+                .addInterceptor(new Interceptor() {
+                    @Override
+                    public LogItem intercept(LogItem log) {
+                        stackTraces.add(log.stackTraceInfo);
+                        return log;
+                    }
+                })
+                .build(), new Printer() {
+            @Override
+            public void println(int logLevel, String tag, String msg) {
+            }
+        });
+        CallSite previous = CallSite.enter(outer);
+        deepLogger.d("deep");
+        CallSite.exit(previous);
+        assertFalse(stackTraces.get(0), stackTraces.get(0).contains(outer.toString()));
+    }
+}
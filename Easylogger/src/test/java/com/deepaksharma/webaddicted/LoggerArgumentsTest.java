@@ -0,0 +1,212 @@
+package com.deepaksharma.webaddicted;
+
+import com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate;
+import com.deepaksharma.webaddicted.interceptor.BlacklistTagsFilterInterceptor;
+import com.deepaksharma.webaddicted.printer.Printer;
+import com.deepaksharma.webaddicted.printer.TemplatePrinter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Logging with primitive arguments prints the same as {@link String#format(String, Object...)}
+ * with the arguments boxed as their own types.
+ */
+public class LoggerArgumentsTest {
+
+    private final CapturingPrinter printer = new CapturingPrinter();
+
+    private final Logger logger = new Logger(new LogConfiguration.Builder().build(), printer);
+
+    @Test
+    public void twoChars() {
+        logger.d("%c%c", 'a', 'b');
+        assertEquals("ab", printer.last);
+        logger.d("%s %s", 'a', 'b');
+        assertEquals("a b", printer.last);
+    }
+
+    @Test
+    public void twoInts() {
+        logger.d("%x %x", -1, -1);
+        assertEquals(String.format("%x %x", -1, -1), printer.last);
+        logger.d("%d + %d", 1, 2);
+        assertEquals("1 + 2", printer.last);
+    }
+
+    @Test
+    public void mixedIntegrals() {
+        logger.d("%x %x", -1, -1L);
+        assertEquals(String.format("%x %x", -1, -1L), printer.last);
+    }
+
+    @Test
+    public void narrowIntegrals() {
+        logger.d("%x", (short) -1);
+        assertEquals("ffff", printer.last);
+        logger.d("%x", (byte) -1);
+        assertEquals("ff", printer.last);
+        logger.d("%d", (short) 12);
+        assertEquals("12", printer.last);
+    }
+
+    @Test
+    public void singleIntegrals() {
+        logger.d("%x", -1);
+        assertEquals("ffffffff", printer.last);
+        logger.d("%x", -1L);
+        assertEquals("ffffffffffffffff", printer.last);
+        logger.d("%d items", 42);
+        assertEquals("42 items", printer.last);
+        logger.d("%05d", 42L);
+        assertEquals("00042", printer.last);
+    }
+
+    @Test
+    public void singleChar() {
+        logger.d("%c", 'a');
+        assertEquals("a", printer.last);
+        logger.d("%s", 'a');
+        assertEquals("a", printer.last);
+    }
+
+    @Test
+    public void braces() {
+        Logger bracesLogger = new Logger(new LogConfiguration.Builder()
+                .formatStyle(MessageTemplate.STYLE_BRACES).build(), printer);
+        bracesLogger.d("{} and {}", 'a', 'b');
+        assertEquals("a and b", printer.last);
+        bracesLogger.d("{} of {}", 1, 2);
+        assertEquals("1 of 2", printer.last);
+        bracesLogger.d("{} and {}", 7);
+        assertEquals("7 and {}", printer.last);
+    }
+
+    @Test
+    public void belowLevel() {
+        Logger infoLogger = new Logger(new LogConfiguration.Builder()
+                .logLevel(LogLevel.INFO).build(), printer);
+        infoLogger.d("%d", 1);
+        infoLogger.d("%d %d", 1, 2);
+        infoLogger.d("%x", (short) 1);
+        assertNull(printer.last);
+    }
+
+    @Test
+    public void suppliersNotCalledBelowLevel() {
+        Logger infoLogger = new Logger(new LogConfiguration.Builder()
+                .logLevel(LogLevel.INFO).build(), printer);
+        CountingSupplier supplier = new CountingSupplier("a");
+        infoLogger.d(supplier);
+        infoLogger.d("%s", supplier);
+        infoLogger.v("%s %s", supplier, supplier);
+        assertEquals(0, supplier.calls);
+        assertNull(printer.last);
+    }
+
+    @Test
+    public void suppliersNotCalledWhenPreFilterRejects() {
+        Logger filteredLogger = new Logger(new LogConfiguration.Builder()
+                .tag("NOISY")
+                .addInterceptor(new BlacklistTagsFilterInterceptor("NOISY"))
+                .build(), printer);
+        CountingSupplier supplier = new CountingSupplier("a");
+        filteredLogger.e(supplier);
+        filteredLogger.e("%s", supplier);
+        assertEquals(0, supplier.calls);
+        assertNull(printer.last);
+    }
+
+    @Test
+    public void suppliersCalledOnceWhenPrinted() {
+        CountingSupplier message = new CountingSupplier("message");
+        logger.d(message);
+        assertEquals(1, message.calls);
+        assertEquals("message", printer.last);
+
+        CountingSupplier first = new CountingSupplier("a");
+        CountingSupplier second = new CountingSupplier(2);
+        logger.d("%s %d", first, second);
+        assertEquals(1, first.calls);
+        assertEquals(1, second.calls);
+        assertEquals("a 2", printer.last);
+    }
+
+    @Test
+    public void suppliersCalledOnceForTemplatePrinter() {
+        CapturingTemplatePrinter templatePrinter = new CapturingTemplatePrinter();
+        Logger templateLogger = new Logger(new LogConfiguration.Builder()
+                .tag("TAG")
+                .addInterceptor(new BlacklistTagsFilterInterceptor("NOISY"))
+                .build(), templatePrinter);
+        CountingSupplier first = new CountingSupplier("a");
+        CountingSupplier second = new CountingSupplier(2);
+        templateLogger.d("%s %d", first, second);
+        assertEquals(1, first.calls);
+        assertEquals(1, second.calls);
+        // The printer gets what the suppliers supplied, not the suppliers.
+        assertArrayEquals(new Object[]{"a", 2}, templatePrinter.args);
+        assertEquals("a 2", templatePrinter.template.format(templatePrinter.args));
+        assertEquals(1, first.calls);
+    }
+
+    /**
+     * Supplies a value, counting the calls.
+     */
+    private static class CountingSupplier implements MessageSupplier {
+
+        private final Object value;
+
+        int calls;
+
+        CountingSupplier(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object get() {
+            calls++;
+            return value;
+        }
+    }
+
+    /**
+     * Keeps the last template log printed.
+     */
+    private static class CapturingTemplatePrinter implements TemplatePrinter {
+
+        MessageTemplate template;
+
+        Object[] args;
+
+        @Override
+        public void println(int logLevel, String tag, String msg) {
+            fail("Expected a template log, got " + msg);
+        }
+
+        @Override
+        public void println(int logLevel, String tag, MessageTemplate template, Object[] args) {
+            this.template = template;
+            this.args = args;
+        }
+
+        @Override
+        public boolean acceptsTemplates() {
+            return true;
+        }
+    }
+
+    /**
+     * Keeps the last message printed, or null if the last log failed to be formatted.
+     */
+    private static class CapturingPrinter implements Printer {
+
+        String last;
+
+        @Override
+        public void println(int logLevel, String tag, String msg) {
+            last = msg;
+        }
+    }
+}
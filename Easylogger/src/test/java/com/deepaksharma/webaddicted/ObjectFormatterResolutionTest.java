@@ -0,0 +1,134 @@
+package com.deepaksharma.webaddicted;
+
+import com.deepaksharma.webaddicted.formatter.message.object.ObjectFormatter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class ObjectFormatterResolutionTest {
+
+    private interface Far {
+    }
+
+    private interface Near extends Far {
+    }
+
+    private interface Other {
+    }
+
+    private static class Base {
+    }
+
+    private static class Child extends Base implements Near {
+    }
+
+    private static class WithNear implements Near {
+    }
+
+    private static class WithOther implements Other {
+    }
+
+    private static class WithFarBeyond extends WithOther implements Near {
+    }
+
+    private static class Plain {
+    }
+
+    private final ObjectFormatter<Object> base = new NamedFormatter("base");
+
+    private final ObjectFormatter<Object> near = new NamedFormatter("near");
+
+    private final ObjectFormatter<Object> far = new NamedFormatter("far");
+
+    private final ObjectFormatter<Object> other = new NamedFormatter("other");
+
+    @Test
+    public void collectionInterfaces() {
+        ObjectFormatter<Object> list = new NamedFormatter("list");
+        ObjectFormatter<Object> map = new NamedFormatter("map");
+        LogConfiguration configuration = new LogConfiguration.Builder()
+                .addObjectFormatter(List.class, list)
+                .addObjectFormatter(Map.class, map)
+                .build();
+        assertSame(list, configuration.getObjectFormatter(new ArrayList<String>()));
+        assertSame(list, configuration.getObjectFormatter(new LinkedList<String>()));
+        assertSame(map, configuration.getObjectFormatter(new HashMap<String, String>()));
+        assertSame(map, configuration.getObjectFormatter(new TreeMap<String, String>()));
+    }
+
+    @Test
+    public void superclassBeforeInterfaces() {
+        LogConfiguration configuration = new LogConfiguration.Builder()
+                .addObjectFormatter(Base.class, base)
+                .addObjectFormatter(Near.class, near)
+                .build();
+        assertSame(base, configuration.getObjectFormatter(new Child()));
+        assertSame(near, configuration.getObjectFormatter(new WithNear()));
+        assertNull(configuration.getObjectFormatter(new Plain()));
+    }
+
+    @Test
+    public void nearestInterface() {
+        LogConfiguration configuration = new LogConfiguration.Builder()
+                .addObjectFormatter(Near.class, near)
+                .addObjectFormatter(Far.class, far)
+                .build();
+        assertSame(near, configuration.getObjectFormatter(new WithNear()));
+
+        // The interfaces of the superclasses come before the interfaces of interfaces.
+        configuration = new LogConfiguration.Builder()
+                .addObjectFormatter(Far.class, far)
+                .addObjectFormatter(Other.class, other)
+                .build();
+        assertSame(other, configuration.getObjectFormatter(new WithFarBeyond()));
+        assertSame(far, configuration.getObjectFormatter(new WithNear()));
+    }
+
+    @Test
+    public void resolvedOnce() {
+        LogConfiguration configuration = new LogConfiguration.Builder()
+                .addObjectFormatter(Near.class, near)
+                .build();
+        assertSame(near, configuration.getObjectFormatter(new WithNear()));
+        assertSame(near, configuration.getObjectFormatter(new WithNear()));
+        assertNull(configuration.getObjectFormatter(new Plain()));
+        assertNull(configuration.getObjectFormatter(new Plain()));
+    }
+
+    @Test
+    public void formatterAddedAfterBuildNotSeen() {
+        LogConfiguration.Builder builder = new LogConfiguration.Builder()
+                .addObjectFormatter(Near.class, near);
+        LogConfiguration configuration = builder.build();
+        builder.addObjectFormatter(Plain.class, base);
+        builder.addObjectFormatter(WithNear.class, base);
+        assertNull(configuration.getObjectFormatter(new Plain()));
+        assertSame(near, configuration.getObjectFormatter(new WithNear()));
+        assertSame(base, builder.build().getObjectFormatter(new Plain()));
+    }
+
+    /**
+     * Formats any object as its name, to tell formatters apart.
+     */
+    private static class NamedFormatter implements ObjectFormatter<Object> {
+
+        private final String name;
+
+        NamedFormatter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String format(Object data) {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.deepaksharma.webaddicted;
+
+import com.deepaksharma.webaddicted.interceptor.PreFilterInterceptor;
+import com.deepaksharma.webaddicted.printer.Printer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Every way of logging asks the pre-filters exactly once for each log, as they may count logs.
+ */
+public class PreFilterOncePerLogTest {
+
+    private final CountingPreFilter preFilter = new CountingPreFilter();
+
+    private final Logger logger = new Logger(new LogConfiguration.Builder()
+            .addInterceptor(preFilter)
+            .build(), new Printer() {
+        @Override
+        public void println(int logLevel, String tag, String msg) {
+        }
+    });
+
+    @Test
+    public void oncePerLog() {
+        MessageSupplier supplier = new MessageSupplier() {
+            @Override
+            public Object get() {
+                return "supplied";
+            }
+        };
+        logger.d(new Object());
+        logger.d(new Object[]{"a", "b"});
+        logger.d("%s %s %s", "a", "b", "c");
+        logger.d(supplier);
+        logger.d("%s", supplier);
+        logger.d("%s", "a");
+        logger.d("%s %s", "a", "b");
+        logger.d("%d", 1);
+        logger.d("%d", 1L);
+        logger.d("%c", 'c');
+        logger.d("%d", (short) 1);
+        logger.d("%d", (byte) 1);
+        logger.d("message");
+        logger.d("message", new RuntimeException());
+        logger.json("{\"a\": 1}");
+        logger.xml("<a/>");
+        assertEquals(16, preFilter.count);
+    }
+
+    @Test
+    public void notAskedBelowLevel() {
+        Logger infoLogger = new Logger(new LogConfiguration.Builder()
+                .logLevel(LogLevel.INFO)
+                .addInterceptor(preFilter)
+                .build(), new Printer() {
+            @Override
+            public void println(int logLevel, String tag, String msg) {
+            }
+        });
+        infoLogger.d("%d", 1);
+        infoLogger.d("message");
+        infoLogger.i("message");
+        assertEquals(1, preFilter.count);
+    }
+
+    private static class CountingPreFilter implements PreFilterInterceptor {
+
+        int count;
+
+        @Override
+        public boolean reject(int logLevel, String tag) {
+            count++;
+            return false;
+        }
+
+        @Override
+        public LogItem intercept(LogItem log) {
+            return log;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.deepaksharma.webaddicted;
+
+import com.deepaksharma.webaddicted.interceptor.SamplingInterceptor;
+import com.deepaksharma.webaddicted.printer.Printer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link TALog.Log#isLoggable(String, int)} checks the levels only, without taking a sample or
+ * token of the pre-filters.
+ */
+@SuppressWarnings("deprecation")
+public class TALogIsLoggableTest {
+
+    private static final List<String> sPrinted = new ArrayList<>();
+
+    static {
+        TALog.init(new LogConfiguration.Builder()
+                .tagLogLevel("Net*", LogLevel.WARN)
+                .addInterceptor(new SamplingInterceptor(0.5))
+                .build(), new Printer() {
+            @Override
+            public void println(int logLevel, String tag, String msg) {
+                sPrinted.add(msg);
+            }
+        });
+    }
+
+    @Test
+    public void guardedLogsAreSampled() {
+        sPrinted.clear();
+        for (int i = 0; i < 10; i++) {
+            if (TALog.Log.isLoggable("Sampled", LogLevel.DEBUG)) {
+                TALog.Log.d("Sampled", "log " + i);
+            }
+        }
+        assertEquals(5, sPrinted.size());
+        assertEquals("log 0 [sampled 1/2]", sPrinted.get(0));
+    }
+
+    @Test
+    public void tagLevels() {
+        assertFalse(TALog.Log.isLoggable("Network", LogLevel.INFO));
+        assertTrue(TALog.Log.isLoggable("Network", LogLevel.WARN));
+        assertTrue(TALog.Log.isLoggable("Other", LogLevel.DEBUG));
+        assertTrue(TALog.Log.isLoggable(null, LogLevel.DEBUG));
+    }
+}
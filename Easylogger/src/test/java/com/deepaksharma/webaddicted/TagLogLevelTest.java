@@ -0,0 +1,76 @@
+package com.deepaksharma.webaddicted;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TagLogLevelTest {
+
+    private final LogConfiguration configuration = new LogConfiguration.Builder()
+            .logLevel(LogLevel.INFO)
+            .tag("App")
+            .tagLogLevel("Net*", LogLevel.WARN)
+            .tagLogLevel("Net.Http*", LogLevel.DEBUG)
+            .tagLogLevel("Net.Http.Cache", LogLevel.ERROR)
+            .tagLogLevel("App", LogLevel.VERBOSE)
+            .build();
+
+    @Test
+    public void exactTagOverPrefixes() {
+        assertEquals(LogLevel.ERROR, configuration.getLogLevel("Net.Http.Cache"));
+        assertEquals(LogLevel.VERBOSE, configuration.getLogLevel("App"));
+    }
+
+    @Test
+    public void longestPrefix() {
+        assertEquals(LogLevel.WARN, configuration.getLogLevel("Net"));
+        assertEquals(LogLevel.WARN, configuration.getLogLevel("Net.Dns"));
+        assertEquals(LogLevel.DEBUG, configuration.getLogLevel("Net.Http"));
+        assertEquals(LogLevel.DEBUG, configuration.getLogLevel("Net.Http.Cache2"));
+        assertEquals(LogLevel.INFO, configuration.getLogLevel("Ne"));
+        assertEquals(LogLevel.INFO, configuration.getLogLevel("Db"));
+    }
+
+    @Test
+    public void defaultTag() {
+        assertEquals(LogLevel.VERBOSE, configuration.getLogLevel(null));
+    }
+
+    @Test
+    public void nullDefaultTag() {
+        LogConfiguration nullTag = new LogConfiguration.Builder()
+                .logLevel(LogLevel.INFO)
+                .tag(null)
+                .tagLogLevel("Net*", LogLevel.WARN)
+                .build();
+        assertEquals(LogLevel.INFO, nullTag.getLogLevel(null));
+        assertEquals(LogLevel.WARN, nullTag.getLogLevel("Net"));
+        assertTrue(nullTag.isLoggable(LogLevel.INFO, null));
+        assertFalse(nullTag.isLoggable(LogLevel.DEBUG, null));
+    }
+
+    @Test
+    public void manyTags() {
+        for (int i = 0; i < 3000; i++) {
+            assertEquals(LogLevel.WARN, configuration.getLogLevel("Net.Dns" + i));
+            assertEquals(LogLevel.INFO, configuration.getLogLevel("Db" + i));
+        }
+        assertEquals(LogLevel.DEBUG, configuration.getLogLevel("Net.Http.Late"));
+    }
+
+    @Test
+    public void allTags() {
+        LogConfiguration all = new LogConfiguration.Builder()
+                .tagLogLevel("*", LogLevel.ERROR)
+                .tagLogLevel("Net", LogLevel.DEBUG)
+                .build();
+        assertEquals(LogLevel.ERROR, all.getLogLevel("Db"));
+        assertEquals(LogLevel.ERROR, all.getLogLevel(""));
+        assertEquals(LogLevel.DEBUG, all.getLogLevel("Net"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wildcardInTheMiddle() {
+        new LogConfiguration.Builder().tagLogLevel("Net*Http", LogLevel.DEBUG);
+    }
+}
@@ -0,0 +1,112 @@
+package com.deepaksharma.webaddicted.formatter.border;
+
+import com.deepaksharma.webaddicted.internal.SystemCompat;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DefaultBorderFormatterTest {
+
+    private static final String N = SystemCompat.lineSeparator;
+
+    private final DefaultBorderFormatter formatter = new DefaultBorderFormatter();
+
+    @Test
+    public void multipleSegments() {
+        assertEquals(top() + "║a" + N + "║b" + N + divider() + "║c" + N + bottom(),
+                formatter.format(new String[]{"a" + N + "b", "c"}));
+    }
+
+    @Test
+    public void emptySegment() {
+        assertEquals(top() + "║" + N + bottom(), formatter.format(new String[]{""}));
+        assertEquals(top() + "║a" + N + divider() + "║" + N + divider() + "║b" + N + bottom(),
+                formatter.format(new String[]{"a", "", "b"}));
+    }
+
+    @Test
+    public void separatorOnlySegment() {
+        // No line left, only the borders around.
+        assertEquals(top() + N + bottom(), formatter.format(new String[]{N}));
+        assertEquals(top() + "║a" + N + divider() + N + bottom(),
+                formatter.format(new String[]{"a", N + N}));
+    }
+
+    @Test
+    public void trailingSeparators() {
+        assertEquals(top() + "║a" + N + "║b" + N + bottom(),
+                formatter.format(new String[]{"a" + N + "b" + N + N}));
+        // Leading and inner empty lines are kept.
+        assertEquals(top() + "║" + N + "║a" + N + "║" + N + "║b" + N + bottom(),
+                formatter.format(new String[]{N + "a" + N + N + "b" + N}));
+    }
+
+    @Test
+    public void nullSegments() {
+        assertEquals("", formatter.format(null));
+        assertEquals("", formatter.format(new String[0]));
+        assertEquals("", formatter.format(new String[]{null, null}));
+        assertEquals(top() + "║a" + N + divider() + "║b" + N + bottom(),
+                formatter.format(new String[]{null, "a", null, "b", null}));
+    }
+
+    @Test
+    public void sameAsSplit() {
+        String[][] cases = {
+                {"a"}, {""}, {N}, {N + N, "a"}, {"a" + N}, {N + "a"}, {"a" + N + N + "b"},
+                {"a", null, "b" + N + "c" + N}, {" ", N + " " + N}};
+        for (String[] segments : cases) {
+            assertEquals(formatBySplit(segments), formatter.format(segments));
+        }
+    }
+
+    @Test
+    public void reusedAcrossCalls() {
+        String first = formatter.format(new String[]{"first" + N + "lines", "more"});
+        assertEquals(top() + "║x" + N + bottom(), formatter.format(new String[]{"x"}));
+        assertEquals(first, formatter.format(new String[]{"first" + N + "lines", "more"}));
+    }
+
+    /**
+     * The former formatting, each segment split into lines, as a reference.
+     */
+    private static String formatBySplit(String[] segments) {
+        StringBuilder builder = new StringBuilder();
+        for (String segment : segments) {
+            if (segment == null) {
+                continue;
+            }
+            builder.append(builder.length() == 0 ? top() : divider());
+            String[] lines = segment.split(N);
+            for (int i = 0; i < lines.length; i++) {
+                if (i != 0) {
+                    builder.append(N);
+                }
+                builder.append('║').append(lines[i]);
+            }
+            builder.append(N);
+        }
+        return builder.length() == 0 ? "" : builder.append(bottom()).toString();
+    }
+
+    private static String top() {
+        return "╔" + repeat('═', 99) + N;
+    }
+
+    private static String divider() {
+        return "╟" + repeat('─', 99) + N;
+    }
+
+    private static String bottom() {
+        return "╚" + repeat('═', 99);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
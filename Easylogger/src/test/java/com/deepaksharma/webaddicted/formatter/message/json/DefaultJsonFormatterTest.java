@@ -0,0 +1,57 @@
+package com.deepaksharma.webaddicted.formatter.message.json;
+
+import com.deepaksharma.webaddicted.formatter.FormatException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DefaultJsonFormatterTest {
+
+    @Test
+    public void format() {
+        assertEquals("{\n    \"a\": [\n        1,\n        -0.5e+3\n    ],\n    \"b\": {},\n"
+                        + "    \"c\": true,\n    \"d\": null\n}",
+                new DefaultJsonFormatter().format(
+                        " {\"a\":[1, -0.5e+3],\"b\":{ },\"c\":true,\"d\":null} "));
+    }
+
+    @Test
+    public void truncateInValue() {
+        // 13 characters are formatted before the value, 3 of the value fit, 10 are left.
+        String json = "{\"key\":\"abcdefghij\"}";
+        assertEquals("{\n    \"key\": \"ab\n... (10 more characters of JSON truncated)",
+                new DefaultJsonFormatter(16).format(json));
+    }
+
+    @Test
+    public void truncateBetweenValues() {
+        String json = "[1,2]";
+        assertEquals("[\n    1,\n\n... (2 more characters of JSON truncated)",
+                new DefaultJsonFormatter(9).format(json));
+    }
+
+    @Test
+    public void validLiterals() {
+        String[] literals = {"0", "-0", "10", "1.5", "1e5", "1E-5", "-12.25e+10", "true", "false",
+                "null"};
+        for (String literal : literals) {
+            assertEquals("[\n    " + literal + "\n]",
+                    new DefaultJsonFormatter().format("[" + literal + "]"));
+        }
+    }
+
+    @Test
+    public void invalidLiterals() {
+        String[] literals = {"trueish", "nul", "falsey", "01", ".5", "1.", "1e", "-", "+1", "1-2",
+                "0x10", "NaN", "True"};
+        for (String literal : literals) {
+            try {
+                new DefaultJsonFormatter().format("[" + literal + "]");
+                fail(literal);
+            } catch (FormatException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("Unexpected value"));
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.deepaksharma.webaddicted.formatter.message.template;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+
+import static com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate.STYLE_BRACES;
+import static com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate.STYLE_PRINTF;
+import static org.junit.Assert.*;
+
+public class MessageTemplateTest {
+
+    private final Locale defaultLocale = Locale.getDefault();
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void printfDirect() {
+        assertSameAsStringFormat("%s and %d", "a", 5);
+        assertSameAsStringFormat("%s and %d", null, null);
+        assertSameAsStringFormat("%d %d %d %d", 1, -2L, (short) 3, (byte) -4);
+        assertSameAsStringFormat("100%% done%n");
+        assertSameAsStringFormat("%s", new int[]{1});
+        assertSameAsStringFormat("no placeholder", "extra");
+        assertSameAsStringFormat("%s %s", "more", "args", "ignored");
+    }
+
+    @Test
+    public void printfFallback() {
+        // Flags, widths, precisions and other conversions.
+        assertSameAsStringFormat("%5d|%-5s|", 42, "ab");
+        assertSameAsStringFormat("%x %X %o", 255, 255, 8);
+        assertSameAsStringFormat("%.2f", 1.5);
+        assertSameAsStringFormat("%c%b", 'a', true);
+        assertSameAsStringFormat("%2$s %1$s", "a", "b");
+        // Arguments which can not be formatted directly.
+        assertSameAsStringFormat("%d", BigInteger.TEN);
+        assertSameAsStringFormat("%s", new Formattable() {
+            @Override
+            public void formatTo(Formatter formatter, int flags, int width, int precision) {
+                formatter.format("formatted");
+            }
+
+            @Override
+            public String toString() {
+                return "toString";
+            }
+        });
+    }
+
+    @Test
+    public void printfErrors() {
+        assertThrowsAsStringFormat("%s %s", "one");
+        assertThrowsAsStringFormat("%d", "not a number");
+        assertThrowsAsStringFormat("%d", 1.5);
+        assertThrowsAsStringFormat("%q", 1);
+        assertThrowsAsStringFormat("trailing %");
+    }
+
+    @Test
+    public void integralArguments() {
+        MessageTemplate decimal = MessageTemplate.of("n=%d", STYLE_PRINTF);
+        assertEquals(String.format("n=%d", 7), decimal.format(7));
+        assertEquals(String.format("n=%d", Long.MIN_VALUE), decimal.format(Long.MIN_VALUE));
+        MessageTemplate hex = MessageTemplate.of("%x", STYLE_PRINTF);
+        assertEquals(String.format("%x", -1), hex.format(-1));
+        assertEquals(String.format("%x", -1L), hex.format(-1L));
+        MessageTemplate two = MessageTemplate.of("%d %d", STYLE_PRINTF);
+        try {
+            two.format(1);
+            fail();
+        } catch (IllegalFormatException expected) {
+        }
+        assertEquals("1 and {}", MessageTemplate.of("{} and {}", STYLE_BRACES).format(1));
+    }
+
+    @Test
+    public void locale() {
+        // Digits other than ASCII, and a comma as the decimal separator.
+        Locale.setDefault(Locale.forLanguageTag("th-TH-u-nu-thai"));
+        String thai = String.format("%d", 123);
+        assertFalse("123".equals(thai));
+        // Numbers formatted directly always use ASCII digits.
+        assertEquals("123", MessageTemplate.of("%d", STYLE_PRINTF).format(123));
+        assertEquals("123", MessageTemplate.of("%d", STYLE_PRINTF).format((Object) 123));
+        // Formats falling back use the default locale, as String.format does.
+        assertSameAsStringFormat("%5d", 123);
+
+        Locale.setDefault(Locale.GERMANY);
+        assertSameAsStringFormat("%.2f", 1.5);
+        assertEquals("1,50", MessageTemplate.of("%.2f", STYLE_PRINTF).format(1.5));
+        assertSameAsStringFormat("%d and %s", 1234567, "x");
+    }
+
+    @Test
+    public void braces() {
+        assertBraces("a and b", "{} and {}", "a", "b");
+        assertBraces("null and 1", "{} and {}", null, 1);
+        assertBraces("a and {}", "{} and {}", "a");
+        assertBraces("a", "a", "extra");
+        assertBraces("[1, 2] [x, [y]]", "{} {}",
+                new int[]{1, 2}, new Object[]{"x", new String[]{"y"}});
+        assertBraces("{", "{", "a");
+        assertBraces("}{", "}{", "a");
+    }
+
+    @Test
+    public void bracesEscaping() {
+        // "\{}" is a literal "{}", which takes no argument.
+        assertBraces("{} a", "\\{} {}", "a");
+        assertBraces("{}", "\\{}", "a");
+        // "\\{}" is a literal backslash followed by a placeholder.
+        assertBraces("\\a", "\\\\{}", "a");
+        assertBraces("\\a b", "\\\\{} {}", "a", "b");
+        // A backslash elsewhere is kept.
+        assertBraces("\\ a \\", "\\ {} \\", "a");
+    }
+
+    @Test
+    public void appendTo() {
+        StringBuilder builder = new StringBuilder("> ");
+        MessageTemplate.of("%s=%d", STYLE_PRINTF).appendTo(builder, "a", 1);
+        MessageTemplate.of("%5s", STYLE_PRINTF).appendTo(builder, "b");
+        MessageTemplate.of(" {}", STYLE_BRACES).appendTo(builder, "c");
+        assertEquals("> a=1    b c", builder.toString());
+    }
+
+    @Test
+    public void cached() {
+        assertSame(MessageTemplate.of("%s cached", STYLE_PRINTF),
+                MessageTemplate.of("%s cached", STYLE_PRINTF));
+        assertNotSame(MessageTemplate.of("{} cached", STYLE_PRINTF),
+                MessageTemplate.of("{} cached", STYLE_BRACES));
+    }
+
+    private static void assertSameAsStringFormat(String format, Object... args) {
+        MessageTemplate template = MessageTemplate.compile(format, STYLE_PRINTF);
+        String expected = String.format(format, args);
+        assertEquals(format, expected, template.format(args));
+        StringBuilder builder = new StringBuilder();
+        template.appendTo(builder, args);
+        assertEquals(format, expected, builder.toString());
+    }
+
+    private static void assertThrowsAsStringFormat(String format, Object... args) {
+        Class<?> expected = null;
+        try {
+            String.format(format, args);
+        } catch (IllegalFormatException e) {
+            expected = e.getClass();
+        }
+        assertTrue(format, expected != null);
+        try {
+            MessageTemplate.compile(format, STYLE_PRINTF).format(args);
+            fail(format);
+        } catch (IllegalFormatException e) {
+            assertEquals(format, expected, e.getClass());
+        }
+    }
+
+    private static void assertBraces(String expected, String format, Object... args) {
+        assertEquals(format, expected, MessageTemplate.compile(format, STYLE_BRACES).format(args));
+    }
+}
@@ -0,0 +1,88 @@
+package com.deepaksharma.webaddicted.formatter.message.xml;
+
+import com.deepaksharma.webaddicted.formatter.FormatException;
+import com.deepaksharma.webaddicted.internal.SystemCompat;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DefaultXmlFormatterTest {
+
+    private static final String SMALL_XML = "<a><b>text</b></a>";
+
+    private static final String TRUNCATION_MARKER = "... (XML truncated at 120 characters)";
+
+    @Test
+    public void format() {
+        assertSmallXml(new DefaultXmlFormatter().format(SMALL_XML));
+    }
+
+    @Test
+    public void truncate() {
+        String formatted = new DefaultXmlFormatter(120).format(largeXml());
+        assertTrue(formatted, formatted.endsWith(SystemCompat.lineSeparator + TRUNCATION_MARKER));
+        // The capped XML, a line separator after the declaration, one before the marker.
+        assertEquals(120 + SystemCompat.lineSeparator.length() * 2 + TRUNCATION_MARKER.length(),
+                formatted.length());
+    }
+
+    @Test
+    public void notTruncatedWithinCap() {
+        String formatted = new DefaultXmlFormatter(120).format(SMALL_XML);
+        assertFalse(formatted, formatted.contains(TRUNCATION_MARKER));
+        assertSmallXml(formatted);
+    }
+
+    @Test
+    public void formatAfterTruncated() {
+        DefaultXmlFormatter formatter = new DefaultXmlFormatter(120);
+        String truncated = formatter.format(largeXml());
+        assertTrue(truncated, truncated.endsWith(TRUNCATION_MARKER));
+        assertSmallXml(formatter.format(SMALL_XML));
+        assertEquals(truncated, formatter.format(largeXml()));
+    }
+
+    @Test
+    public void formatAfterParseError() {
+        DefaultXmlFormatter formatter = new DefaultXmlFormatter(120);
+        try {
+            formatter.format("<a><b></a>");
+            fail();
+        } catch (FormatException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Parse XML error."));
+        }
+        assertSmallXml(formatter.format(SMALL_XML));
+        String truncated = formatter.format(largeXml());
+        assertTrue(truncated, truncated.endsWith(TRUNCATION_MARKER));
+    }
+
+    @Test(expected = FormatException.class)
+    public void empty() {
+        new DefaultXmlFormatter().format(" ");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void illegalMaxLength() {
+        new DefaultXmlFormatter(0);
+    }
+
+    /**
+     * The XML declaration on a line of its own, then the elements indented.
+     */
+    private static void assertSmallXml(String formatted) {
+        String[] lines = formatted.split(SystemCompat.lineSeparator);
+        assertTrue(formatted, lines[0].startsWith("<?xml") && lines[0].endsWith("?>"));
+        assertEquals(formatted, "<a>", lines[1]);
+        assertEquals(formatted, "    <b>text</b>", lines[2]);
+        assertEquals(formatted, "</a>", lines[3]);
+    }
+
+    private static String largeXml() {
+        StringBuilder xml = new StringBuilder("<list>");
+        for (int i = 0; i < 100; i++) {
+            xml.append("<item>").append(i).append("</item>");
+        }
+        return xml.append("</list>").toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.deepaksharma.webaddicted.interceptor;
+
+import com.deepaksharma.webaddicted.LogItem;
+import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.printer.Printer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DedupInterceptorTest {
+
+    private final List<String> printed = Collections.synchronizedList(new ArrayList<String>());
+
+    private final Printer printer = new Printer() {
+        @Override
+        public void println(int logLevel, String tag, String msg) {
+            printed.add(tag + ": " + msg);
+        }
+    };
+
+    @Test
+    public void differentLogReportsRepeats() {
+        DedupInterceptor interceptor = new DedupInterceptor(60000, printer);
+        assertNotNull(interceptor.intercept(log("retry")));
+        assertNull(interceptor.intercept(log("retry")));
+        assertNull(interceptor.intercept(log("retry")));
+        assertNotNull(interceptor.intercept(log("done")));
+        assertEquals(Collections.singletonList("Net: Last message repeated 2 times"), printed);
+    }
+
+    @Test
+    public void expiredRunIsReportedWithoutAnotherLog() throws InterruptedException {
+        DedupInterceptor interceptor = new DedupInterceptor(50, printer);
+        assertNotNull(interceptor.intercept(log("retry")));
+        assertNull(interceptor.intercept(log("retry")));
+        assertNull(interceptor.intercept(log("retry")));
+        waitForPrinted(1);
+        assertEquals(Collections.singletonList("Net: Last message repeated 2 times"), printed);
+
+        // The run is reported once, the next log starts a new run.
+        assertNotNull(interceptor.intercept(log("retry")));
+        assertNotNull(interceptor.intercept(log("done")));
+        assertEquals(1, printed.size());
+    }
+
+    @Test
+    public void runWithoutRepeatsIsNotReported() throws InterruptedException {
+        DedupInterceptor interceptor = new DedupInterceptor(50, printer);
+        assertNotNull(interceptor.intercept(log("once")));
+        Thread.sleep(200);
+        assertTrue(printed.isEmpty());
+    }
+
+    private void waitForPrinted(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && printed.size() < count; i++) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static LogItem log(String msg) {
+        return new LogItem(LogLevel.DEBUG, "Net", msg);
+    }
+}
@@ -0,0 +1,91 @@
+package com.deepaksharma.webaddicted.interceptor;
+
+import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.printer.Printer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RateLimitInterceptorTest {
+
+    private final List<String> printed = Collections.synchronizedList(new ArrayList<String>());
+
+    private final Printer printer = new Printer() {
+        @Override
+        public void println(int logLevel, String tag, String msg) {
+            printed.add(logLevel + " " + tag + ": " + msg);
+        }
+    };
+
+    @Test
+    public void burstThenLimited() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(0.001, 2);
+        assertFalse(interceptor.reject(LogLevel.DEBUG, "Net"));
+        assertFalse(interceptor.reject(LogLevel.DEBUG, "Net"));
+        assertTrue(interceptor.reject(LogLevel.DEBUG, "Net"));
+        // Each tag and level has its own bucket.
+        assertFalse(interceptor.reject(LogLevel.INFO, "Net"));
+        assertFalse(interceptor.reject(LogLevel.DEBUG, "Db"));
+        assertEquals(1, interceptor.getSuppressedCount());
+    }
+
+    @Test
+    public void nullTag() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(0.001, 1);
+        assertFalse(interceptor.reject(LogLevel.DEBUG, null));
+        assertTrue(interceptor.reject(LogLevel.DEBUG, null));
+    }
+
+    @Test
+    public void summaryWithoutAnotherLog() throws InterruptedException {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor.Builder()
+                .limit(0.001, 1)
+                .summaryPrinter(printer)
+                .summaryInterval(50)
+                .build();
+        assertFalse(interceptor.reject(LogLevel.DEBUG, "Net"));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(interceptor.reject(LogLevel.DEBUG, "Net"));
+        }
+        waitForPrinted(1);
+        assertEquals(Collections.singletonList(
+                LogLevel.DEBUG + " Net: Suppressed 3 logs for tag Net"), printed);
+
+        // The logs filtered out after a summary are in the next one.
+        assertTrue(interceptor.reject(LogLevel.DEBUG, "Net"));
+        waitForPrinted(2);
+        assertEquals(LogLevel.DEBUG + " Net: Suppressed 1 logs for tag Net", printed.get(1));
+        assertEquals(4, interceptor.getSuppressedCount());
+    }
+
+    @Test
+    public void summaryOfSharedBuckets() throws InterruptedException {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor.Builder()
+                .limit(0.001, 1)
+                .summaryPrinter(printer)
+                .summaryInterval(50)
+                .build();
+        for (int i = 0; i < 1024; i++) {
+            assertFalse(interceptor.reject(LogLevel.DEBUG, "Tag" + i));
+        }
+        // Tags beyond share the same buckets.
+        assertFalse(interceptor.reject(LogLevel.DEBUG, "Extra1"));
+        assertTrue(interceptor.reject(LogLevel.DEBUG, "Extra1"));
+        assertTrue(interceptor.reject(LogLevel.DEBUG, "Extra2"));
+        waitForPrinted(1);
+        assertEquals(Collections.singletonList(
+                LogLevel.DEBUG + " Extra1: Suppressed 2 logs for tags beyond the first 1024"),
+                printed);
+    }
+
+    private void waitForPrinted(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && printed.size() < count; i++) {
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.deepaksharma.webaddicted.interceptor;
+
+import com.deepaksharma.webaddicted.LogItem;
+import com.deepaksharma.webaddicted.LogLevel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TagFilterInterceptorTest {
+
+    @Test
+    public void blacklistTags() {
+        BlacklistTagsFilterInterceptor interceptor =
+                new BlacklistTagsFilterInterceptor("Net", "Db");
+        assertTrue(interceptor.reject(LogLevel.ERROR, "Net"));
+        assertTrue(interceptor.reject(LogLevel.DEBUG, "Db"));
+        assertFalse(interceptor.reject(LogLevel.DEBUG, "Network"));
+        assertNull(interceptor.intercept(log("Net")));
+        LogItem log = log("App");
+        assertSame(log, interceptor.intercept(log));
+    }
+
+    @Test
+    public void whitelistTags() {
+        WhitelistTagsFilterInterceptor interceptor =
+                new WhitelistTagsFilterInterceptor("Net", "Db");
+        assertFalse(interceptor.reject(LogLevel.DEBUG, "Net"));
+        assertTrue(interceptor.reject(LogLevel.ERROR, "Network"));
+        assertTrue(interceptor.reject(LogLevel.DEBUG, "App"));
+        assertNull(interceptor.intercept(log("App")));
+        LogItem log = log("Db");
+        assertSame(log, interceptor.intercept(log));
+    }
+
+    @Test
+    public void tagsAreCopied() {
+        List<String> tags = new ArrayList<>(Arrays.asList("Net"));
+        BlacklistTagsFilterInterceptor blacklist = new BlacklistTagsFilterInterceptor(tags);
+        WhitelistTagsFilterInterceptor whitelist = new WhitelistTagsFilterInterceptor(tags);
+        tags.add("Db");
+        tags.remove("Net");
+        assertTrue(blacklist.reject(LogLevel.DEBUG, "Net"));
+        assertFalse(blacklist.reject(LogLevel.DEBUG, "Db"));
+        assertFalse(whitelist.reject(LogLevel.DEBUG, "Net"));
+        assertTrue(whitelist.reject(LogLevel.DEBUG, "Db"));
+    }
+
+    @Test
+    public void tagPatterns() {
+        BlacklistTagPatternsFilterInterceptor blacklist =
+                new BlacklistTagPatternsFilterInterceptor("Net*", "Db");
+        WhitelistTagPatternsFilterInterceptor whitelist =
+                new WhitelistTagPatternsFilterInterceptor("Net*", "Db");
+        String[] tags = {"Net", "Network", "Db", "Dbx", "App"};
+        boolean[] matched = {true, true, true, false, false};
+        for (int i = 0; i < tags.length; i++) {
+            assertEquals(tags[i], matched[i], blacklist.reject(LogLevel.DEBUG, tags[i]));
+            assertEquals(tags[i], !matched[i], whitelist.reject(LogLevel.DEBUG, tags[i]));
+        }
+    }
+
+    @Test
+    public void nullTag() {
+        // As the interceptors of exact tags do.
+        assertFalse(new BlacklistTagPatternsFilterInterceptor("Net*").reject(LogLevel.DEBUG, null));
+        assertFalse(new BlacklistTagsFilterInterceptor("Net").reject(LogLevel.DEBUG, null));
+        assertTrue(new WhitelistTagPatternsFilterInterceptor("Net*").reject(LogLevel.DEBUG, null));
+        assertTrue(new WhitelistTagsFilterInterceptor("Net").reject(LogLevel.DEBUG, null));
+    }
+
+    private static LogItem log(String tag) {
+        return new LogItem(LogLevel.DEBUG, tag, "msg");
+    }
+}
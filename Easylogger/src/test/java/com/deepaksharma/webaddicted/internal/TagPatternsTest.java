@@ -0,0 +1,98 @@
+package com.deepaksharma.webaddicted.internal;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TagPatternsTest {
+
+    private final TagPatterns patterns = new TagPatterns(
+            Arrays.asList("Net*", "com.foo.*", "Db", "Dba"));
+
+    @Test
+    public void exactTags() {
+        assertTrue(patterns.matches("Db"));
+        assertTrue(patterns.matches("Dba"));
+        assertFalse(patterns.matches("D"));
+        assertFalse(patterns.matches("Dbx"));
+        assertFalse(patterns.matches("Dbab"));
+    }
+
+    @Test
+    public void prefixes() {
+        assertTrue(patterns.matches("Net"));
+        assertTrue(patterns.matches("Network"));
+        assertTrue(patterns.matches("com.foo.Bar"));
+        assertTrue(patterns.matches("com.foo."));
+        assertFalse(patterns.matches("Ne"));
+        assertFalse(patterns.matches("com.foo"));
+        assertFalse(patterns.matches("com.fooBar"));
+        assertFalse(patterns.matches(""));
+    }
+
+    @Test
+    public void allTags() {
+        TagPatterns all = new TagPatterns(Arrays.asList("*"));
+        assertTrue(all.matches(""));
+        assertTrue(all.matches("Anything"));
+    }
+
+    @Test
+    public void nullTag() {
+        assertFalse(patterns.matches(null));
+        assertFalse(new TagPatterns(Arrays.asList("*")).matches(null));
+        Map<String, Integer> map = new HashMap<>();
+        map.put("*", 1);
+        assertNull(new TagPatterns(map).get(null));
+    }
+
+    @Test
+    public void noPatterns() {
+        TagPatterns none = new TagPatterns(Arrays.<String>asList());
+        assertFalse(none.matches(""));
+        assertFalse(none.matches("Net"));
+    }
+
+    @Test
+    public void values() {
+        Map<String, Integer> map = new HashMap<>();
+        map.put("*", 1);
+        map.put("Net*", 2);
+        map.put("Net.Http*", 3);
+        map.put("Net.Http", 4);
+        TagPatterns valued = new TagPatterns(map);
+        assertEquals(Integer.valueOf(1), valued.get("Db"));
+        assertEquals(Integer.valueOf(2), valued.get("Net"));
+        assertEquals(Integer.valueOf(2), valued.get("Net.Dns"));
+        assertEquals(Integer.valueOf(4), valued.get("Net.Http"));
+        assertEquals(Integer.valueOf(3), valued.get("Net.Https"));
+        assertNull(patterns.get("Ne"));
+    }
+
+    @Test
+    public void memoizedResultsStayRight() {
+        // Beyond the memoized tags, tags are matched each time.
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 3000; i++) {
+                assertTrue(patterns.matches("Net" + i));
+                assertFalse(patterns.matches("Db" + i));
+            }
+        }
+        assertTrue(patterns.matches("Db"));
+        assertFalse(patterns.matches("Ne"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wildcardInTheMiddle() {
+        new TagPatterns(Arrays.asList("Net*Http"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullPatterns() {
+        new TagPatterns((Iterable<String>) null);
+    }
+}
@@ -0,0 +1,91 @@
+package com.deepaksharma.webaddicted.printer;
+
+import com.deepaksharma.webaddicted.LogLevel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AsyncPrinterTest {
+
+    private final List<String> printed = Collections.synchronizedList(new ArrayList<String>());
+
+    /**
+     * A printer slow enough for logs to pile up in the buffer.
+     */
+    private final Printer slowPrinter = new Printer() {
+        @Override
+        public void println(int logLevel, String tag, String msg) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            printed.add(msg);
+        }
+    };
+
+    @Test
+    public void flushPrintsBufferedLogs() {
+        AsyncPrinter printer = new AsyncPrinter(slowPrinter);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            printer.println(LogLevel.DEBUG, "Tag", "log " + i);
+            expected.add("log " + i);
+        }
+        printer.flush();
+        assertEquals(expected, printed);
+        printer.close();
+    }
+
+    @Test
+    public void flushWithDroppedLogs() {
+        AsyncPrinter printer = new AsyncPrinter.Builder(slowPrinter)
+                .capacity(2)
+                .overflowPolicy(AsyncPrinter.OVERFLOW_DROP_OLDEST)
+                .build();
+        for (int i = 0; i < 50; i++) {
+            printer.println(LogLevel.DEBUG, "Tag", "log " + i);
+        }
+        printer.flush();
+        assertEquals(50, printed.size() + printer.getDroppedCount());
+        assertEquals("log 49", printed.get(printed.size() - 1));
+        printer.close();
+    }
+
+    @Test
+    public void closeDrainsThenDrops() throws InterruptedException {
+        AsyncPrinter printer = new AsyncPrinter(slowPrinter);
+        for (int i = 0; i < 10; i++) {
+            printer.println(LogLevel.DEBUG, "Tag", "log " + i);
+        }
+        printer.close();
+        assertEquals(10, printed.size());
+
+        printer.println(LogLevel.DEBUG, "Tag", "after close");
+        printer.flush();
+        Thread.sleep(20);
+        assertEquals(10, printed.size());
+        assertEquals(1, printer.getDroppedCount());
+    }
+
+    @Test
+    public void flushFromPrinterThread() {
+        final AsyncPrinter[] holder = new AsyncPrinter[1];
+        holder[0] = new AsyncPrinter(new Printer() {
+            @Override
+            public void println(int logLevel, String tag, String msg) {
+                holder[0].flush();
+                printed.add(msg);
+            }
+        });
+        holder[0].println(LogLevel.DEBUG, "Tag", "log");
+        holder[0].flush();
+        assertEquals(Collections.singletonList("log"), printed);
+        holder[0].close();
+    }
+}
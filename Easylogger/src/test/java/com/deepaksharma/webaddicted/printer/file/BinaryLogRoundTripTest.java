@@ -0,0 +1,258 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.flattener.DefaultFlattener;
+import com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate.STYLE_BRACES;
+import static com.deepaksharma.webaddicted.formatter.message.template.MessageTemplate.STYLE_PRINTF;
+import static org.junit.Assert.*;
+
+public class BinaryLogRoundTripTest {
+
+    private File folder;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = File.createTempFile("BinaryLogRoundTripTest", "");
+        folder.delete();
+        folder.mkdirs();
+        file = new File(folder, "log");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        BinaryFilePrinter printer = new BinaryFilePrinter.Builder(file)
+                .flushInterval(0)
+                .build();
+        List<String> expected = new ArrayList<>();
+        long start = System.currentTimeMillis();
+
+        printer.println(LogLevel.DEBUG, "TAG", "plain");
+        expected.add(LogLevel.DEBUG + "/TAG: plain");
+        printer.println(LogLevel.INFO, "标签", "日本語 😀");
+        expected.add(LogLevel.INFO + "/标签: 日本語 😀");
+        printer.println(LogLevel.WARN, null, null);
+        expected.add(LogLevel.WARN + "/null: null");
+
+        MessageTemplate printf = MessageTemplate.of("%s %d %d %.2f %s %c %b %d %d", STYLE_PRINTF);
+        Object[] printfArgs = {"s", -1, Long.MAX_VALUE, 1.5, 2.5f, 'c', true, (short) -3,
+                (byte) 4};
+        printer.println(LogLevel.DEBUG, "TAG", printf, printfArgs);
+        expected.add(LogLevel.DEBUG + "/TAG: " + printf.format(printfArgs));
+
+        MessageTemplate braces = MessageTemplate.of("{} and {}", STYLE_BRACES);
+        printer.println(LogLevel.ERROR, "TAG", braces, new Object[]{null, false});
+        expected.add(LogLevel.ERROR + "/TAG: null and false");
+
+        // Formatted before writing.
+        Object[] listArg = {Arrays.asList(1, 2)};
+        printer.println(LogLevel.ERROR, "TAG", braces, listArg);
+        expected.add(LogLevel.ERROR + "/TAG: [1, 2] and {}");
+
+        // Not checked until decoded.
+        MessageTemplate wrongType = MessageTemplate.of("%d", STYLE_PRINTF);
+        printer.println(LogLevel.DEBUG, "TAG", wrongType, new Object[]{"nan"});
+        printer.close();
+        long end = System.currentTimeMillis();
+
+        List<String> decoded = new ArrayList<>();
+        BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(file));
+        try {
+            long lastTime = start;
+            while (decoder.next()) {
+                assertTrue(decoder.getTimeMillis() >= lastTime);
+                assertTrue(decoder.getTimeMillis() <= end);
+                lastTime = decoder.getTimeMillis();
+                assertEquals(-1, decoder.getThreadId());
+                decoded.add(decoder.getLogLevel() + "/" + decoder.getTag() + ": "
+                        + decoder.getMessage());
+            }
+        } finally {
+            decoder.close();
+        }
+        assertEquals(expected.size() + 1, decoded.size());
+        assertEquals(expected, decoded.subList(0, expected.size()));
+        String last = decoded.get(expected.size());
+        assertTrue(last, last.startsWith(LogLevel.DEBUG + "/TAG: %d [nan] ("));
+    }
+
+    @Test
+    public void threadId() throws IOException {
+        BinaryFilePrinter printer = new BinaryFilePrinter.Builder(file)
+                .flushInterval(0)
+                .threadId()
+                .build();
+        printer.println(LogLevel.DEBUG, "TAG", "plain");
+        printer.println(LogLevel.DEBUG, "TAG", MessageTemplate.of("{}", STYLE_BRACES),
+                new Object[]{1});
+        printer.close();
+
+        BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(file));
+        try {
+            assertTrue(decoder.next());
+            assertEquals(Thread.currentThread().getId(), decoder.getThreadId());
+            assertEquals("plain", decoder.getMessage());
+            assertTrue(decoder.next());
+            assertEquals(Thread.currentThread().getId(), decoder.getThreadId());
+            assertEquals("1", decoder.getMessage());
+            assertFalse(decoder.next());
+        } finally {
+            decoder.close();
+        }
+    }
+
+    @Test
+    public void eachSegmentDecodesOnItsOwn() throws IOException {
+        BinaryFilePrinter printer = new BinaryFilePrinter.Builder(file)
+                .flushInterval(0)
+                .rollingPolicy(new RollingPolicy.Builder().maxBytes(100).compress(false).build())
+                .build();
+        MessageTemplate template = MessageTemplate.of("log {}", STYLE_BRACES);
+        for (int i = 0; i < 50; i++) {
+            // The same tag and format in every segment.
+            printer.println(LogLevel.DEBUG, "TAG", template, new Object[]{i});
+        }
+        printer.close();
+
+        String[] names = folder.list();
+        assertTrue(names.length > 2);
+        // Segment names sort by rotation time, the log file itself is the latest.
+        Arrays.sort(names);
+        assertEquals("log", names[0]);
+        int next = 0;
+        for (int i = 1; i <= names.length; i++) {
+            BinaryLogDecoder decoder = new BinaryLogDecoder(
+                    new FileInputStream(new File(folder, names[i % names.length])));
+            try {
+                while (decoder.next()) {
+                    assertEquals("TAG", decoder.getTag());
+                    assertEquals("log " + next++, decoder.getMessage());
+                }
+            } finally {
+                decoder.close();
+            }
+        }
+        assertEquals(50, next);
+    }
+
+    @Test
+    public void reopenStartsNewSection() throws IOException {
+        BinaryFilePrinter printer = new BinaryFilePrinter.Builder(file)
+                .flushInterval(0)
+                .build();
+        MessageTemplate template = MessageTemplate.of("%s", STYLE_PRINTF);
+        printer.println(LogLevel.DEBUG, "A", template, new Object[]{"1"});
+        printer.close();
+        printer.println(LogLevel.DEBUG, "B", "2");
+        printer.println(LogLevel.DEBUG, "A", template, new Object[]{"3"});
+        printer.close();
+
+        assertEquals("A: 1\nB: 2\nA: 3\n", decodeAll(readBytes(file)));
+    }
+
+    @Test
+    public void truncatedLogIgnored() throws IOException {
+        BinaryFilePrinter printer = new BinaryFilePrinter.Builder(file)
+                .flushInterval(0)
+                .build();
+        printer.println(LogLevel.DEBUG, "TAG", "first");
+        printer.println(LogLevel.DEBUG, "TAG", "second");
+        printer.close();
+
+        byte[] bytes = readBytes(file);
+        assertEquals("TAG: first\nTAG: second\n", decodeAll(bytes));
+        assertEquals("TAG: first\n", decodeAll(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test(expected = IOException.class)
+    public void notBinaryLog() throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        out.write("text log\n".getBytes("UTF-8"));
+        out.close();
+        decodeAll(readBytes(file));
+    }
+
+    @Test
+    public void decodeAsFilePrinter() throws IOException {
+        BinaryFilePrinter printer = new BinaryFilePrinter.Builder(file)
+                .flushInterval(0)
+                .build();
+        printer.println(LogLevel.INFO, "TAG", "plain");
+        printer.println(LogLevel.ERROR, "TAG", MessageTemplate.of("n=%d", STYLE_PRINTF),
+                new Object[]{42});
+        printer.close();
+
+        DefaultFlattener flattener = new DefaultFlattener();
+        StringBuilder expected = new StringBuilder();
+        BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(file));
+        try {
+            while (decoder.next()) {
+                expected.append(flattener.flatten(decoder.getTimeMillis(),
+                        decoder.getLogLevel(), decoder.getTag(), decoder.getMessage()))
+                        .append('\n');
+            }
+        } finally {
+            decoder.close();
+        }
+        StringWriter out = new StringWriter();
+        BinaryLogDecoder.decode(new FileInputStream(file), flattener, out);
+        assertEquals(expected.toString(), out.toString());
+        assertTrue(out.toString(), out.toString().contains("|TAG|n=42\n"));
+    }
+
+    private static String decodeAll(byte[] bytes) throws IOException {
+        StringBuilder text = new StringBuilder();
+        BinaryLogDecoder decoder = new BinaryLogDecoder(new ByteArrayInputStream(bytes));
+        try {
+            while (decoder.next()) {
+                text.append(decoder.getTag()).append(": ").append(decoder.getMessage())
+                        .append('\n');
+            }
+        } finally {
+            decoder.close();
+        }
+        return text.toString();
+    }
+
+    private static byte[] readBytes(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        FileInputStream in = new FileInputStream(file);
+        try {
+            int read = 0;
+            while (read < bytes.length) {
+                read += in.read(bytes, read, bytes.length - read);
+            }
+        } finally {
+            in.close();
+        }
+        return bytes;
+    }
+}
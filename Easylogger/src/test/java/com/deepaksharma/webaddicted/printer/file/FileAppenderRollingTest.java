@@ -0,0 +1,79 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class FileAppenderRollingTest {
+
+    private File folder;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = File.createTempFile("FileAppenderRollingTest", "");
+        folder.delete();
+        folder.mkdirs();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    @Test
+    public void recordsNeverSpanTwoFiles() throws IOException {
+        // Records of 10 bytes through a buffer of 16 bytes, so the buffer is drained in the
+        // middle of records.
+        FileAppender appender = new FileAppender(new File(folder, "log"), 16,
+                new RollingPolicy.Builder().maxBytes(40).compress(false).build());
+        for (int i = 0; i < 20; i++) {
+            appender.rollIfNeeded();
+            appender.append(String.format("record %02d\n", i));
+        }
+        appender.close();
+
+        String[] names = folder.list();
+        // Segment names sort by rotation time, the log file itself is the latest.
+        Arrays.sort(names);
+        assertEquals("log", names[0]);
+        StringBuilder all = new StringBuilder();
+        for (int i = 1; i <= names.length; i++) {
+            String content = read(new File(folder, names[i % names.length]));
+            assertTrue(content, content.matches("(record \\d\\d\n)+"));
+            assertTrue(content, content.length() <= 40);
+            all.append(content);
+        }
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            expected.append(String.format("record %02d\n", i));
+        }
+        assertEquals(expected.toString(), all.toString());
+    }
+
+    private static String read(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        FileInputStream in = new FileInputStream(file);
+        try {
+            int read = 0;
+            while (read < bytes.length) {
+                read += in.read(bytes, read, bytes.length - read);
+            }
+        } finally {
+            in.close();
+        }
+        return new String(bytes, "UTF-8");
+    }
+}
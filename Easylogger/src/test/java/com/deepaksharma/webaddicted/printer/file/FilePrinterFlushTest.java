@@ -0,0 +1,130 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.flattener.Flattener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * When the logs buffered by {@link FilePrinter} reach the file.
+ */
+public class FilePrinterFlushTest {
+
+    private static final Flattener MESSAGE_ONLY = new Flattener() {
+        @Override
+        public CharSequence flatten(int logLevel, String tag, String message) {
+            return message;
+        }
+    };
+
+    private File folder;
+
+    private File file;
+
+    private FilePrinter printer;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = File.createTempFile("FilePrinterFlushTest", "");
+        folder.delete();
+        folder.mkdirs();
+        file = new File(folder, "log");
+    }
+
+    @After
+    public void tearDown() {
+        if (printer != null) {
+            printer.close();
+        }
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    @Test
+    public void flushWhenBufferFull() throws IOException {
+        printer = newBuilder().bufferSize(16).flushInterval(0).build();
+        printer.println(LogLevel.DEBUG, "TAG", "0123456789");
+        assertEquals("", read(file));
+
+        // Only what fills the buffer is written, the rest stays buffered.
+        printer.println(LogLevel.DEBUG, "TAG", "abcdefghij");
+        assertEquals("0123456789\nabcde", read(file));
+
+        printer.flush();
+        assertEquals("0123456789\nabcdefghij\n", read(file));
+    }
+
+    @Test
+    public void flushAfterInterval() throws Exception {
+        printer = newBuilder().flushInterval(200).build();
+        printer.println(LogLevel.DEBUG, "TAG", "first");
+        assertEquals("", read(file));
+
+        for (int i = 0; i < 100 && file.length() == 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals("first\n", read(file));
+    }
+
+    @Test
+    public void flushImmediatelyAtError() throws IOException {
+        printer = newBuilder().flushInterval(0).build();
+        printer.println(LogLevel.DEBUG, "TAG", "debug");
+        printer.println(LogLevel.WARN, "TAG", "warn");
+        assertEquals("", read(file));
+
+        // Logs buffered before are written along.
+        printer.println(LogLevel.ERROR, "TAG", "error");
+        assertEquals("debug\nwarn\nerror\n", read(file));
+    }
+
+    @Test
+    public void flushLevel() throws IOException {
+        printer = newBuilder().flushInterval(0).flushLevel(LogLevel.ALL).build();
+        printer.println(LogLevel.VERBOSE, "TAG", "verbose");
+        assertEquals("verbose\n", read(file));
+    }
+
+    @Test
+    public void closeFlushes() throws IOException {
+        printer = newBuilder().flushInterval(0).build();
+        printer.println(LogLevel.INFO, "TAG", "info");
+        assertEquals("", read(file));
+        printer.close();
+        assertEquals("info\n", read(file));
+    }
+
+    private FilePrinter.Builder newBuilder() {
+        return new FilePrinter.Builder(file).flattener(MESSAGE_ONLY);
+    }
+
+    private static String read(File file) throws IOException {
+        if (!file.exists()) {
+            return "";
+        }
+        byte[] bytes = new byte[(int) file.length()];
+        FileInputStream in = new FileInputStream(file);
+        try {
+            int read = 0;
+            while (read < bytes.length) {
+                read += in.read(bytes, read, bytes.length - read);
+            }
+        } finally {
+            in.close();
+        }
+        return new String(bytes, "UTF-8");
+    }
+}
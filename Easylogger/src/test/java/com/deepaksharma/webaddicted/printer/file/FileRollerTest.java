@@ -0,0 +1,98 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class FileRollerTest {
+
+    private File folder;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = File.createTempFile("FileRollerTest", "");
+        folder.delete();
+        folder.mkdirs();
+        file = new File(folder, "log");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    @Test
+    public void segmentNamesAreInUtc() throws Exception {
+        TimeZone timeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("GMT+14:00"));
+        try {
+            write(file, "record\n");
+            FileRoller roller = new FileRoller(file,
+                    new RollingPolicy.Builder().maxBytes(1).compress(false).build());
+            assertTrue(roller.shouldRoll(0));
+            long before = System.currentTimeMillis();
+            roller.roll();
+
+            String[] names = folder.list();
+            assertEquals(1, names.length);
+            SimpleDateFormat utc = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS", Locale.US);
+            utc.setTimeZone(TimeZone.getTimeZone("UTC"));
+            long rolled = utc.parse(names[0].substring("log.".length())).getTime();
+            assertTrue(Math.abs(rolled - before) < 60 * 1000);
+        } finally {
+            TimeZone.setDefault(timeZone);
+        }
+    }
+
+    @Test
+    public void failedRollKeepsSize() {
+        FileRoller roller = new FileRoller(file,
+                new RollingPolicy.Builder().maxBytes(10).compress(false).build());
+        assertFalse(roller.shouldRoll(0));
+        roller.written(20);
+        assertTrue(roller.shouldRoll(0));
+
+        // The file was never created, so it can not be renamed.
+        roller.roll();
+        assertTrue(roller.shouldRoll(0));
+    }
+
+    @Test
+    public void rollResetsSize() throws IOException {
+        FileRoller roller = new FileRoller(file,
+                new RollingPolicy.Builder().maxBytes(10).compress(false).build());
+        assertFalse(roller.shouldRoll(0));
+        write(file, "twenty bytes record\n");
+        roller.written(20);
+        roller.roll();
+        assertFalse(file.exists());
+        assertFalse(roller.shouldRoll(9));
+        assertTrue(roller.shouldRoll(10));
+    }
+
+    static void write(File file, String text) throws IOException {
+        FileOutputStream out = new FileOutputStream(file, true);
+        try {
+            out.write(text.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+}
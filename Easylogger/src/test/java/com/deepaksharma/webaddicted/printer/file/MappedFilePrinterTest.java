@@ -0,0 +1,175 @@
+package com.deepaksharma.webaddicted.printer.file;
+
+import com.deepaksharma.webaddicted.LogLevel;
+import com.deepaksharma.webaddicted.flattener.Flattener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.*;
+
+public class MappedFilePrinterTest {
+
+    private static final Flattener MESSAGE_ONLY = new Flattener() {
+        @Override
+        public CharSequence flatten(int logLevel, String tag, String message) {
+            return message;
+        }
+    };
+
+    private File folder;
+
+    private File file;
+
+    private File cacheFile;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = File.createTempFile("MappedFilePrinterTest", "");
+        folder.delete();
+        folder.mkdirs();
+        file = new File(folder, "log");
+        cacheFile = new File(folder, "log.mmap");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    @Test
+    public void recoverPreviousCache() throws IOException {
+        MappedFilePrinter printer = newPrinter(1024);
+        printer.println(LogLevel.DEBUG, "TAG", "first");
+        printer.println(LogLevel.DEBUG, "TAG", "second");
+        // Still in the cache.
+        assertEquals("", read(file));
+
+        // As if the process was killed and restarted.
+        MappedFilePrinter next = newPrinter(1024);
+        assertEquals("first\nsecond\n", read(file));
+        next.println(LogLevel.DEBUG, "TAG", "third");
+        next.flush();
+        assertEquals("first\nsecond\nthird\n", read(file));
+
+        // Nothing left to recover.
+        newPrinter(1024);
+        assertEquals("first\nsecond\nthird\n", read(file));
+    }
+
+    @Test
+    public void moveToFileWhenFull() throws IOException {
+        MappedFilePrinter printer = newPrinter(32);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            printer.println(LogLevel.DEBUG, "TAG", "record " + i);
+            expected.append("record ").append(i).append('\n');
+        }
+        String moved = read(file);
+        assertTrue(moved, moved.length() > 0);
+        assertTrue(moved, expected.toString().startsWith(moved));
+
+        newPrinter(32);
+        assertEquals(expected.toString(), read(file));
+    }
+
+    @Test
+    public void bypassOversizedLog() throws IOException {
+        MappedFilePrinter printer = newPrinter(16);
+        printer.println(LogLevel.DEBUG, "TAG", "small");
+        printer.println(LogLevel.DEBUG, "TAG", "larger than the whole cache");
+        // The cached log is moved first, so the order is kept.
+        assertEquals("small\nlarger than the whole cache\n", read(file));
+        printer.println(LogLevel.DEBUG, "TAG", "after");
+
+        newPrinter(16);
+        assertEquals("small\nlarger than the whole cache\nafter\n", read(file));
+    }
+
+    @Test
+    public void moveToFileOnFlushLevel() throws IOException {
+        MappedFilePrinter printer = newPrinter(1024);
+        printer.println(LogLevel.WARN, "TAG", "warn");
+        assertEquals("", read(file));
+        printer.println(LogLevel.ERROR, "TAG", "error");
+        assertEquals("warn\nerror\n", read(file));
+
+        newPrinter(1024);
+        assertEquals("warn\nerror\n", read(file));
+    }
+
+    @Test
+    public void ignoreBadMagic() throws IOException {
+        writeHeader(0x12345678, 4, "junk");
+        MappedFilePrinter printer = newPrinter(1024);
+        assertEquals("", read(file));
+        printer.println(LogLevel.DEBUG, "TAG", "log");
+
+        newPrinter(1024);
+        assertEquals("log\n", read(file));
+    }
+
+    @Test
+    public void ignoreLengthOutOfRange() throws IOException {
+        writeHeader(0x544c4d43, 1025, "junk");
+        newPrinter(1024);
+        assertEquals("", read(file));
+
+        writeHeader(0x544c4d43, -1, "junk");
+        newPrinter(1024);
+        assertEquals("", read(file));
+
+        // In range is recovered.
+        writeHeader(0x544c4d43, 4, "junk");
+        newPrinter(1024);
+        assertEquals("junk", read(file));
+    }
+
+    private MappedFilePrinter newPrinter(int cacheSize) {
+        return new MappedFilePrinter.Builder(file)
+                .cacheFile(cacheFile)
+                .cacheSize(cacheSize)
+                .flattener(MESSAGE_ONLY)
+                .build();
+    }
+
+    private void writeHeader(int magic, int length, String data) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(cacheFile, "rw");
+        try {
+            raf.writeInt(magic);
+            raf.writeInt(length);
+            raf.write(data.getBytes("UTF-8"));
+        } finally {
+            raf.close();
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        if (!file.exists()) {
+            return "";
+        }
+        byte[] bytes = new byte[(int) file.length()];
+        FileInputStream in = new FileInputStream(file);
+        try {
+            int read = 0;
+            while (read < bytes.length) {
+                read += in.read(bytes, read, bytes.length - read);
+            }
+        } finally {
+            in.close();
+        }
+        return new String(bytes, "UTF-8");
+    }
+}
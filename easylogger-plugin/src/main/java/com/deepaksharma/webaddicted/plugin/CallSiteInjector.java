@@ -0,0 +1,256 @@
+package com.deepaksharma.webaddicted.plugin;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bake the call site of each log call of a class into the class.
+ * <p>
+ * For each call to a log method of {@code TALog} or {@code Logger}, a {@code CallSite} holding
+ * the class, method, source file and line of the call is created once in the static initializer
+ * of the class, kept in a synthetic static field, and the call is wrapped as
+ * <pre>
+ * CallSite previous = CallSite.enter($$callSite0);
+ * try {
+ *     TALog.d("message");
+ * } catch (Throwable t) {
+ *     CallSite.exit(previous);
+ *     throw t;
+ * }
+ * CallSite.exit(previous);
+ * </pre>
+ * so the logger knows its caller without walking the stack, a log call made while another is
+ * being formatted gives the call site of the other back when done, and a log call which throws
+ * does not leave its call site behind. The previous call site is kept in a local added after the
+ * locals of the method. The calls of a method share one handler at the end of the method, whose
+ * stack map frame declares that local only, the others as unusable, so no type of the method has
+ * to be known, the other frames of the method are kept as they are.
+ */
+public class CallSiteInjector {
+
+    /**
+     * The package of the library, whose classes are not rewritten.
+     */
+    static final String LIBRARY_PACKAGE = "com/deepaksharma/webaddicted/";
+
+    static final String CALL_SITE = LIBRARY_PACKAGE + "CallSite";
+
+    private static final String CALL_SITE_DESC = "L" + CALL_SITE + ";";
+
+    private static final String FIELD_PREFIX = "$$callSite";
+
+    /**
+     * The classes whose methods make logs.
+     */
+    static final Set<String> LOGGER_CLASSES = new HashSet<>(Arrays.asList(
+            LIBRARY_PACKAGE + "TALog",
+            LIBRARY_PACKAGE + "TALog$Log",
+            LIBRARY_PACKAGE + "Logger",
+            LIBRARY_PACKAGE + "Logger$Builder"));
+
+    /**
+     * The methods making logs, all of them returning void.
+     */
+    static final Set<String> LOG_METHODS = new HashSet<>(Arrays.asList(
+            "v", "d", "i", "w", "e", "wtf", "println",
+            "verbose", "debug", "info", "warn", "error", "json", "xml"));
+
+    private int count;
+
+    /**
+     * Get the number of call sites baked so far.
+     *
+     * @return the number of call sites
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Bake the call sites of the log calls of a class.
+     *
+     * @param bytes the class file
+     * @return the rewritten class file, or null if the class makes no log
+     */
+    public byte[] transform(byte[] bytes) {
+        ClassReader reader = new ClassReader(bytes);
+        if (reader.getClassName().startsWith(LIBRARY_PACKAGE)
+                || (reader.getAccess() & Opcodes.ACC_INTERFACE) != 0) {
+            return null;
+        }
+        ClassNode classNode = new ClassNode();
+        // Expanded, as the frame of the added handlers is a full one.
+        reader.accept(classNode, ClassReader.EXPAND_FRAMES);
+
+        List<CallSiteInfo> callSites = new ArrayList<>();
+        for (MethodNode method : classNode.methods) {
+            injectCallSites(classNode, method, callSites);
+        }
+        if (callSites.isEmpty()) {
+            return null;
+        }
+        initCallSites(classNode, callSites);
+        count += callSites.size();
+
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classNode.accept(writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Whether an instruction is a call to a log method.
+     */
+    static boolean isLogCall(AbstractInsnNode insn) {
+        if (!(insn instanceof MethodInsnNode)) {
+            return false;
+        }
+        MethodInsnNode call = (MethodInsnNode) insn;
+        return LOGGER_CLASSES.contains(call.owner) && LOG_METHODS.contains(call.name)
+                && call.desc.endsWith(")V");
+    }
+
+    private static void injectCallSites(ClassNode classNode, MethodNode method,
+                                        List<CallSiteInfo> callSites) {
+        int line = -1;
+        LabelNode handler = null;
+        // The local of the previous call site, shared as log calls of a method never nest.
+        int previous = method.maxLocals;
+        for (AbstractInsnNode insn = method.instructions.getFirst(); insn != null;
+             insn = insn.getNext()) {
+            if (insn instanceof LineNumberNode) {
+                line = ((LineNumberNode) insn).line;
+                continue;
+            }
+            if (!isLogCall(insn)) {
+                continue;
+            }
+            String field = FIELD_PREFIX + callSites.size();
+            callSites.add(new CallSiteInfo(field, method.name, line));
+
+            LabelNode start = new LabelNode();
+            LabelNode end = new LabelNode();
+            InsnList enter = new InsnList();
+            enter.add(new FieldInsnNode(Opcodes.GETSTATIC, classNode.name, field, CALL_SITE_DESC));
+            enter.add(new MethodInsnNode(Opcodes.INVOKESTATIC, CALL_SITE, "enter",
+                    "(" + CALL_SITE_DESC + ")" + CALL_SITE_DESC, false));
+            enter.add(new VarInsnNode(Opcodes.ASTORE, previous));
+            enter.add(start);
+            method.instructions.insertBefore(insn, enter);
+            InsnList exit = new InsnList();
+            exit.add(end);
+            exit.add(new VarInsnNode(Opcodes.ALOAD, previous));
+            exit.add(newExit());
+            AbstractInsnNode last = exit.getLast();
+            method.instructions.insert(insn, exit);
+            insn = last;
+
+            if (handler == null) {
+                handler = new LabelNode();
+            }
+            // Ahead of the blocks of the method, which all enclose the call if any.
+            method.tryCatchBlocks.add(0, new TryCatchBlockNode(start, end, handler, null));
+        }
+        if (handler != null) {
+            method.instructions.add(handler);
+            if ((classNode.version & 0xFFFF) >= Opcodes.V1_6) {
+                Object[] locals = new Object[previous + 1];
+                Arrays.fill(locals, Opcodes.TOP);
+                locals[previous] = CALL_SITE;
+                method.instructions.add(new FrameNode(Opcodes.F_NEW, locals.length, locals, 1,
+                        new Object[]{"java/lang/Throwable"}));
+            }
+            method.instructions.add(new VarInsnNode(Opcodes.ALOAD, previous));
+            method.instructions.add(newExit());
+            method.instructions.add(new InsnNode(Opcodes.ATHROW));
+        }
+    }
+
+    private static MethodInsnNode newExit() {
+        return new MethodInsnNode(Opcodes.INVOKESTATIC, CALL_SITE, "exit",
+                "(" + CALL_SITE_DESC + ")V", false);
+    }
+
+    /**
+     * Add the fields of the call sites, and create them at the start of the static initializer.
+     */
+    private static void initCallSites(ClassNode classNode, List<CallSiteInfo> callSites) {
+        String className = classNode.name.replace('/', '.');
+        String simpleName = classNode.name.substring(classNode.name.lastIndexOf('/') + 1);
+        int nested = simpleName.indexOf('$');
+        String defaultTag = nested > 0 ? simpleName.substring(0, nested) : simpleName;
+
+        InsnList init = new InsnList();
+        for (CallSiteInfo callSite : callSites) {
+            classNode.fields.add(new FieldNode(
+                    Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                    callSite.field, CALL_SITE_DESC, null, null));
+            init.add(new TypeInsnNode(Opcodes.NEW, CALL_SITE));
+            init.add(new InsnNode(Opcodes.DUP));
+            init.add(new LdcInsnNode(className));
+            init.add(new LdcInsnNode(callSite.methodName));
+            init.add(classNode.sourceFile != null
+                    ? new LdcInsnNode(classNode.sourceFile) : new InsnNode(Opcodes.ACONST_NULL));
+            init.add(new LdcInsnNode(callSite.line));
+            init.add(new LdcInsnNode(defaultTag));
+            init.add(new MethodInsnNode(Opcodes.INVOKESPECIAL, CALL_SITE, "<init>",
+                    "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;ILjava/lang/String;)V",
+                    false));
+            init.add(new FieldInsnNode(Opcodes.PUTSTATIC, classNode.name, callSite.field,
+                    CALL_SITE_DESC));
+        }
+
+        MethodNode clinit = null;
+        for (MethodNode method : classNode.methods) {
+            if ("<clinit>".equals(method.name)) {
+                clinit = method;
+                break;
+            }
+        }
+        if (clinit == null) {
+            clinit = new MethodNode(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+            clinit.instructions.add(new InsnNode(Opcodes.RETURN));
+            classNode.methods.add(clinit);
+        }
+        clinit.instructions.insert(init);
+    }
+
+    /**
+     * A call site found in a class.
+     */
+    private static class CallSiteInfo {
+
+        final String field;
+
+        final String methodName;
+
+        final int line;
+
+        CallSiteInfo(String field, String methodName, int line) {
+            this.field = field;
+            this.methodName = methodName;
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.deepaksharma.webaddicted.plugin;
+
+/**
+ * The {@code easylogger} extension, to configure the plugin in the build script of the app.
+ * <pre>
+ * easylogger {
+ *     callSites true
+ *     stripBelow 'INFO'
+ * }
+ * </pre>
+ */
+public class EasyLoggerExtension {
+
+    /**
+     * Whether to bake the call site of each log call into the calling class, default to true.
+     */
+    private boolean callSites = true;
+
+    /**
+     * The name of the min level of the logs kept in release builds, e.g. "INFO" to strip the
+     * verbose and debug logs, default to null to keep all logs.
+     */
+    private String stripBelow;
+
+    public boolean getCallSites() {
+        return callSites;
+    }
+
+    public void setCallSites(boolean callSites) {
+        this.callSites = callSites;
+    }
+
+    /**
+     * Set whether to bake the call site of each log call into the calling class.
+     *
+     * @param callSites true to bake call sites
+     */
+    public void callSites(boolean callSites) {
+        this.callSites = callSites;
+    }
+
+    public String getStripBelow() {
+        return stripBelow;
+    }
+
+    public void setStripBelow(String stripBelow) {
+        this.stripBelow = stripBelow;
+    }
+
+    /**
+     * Set the min level of the logs kept in release builds, see {@link LogCallStripper}.
+     *
+     * @param stripBelow the name of the level, one of "VERBOSE", "DEBUG", "INFO", "WARN" and
+     *                   "ERROR"
+     */
+    public void stripBelow(String stripBelow) {
+        this.stripBelow = stripBelow;
+    }
+}
@@ -0,0 +1,46 @@
+package com.deepaksharma.webaddicted.plugin;
+
+import com.android.build.gradle.AppExtension;
+import com.android.build.gradle.api.ApplicationVariant;
+
+import org.gradle.api.Action;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Gradle plugin rewriting the log calls of an app at build time, applied after the android
+ * application plugin.
+ * <pre>
+ * apply plugin: 'com.android.application'
+ * apply plugin: 'com.deepaksharma.webaddicted.easylogger'
+ * </pre>
+ * See {@link EasyLoggerExtension} for the configuration.
+ */
+public class EasyLoggerPlugin implements Plugin<Project> {
+
+    @Override
+    public void apply(final Project project) {
+        final EasyLoggerExtension extension = project.getExtensions()
+                .create("easylogger", EasyLoggerExtension.class);
+        project.getPlugins().withId("com.android.application", new Action<Plugin>() {
+            @Override
+            public void execute(Plugin plugin) {
+                AppExtension android = project.getExtensions().getByType(AppExtension.class);
+                final Set<String> releaseVariants = new HashSet<>();
+                android.getApplicationVariants().all(new Action<ApplicationVariant>() {
+                    @Override
+                    public void execute(ApplicationVariant variant) {
+                        if (!variant.getBuildType().isDebuggable()) {
+                            releaseVariants.add(variant.getName());
+                        }
+                    }
+                });
+                android.registerTransform(
+                        new EasyLoggerTransform(project, extension, releaseVariants));
+            }
+        });
+    }
+}
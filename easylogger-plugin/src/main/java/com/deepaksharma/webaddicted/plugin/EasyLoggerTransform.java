@@ -0,0 +1,186 @@
+package com.deepaksharma.webaddicted.plugin;
+
+import com.android.build.api.transform.DirectoryInput;
+import com.android.build.api.transform.Format;
+import com.android.build.api.transform.JarInput;
+import com.android.build.api.transform.QualifiedContent;
+import com.android.build.api.transform.Transform;
+import com.android.build.api.transform.TransformException;
+import com.android.build.api.transform.TransformInput;
+import com.android.build.api.transform.TransformInvocation;
+import com.android.build.api.transform.TransformOutputProvider;
+import com.android.build.gradle.internal.pipeline.TransformManager;
+
+import org.gradle.api.Project;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Transform running the rewriters of the plugin over all the classes of the app, including the
+ * classes of its library modules and dependencies.
+ */
+public class EasyLoggerTransform extends Transform {
+
+    private final Project project;
+
+    private final EasyLoggerExtension extension;
+
+    /**
+     * The names of the variants whose build type is not debuggable, where logs are stripped.
+     */
+    private final Set<String> releaseVariants;
+
+    private LogCallStripper logCallStripper;
+
+    private CallSiteInjector callSiteInjector;
+
+    public EasyLoggerTransform(Project project, EasyLoggerExtension extension,
+                               Set<String> releaseVariants) {
+        this.project = project;
+        this.extension = extension;
+        this.releaseVariants = releaseVariants;
+    }
+
+    @Override
+    public String getName() {
+        return "easyLogger";
+    }
+
+    @Override
+    public Set<QualifiedContent.ContentType> getInputTypes() {
+        return TransformManager.CONTENT_CLASS;
+    }
+
+    @Override
+    public Set<? super QualifiedContent.Scope> getScopes() {
+        return TransformManager.SCOPE_FULL_PROJECT;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return false;
+    }
+
+    @Override
+    public void transform(TransformInvocation invocation)
+            throws TransformException, InterruptedException, IOException {
+        String variantName = invocation.getContext().getVariantName();
+        logCallStripper = extension.getStripBelow() != null
+                && releaseVariants.contains(variantName)
+                ? new LogCallStripper(extension.getStripBelow()) : null;
+        callSiteInjector = extension.getCallSites() ? new CallSiteInjector() : null;
+        TransformOutputProvider outputProvider = invocation.getOutputProvider();
+        outputProvider.deleteAll();
+        for (TransformInput input : invocation.getInputs()) {
+            for (DirectoryInput directoryInput : input.getDirectoryInputs()) {
+                File output = outputProvider.getContentLocation(directoryInput.getName(),
+                        directoryInput.getContentTypes(), directoryInput.getScopes(),
+                        Format.DIRECTORY);
+                transformDirectory(directoryInput.getFile(), output);
+            }
+            for (JarInput jarInput : input.getJarInputs()) {
+                File output = outputProvider.getContentLocation(jarInput.getName(),
+                        jarInput.getContentTypes(), jarInput.getScopes(), Format.JAR);
+                transformJar(jarInput.getFile(), output);
+            }
+        }
+        if (logCallStripper != null) {
+            project.getLogger().lifecycle("EasyLogger: stripped " + logCallStripper.getCount()
+                    + " log calls below " + extension.getStripBelow() + " in " + variantName
+                    + ", kept " + logCallStripper.getKeptCount()
+                    + " with arguments not straight line code");
+        }
+        if (callSiteInjector != null) {
+            project.getLogger().lifecycle("EasyLogger: baked " + callSiteInjector.getCount()
+                    + " call sites in " + variantName);
+        }
+    }
+
+    private void transformDirectory(File input, File output) throws IOException {
+        File[] files = input.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            File target = new File(output, file.getName());
+            if (file.isDirectory()) {
+                transformDirectory(file, target);
+                continue;
+            }
+            byte[] bytes;
+            try (InputStream in = new FileInputStream(file)) {
+                bytes = readFully(in);
+            }
+            if (file.getName().endsWith(".class")) {
+                bytes = transformClass(bytes);
+            }
+            target.getParentFile().mkdirs();
+            try (OutputStream out = new FileOutputStream(target)) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private void transformJar(File input, File output) throws IOException {
+        output.getParentFile().mkdirs();
+        try (ZipInputStream in = new ZipInputStream(new FileInputStream(input));
+             ZipOutputStream out = new ZipOutputStream(new FileOutputStream(output))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                byte[] bytes = readFully(in);
+                if (entry.getName().endsWith(".class")) {
+                    bytes = transformClass(bytes);
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(bytes);
+                out.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Run the rewriters over a class.
+     *
+     * @param bytes the class file
+     * @return the rewritten class file, or the original one if nothing to rewrite
+     */
+    private byte[] transformClass(byte[] bytes) {
+        // Strip first, not to bake the call sites of the stripped calls.
+        if (logCallStripper != null) {
+            byte[] stripped = logCallStripper.transform(bytes);
+            if (stripped != null) {
+                bytes = stripped;
+            }
+        }
+        if (callSiteInjector != null) {
+            byte[] injected = callSiteInjector.transform(bytes);
+            if (injected != null) {
+                bytes = injected;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Read the rest of a stream, or of the current entry of a zip stream, without closing it.
+     */
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,305 @@
+package com.deepaksharma.webaddicted.plugin;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.IincInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.BasicInterpreter;
+import org.objectweb.asm.tree.analysis.BasicValue;
+import org.objectweb.asm.tree.analysis.Frame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remove the log calls of a class below a level, together with the computation of their
+ * arguments, so a stripped log costs nothing at all at runtime.
+ * <p>
+ * Only calls to the log methods named after a level, like {@code TALog.debug} or
+ * {@code Logger.d}, are stripped, {@code wtf}, {@code println}, {@code json} and {@code xml}
+ * are kept. The computation of the arguments on the operand stack is removed as well, so a side
+ * effect of it, like a method call, is gone, the same as with the {@code -assumenosideeffects}
+ * option of ProGuard.
+ * <p>
+ * A call whose arguments are not straight line code, e.g. with a conditional expression, or
+ * store to a local variable, e.g. with {@code ++i} or an assignment, is kept as it is, as the
+ * frames of the method would not hold without them. A store to a local made ahead of the
+ * arguments is not part of them and stays, e.g. the increment of
+ * {@code TALog.debug(String.valueOf(++i))}, whose call is stripped.
+ */
+public class LogCallStripper {
+
+    /**
+     * The levels of the log methods, the same as {@code LogLevel}.
+     */
+    private static final Map<String, Integer> METHOD_LEVELS = new HashMap<>();
+
+    private static final Map<String, Integer> LEVELS = new HashMap<>();
+
+    static {
+        LEVELS.put("VERBOSE", 2);
+        LEVELS.put("DEBUG", 3);
+        LEVELS.put("INFO", 4);
+        LEVELS.put("WARN", 5);
+        LEVELS.put("ERROR", 6);
+        String[][] methods = {
+                {"v", "verbose"}, {"d", "debug"}, {"i", "info"}, {"w", "warn"}, {"e", "error"}};
+        for (int i = 0; i < methods.length; i++) {
+            for (String method : methods[i]) {
+                METHOD_LEVELS.put(method, 2 + i);
+            }
+        }
+    }
+
+    private final int minLevel;
+
+    private int count;
+
+    private int keptCount;
+
+    /**
+     * Constructor.
+     *
+     * @param minLevel the name of the min level of the logs to keep, e.g. "INFO" to strip the
+     *                 verbose and debug logs
+     */
+    public LogCallStripper(String minLevel) {
+        Integer level = LEVELS.get(minLevel.toUpperCase(Locale.US));
+        if (level == null) {
+            throw new IllegalArgumentException("Unknown log level " + minLevel
+                    + ", expecting one of " + LEVELS.keySet());
+        }
+        this.minLevel = level;
+    }
+
+    /**
+     * Get the number of log calls stripped so far.
+     *
+     * @return the number of log calls stripped
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get the number of log calls below the level kept so far, as their arguments are not
+     * straight line code or store to local variables.
+     *
+     * @return the number of log calls kept
+     */
+    public int getKeptCount() {
+        return keptCount;
+    }
+
+    /**
+     * Strip the log calls below the level of a class.
+     *
+     * @param bytes the class file
+     * @return the rewritten class file, or null if the class makes no log below the level
+     */
+    public byte[] transform(byte[] bytes) {
+        ClassReader reader = new ClassReader(bytes);
+        if (reader.getClassName().startsWith(CallSiteInjector.LIBRARY_PACKAGE)) {
+            return null;
+        }
+        ClassNode classNode = new ClassNode();
+        reader.accept(classNode, 0);
+
+        int stripped = 0;
+        for (MethodNode method : classNode.methods) {
+            stripped += strip(classNode.name, method);
+        }
+        if (stripped == 0) {
+            return null;
+        }
+        count += stripped;
+
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classNode.accept(writer);
+        return writer.toByteArray();
+    }
+
+    private boolean isStripped(AbstractInsnNode insn) {
+        if (!CallSiteInjector.isLogCall(insn)) {
+            return false;
+        }
+        Integer level = METHOD_LEVELS.get(((MethodInsnNode) insn).name);
+        return level != null && level < minLevel;
+    }
+
+    /**
+     * Strip the log calls of a method.
+     *
+     * @return the number of log calls stripped
+     */
+    private int strip(String owner, MethodNode method) {
+        List<AbstractInsnNode> calls = new ArrayList<>();
+        for (AbstractInsnNode insn = method.instructions.getFirst(); insn != null;
+             insn = insn.getNext()) {
+            if (isStripped(insn)) {
+                calls.add(insn);
+            }
+        }
+        if (calls.isEmpty()) {
+            return 0;
+        }
+
+        Frame<BasicValue>[] frames;
+        try {
+            frames = new Analyzer<>(new BasicInterpreter()).analyze(owner, method);
+        } catch (AnalyzerException e) {
+            keptCount += calls.size();
+            return 0;
+        }
+        Set<LabelNode> targets = branchTargets(method);
+
+        // Find all the ranges before removing any, as removing shifts the frames. The ranges do
+        // not overlap, as a log call returns nothing to be the argument of another.
+        List<AbstractInsnNode> ranges = new ArrayList<>();
+        for (AbstractInsnNode call : calls) {
+            AbstractInsnNode start = findArgumentsStart(method, frames, targets, call);
+            if (start == null || storesLocals(start, call)) {
+                keptCount++;
+                continue;
+            }
+            ranges.add(start);
+            ranges.add(call);
+        }
+        for (int i = 0; i < ranges.size(); i += 2) {
+            AbstractInsnNode insn = ranges.get(i);
+            AbstractInsnNode end = ranges.get(i + 1);
+            while (true) {
+                AbstractInsnNode next = insn.getNext();
+                // Keep the labels and line numbers, others may refer to them.
+                if (insn.getOpcode() >= 0) {
+                    method.instructions.remove(insn);
+                }
+                if (insn == end) {
+                    break;
+                }
+                insn = next;
+            }
+        }
+        removeEmptyTryCatchBlocks(method);
+        return ranges.size() / 2;
+    }
+
+    /**
+     * Remove the try catch blocks left with nothing to try, which are not legal, leaving their
+     * handlers unreachable.
+     */
+    private static void removeEmptyTryCatchBlocks(MethodNode method) {
+        for (int i = method.tryCatchBlocks.size() - 1; i >= 0; i--) {
+            TryCatchBlockNode tryCatchBlock = method.tryCatchBlocks.get(i);
+            AbstractInsnNode insn = tryCatchBlock.start;
+            while (insn != tryCatchBlock.end && insn.getOpcode() < 0) {
+                insn = insn.getNext();
+            }
+            if (insn == tryCatchBlock.end) {
+                method.tryCatchBlocks.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Find the first instruction computing the arguments of a log call, including the logger
+     * for an instance method, going back to where the operand stack is as deep as before them.
+     *
+     * @return the first instruction, or null if the arguments are not straight line code
+     */
+    private static AbstractInsnNode findArgumentsStart(MethodNode method,
+                                                       Frame<BasicValue>[] frames,
+                                                       Set<LabelNode> targets,
+                                                       AbstractInsnNode call) {
+        Frame<BasicValue> callFrame = frames[method.instructions.indexOf(call)];
+        if (callFrame == null) {
+            // Unreachable.
+            return null;
+        }
+        int arguments = Type.getArgumentTypes(((MethodInsnNode) call).desc).length
+                + (call.getOpcode() == Opcodes.INVOKESTATIC ? 0 : 1);
+        int depth = callFrame.getStackSize() - arguments;
+        for (AbstractInsnNode insn = call.getPrevious(); insn != null; insn = insn.getPrevious()) {
+            if (insn instanceof LabelNode) {
+                if (targets.contains(insn)) {
+                    return null;
+                }
+                continue;
+            }
+            if (insn.getOpcode() < 0) {
+                // Line number or frame.
+                continue;
+            }
+            if (insn instanceof JumpInsnNode || insn instanceof TableSwitchInsnNode
+                    || insn instanceof LookupSwitchInsnNode) {
+                return null;
+            }
+            Frame<BasicValue> frame = frames[method.instructions.indexOf(insn)];
+            if (frame == null) {
+                return null;
+            }
+            if (frame.getStackSize() == depth) {
+                return insn;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether instructions store to a local variable, which a later frame or instruction may
+     * expect to be set.
+     */
+    private static boolean storesLocals(AbstractInsnNode start, AbstractInsnNode end) {
+        for (AbstractInsnNode insn = start; insn != end; insn = insn.getNext()) {
+            if (insn instanceof IincInsnNode || (insn instanceof VarInsnNode
+                    && insn.getOpcode() >= Opcodes.ISTORE && insn.getOpcode() <= Opcodes.ASTORE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the labels control may come to other than falling through, where arguments of a
+     * log call can not be cut.
+     */
+    private static Set<LabelNode> branchTargets(MethodNode method) {
+        Set<LabelNode> targets = new HashSet<>();
+        for (AbstractInsnNode insn = method.instructions.getFirst(); insn != null;
+             insn = insn.getNext()) {
+            if (insn instanceof JumpInsnNode) {
+                targets.add(((JumpInsnNode) insn).label);
+            } else if (insn instanceof TableSwitchInsnNode) {
+                targets.add(((TableSwitchInsnNode) insn).dflt);
+                targets.addAll(((TableSwitchInsnNode) insn).labels);
+            } else if (insn instanceof LookupSwitchInsnNode) {
+                targets.add(((LookupSwitchInsnNode) insn).dflt);
+                targets.addAll(((LookupSwitchInsnNode) insn).labels);
+            }
+        }
+        for (TryCatchBlockNode tryCatchBlock : method.tryCatchBlocks) {
+            targets.add(tryCatchBlock.start);
+            targets.add(tryCatchBlock.end);
+            targets.add(tryCatchBlock.handler);
+        }
+        return targets;
+    }
+}
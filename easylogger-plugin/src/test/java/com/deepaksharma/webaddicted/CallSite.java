@@ -0,0 +1,43 @@
+package com.deepaksharma.webaddicted;
+
+/**
+ * Stand-in for the call site of the library, which the plugin does not depend on, with the same
+ * members the rewritten classes use.
+ */
+public final class CallSite {
+
+    private static final ThreadLocal<CallSite> sCurrent = new ThreadLocal<>();
+
+    public final String className;
+
+    public final String methodName;
+
+    public final String fileName;
+
+    public final int lineNumber;
+
+    public final String defaultTag;
+
+    public CallSite(String className, String methodName, String fileName, int lineNumber,
+                    String defaultTag) {
+        this.className = className;
+        this.methodName = methodName;
+        this.fileName = fileName;
+        this.lineNumber = lineNumber;
+        this.defaultTag = defaultTag;
+    }
+
+    public static CallSite enter(CallSite callSite) {
+        CallSite previous = sCurrent.get();
+        sCurrent.set(callSite);
+        return previous;
+    }
+
+    public static void exit(CallSite previous) {
+        sCurrent.set(previous);
+    }
+
+    public static CallSite current() {
+        return sCurrent.get();
+    }
+}
@@ -0,0 +1,23 @@
+package com.deepaksharma.webaddicted;
+
+/**
+ * Stand-in for the logger of the library, recording the logs with {@link TALog}.
+ */
+public class Logger {
+
+    public void v(String msg) {
+        TALog.log(msg);
+    }
+
+    public void d(String msg) {
+        TALog.log(msg);
+    }
+
+    public void d(String format, Object arg) {
+        TALog.log(String.format(format, arg));
+    }
+
+    public void i(String msg) {
+        TALog.log(msg);
+    }
+}
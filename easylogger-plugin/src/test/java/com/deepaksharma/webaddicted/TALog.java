@@ -0,0 +1,52 @@
+package com.deepaksharma.webaddicted;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in for the facade of the library, recording the logs, the call site current at each
+ * log and the real caller of each log.
+ */
+public class TALog {
+
+    public static final List<String> sLogs = new ArrayList<>();
+
+    public static final List<CallSite> sCallSites = new ArrayList<>();
+
+    public static final List<StackTraceElement> sCallers = new ArrayList<>();
+
+    public static void reset() {
+        sLogs.clear();
+        sCallSites.clear();
+        sCallers.clear();
+        CallSite.exit(null);
+    }
+
+    public static void verbose(String msg) {
+        log(msg);
+    }
+
+    public static void debug(String msg) {
+        log(msg);
+    }
+
+    public static void debug(String format, Object arg) {
+        log(String.format(format, arg));
+    }
+
+    public static void info(String msg) {
+        log(msg);
+    }
+
+    /**
+     * Record a log, throwing if the message is "throw", as a log whose argument fails to format.
+     */
+    static void log(String msg) {
+        sCallSites.add(CallSite.current());
+        sCallers.add(new Throwable().getStackTrace()[2]);
+        if ("throw".equals(msg)) {
+            throw new IllegalStateException(msg);
+        }
+        sLogs.add(msg);
+    }
+}
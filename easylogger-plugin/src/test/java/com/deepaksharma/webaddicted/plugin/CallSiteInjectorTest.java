@@ -0,0 +1,149 @@
+package com.deepaksharma.webaddicted.plugin;
+
+import com.deepaksharma.webaddicted.CallSite;
+import com.deepaksharma.webaddicted.TALog;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.*;
+
+/**
+ * Bake the call sites of compiled fixtures, load them, verified, and check the call sites seen by
+ * the logger against the real callers.
+ */
+public class CallSiteInjectorTest {
+
+    private final CallSiteInjector injector = new CallSiteInjector();
+
+    private Class<?> logCalls;
+
+    private Class<?> moreLogCalls;
+
+    @Before
+    public void setUp() throws Exception {
+        TALog.reset();
+        TransformingClassLoader loader = new TransformingClassLoader("fixture",
+                new TransformingClassLoader.Rewriter() {
+                    @Override
+                    public byte[] rewrite(byte[] bytes) {
+                        return injector.transform(bytes);
+                    }
+                });
+        logCalls = Class.forName("fixture.LogCalls", true, loader);
+        moreLogCalls = Class.forName("fixture.MoreLogCalls", true, loader);
+    }
+
+    @Test
+    public void callSiteIsTheCaller() throws Exception {
+        invoke("logOnce");
+        assertEquals(1, TALog.sCallSites.size());
+        CallSite callSite = TALog.sCallSites.get(0);
+        StackTraceElement caller = TALog.sCallers.get(0);
+        assertEquals("fixture.LogCalls", callSite.className);
+        assertEquals("logOnce", callSite.methodName);
+        assertEquals("LogCalls.java", callSite.fileName);
+        assertEquals("LogCalls", callSite.defaultTag);
+        assertEquals(caller.getLineNumber(), callSite.lineNumber);
+        assertNull(CallSite.current());
+    }
+
+    @Test
+    public void everyLogCallHasItsCallSite() throws Exception {
+        invoke("logInLoop", 2);
+        invoke("logInTry");
+        invoke("logConditional", true);
+        invoke("logWithLogger", 1);
+        invoke("logInBranch", false);
+        assertEquals(12, TALog.sCallSites.size());
+        for (int i = 0; i < TALog.sCallSites.size(); i++) {
+            CallSite callSite = TALog.sCallSites.get(i);
+            StackTraceElement caller = TALog.sCallers.get(i);
+            assertNotNull(callSite);
+            assertEquals(caller.getMethodName(), callSite.methodName);
+            assertEquals(caller.getLineNumber(), callSite.lineNumber);
+        }
+        assertSame(TALog.sCallSites.get(0), TALog.sCallSites.get(2));
+        assertNull(CallSite.current());
+    }
+
+    @Test
+    public void nestedLogCallRestoresTheOuterCallSite() throws Exception {
+        invoke(moreLogCalls, "logNested");
+        assertEquals(3, TALog.sLogs.size());
+        assertEquals("outer nested", TALog.sLogs.get(2));
+        for (int i = 0; i < 3; i++) {
+            CallSite callSite = TALog.sCallSites.get(i);
+            StackTraceElement caller = TALog.sCallers.get(i);
+            assertEquals(caller.getClassName(), callSite.className);
+            assertEquals(caller.getMethodName(), callSite.methodName);
+            assertEquals(caller.getLineNumber(), callSite.lineNumber);
+        }
+        assertEquals("fixture.MoreLogCalls$Nested", TALog.sCallSites.get(1).className);
+        assertEquals("MoreLogCalls", TALog.sCallSites.get(1).defaultTag);
+        assertEquals("logNested", TALog.sCallSites.get(2).methodName);
+        assertNull(CallSite.current());
+    }
+
+    @Test
+    public void wideLocals() throws Exception {
+        assertEquals(6.0, invoke(moreLogCalls, "logWithWideLocals", 1L, 2.0));
+        assertEquals(2, TALog.sCallSites.size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(TALog.sCallers.get(i).getLineNumber(),
+                    TALog.sCallSites.get(i).lineNumber);
+        }
+    }
+
+    @Test
+    public void callSiteEnteredBeforeIsRestored() throws Exception {
+        CallSite outer = new CallSite("Outer", "outer", null, -1, "Outer");
+        CallSite.enter(outer);
+        try {
+            invoke("logThrowing");
+            fail();
+        } catch (InvocationTargetException e) {
+            assertSame(outer, CallSite.current());
+        }
+        invoke("logOnce");
+        assertSame(outer, CallSite.current());
+    }
+
+    @Test
+    public void throwingLogCallExitsItsCallSite() throws Exception {
+        try {
+            invoke("logThrowing");
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertNotNull(TALog.sCallSites.get(0));
+        assertNull(CallSite.current());
+
+        // A log from a class not rewritten, e.g. an interface, has no call site.
+        TALog.debug("not rewritten");
+        assertNull(TALog.sCallSites.get(1));
+    }
+
+    @Test
+    public void classesWithoutLogsAreNotRewritten() throws Exception {
+        assertNull(injector.transform(TransformingClassLoader.readClassFile(
+                CallSiteInjectorTest.class.getName())));
+    }
+
+    private Object invoke(String name, Object... args) throws Exception {
+        return invoke(logCalls, name, args);
+    }
+
+    private static Object invoke(Class<?> clazz, String name, Object... args) throws Exception {
+        for (Method method : clazz.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method.invoke(null, args);
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+}
@@ -0,0 +1,121 @@
+package com.deepaksharma.webaddicted.plugin;
+
+import com.deepaksharma.webaddicted.CallSite;
+import com.deepaksharma.webaddicted.TALog;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Strip the logs below info of compiled fixtures, alone and before baking their call sites, load
+ * them, verified, and check which logs and side effects are left.
+ */
+public class LogCallStripperTest {
+
+    private final LogCallStripper stripper = new LogCallStripper("info");
+
+    private final CallSiteInjector injector = new CallSiteInjector();
+
+    private Class<?> logCalls;
+
+    @Before
+    public void setUp() {
+        TALog.reset();
+    }
+
+    @Test
+    public void stripsStraightLineArguments() throws Exception {
+        load(false);
+        invoke("logOnce");
+        invoke("logThrowing");
+        invoke("logInLoop", 2);
+        invoke("logInTry");
+        invoke("logWithLogger", 1);
+        invoke("logInBranch", true);
+        invoke("logInBranch", false);
+        assertEquals(Arrays.asList("info 0", "info 1", "after try", "info 1", "else"),
+                TALog.sLogs);
+        assertEquals(0, invoke("getSideEffects"));
+        assertEquals(8, stripper.getCount());
+        assertEquals(3, stripper.getKeptCount());
+    }
+
+    @Test
+    public void keepsCallsNotStraightLine() throws Exception {
+        load(false);
+        invoke("logConditional", true);
+        assertEquals(Arrays.asList("yes", "after conditional"), TALog.sLogs);
+    }
+
+    @Test
+    public void keepsCallsStoringLocals() throws Exception {
+        load(false);
+        assertEquals("assigned", invoke("logAssigning"));
+        assertEquals(2, invoke("logIncrementing", 1));
+        assertEquals(Arrays.asList("assigned", "incremented"), TALog.sLogs);
+        assertEquals(1, invoke("getSideEffects"));
+    }
+
+    @Test
+    public void keepsStoresAheadOfArguments() throws Exception {
+        load(false);
+        assertEquals(2, invoke("logPreIncrementing", 1));
+        assertEquals(Collections.emptyList(), TALog.sLogs);
+    }
+
+    @Test
+    public void stripsThenBakesCallSites() throws Exception {
+        load(true);
+        invoke("logInLoop", 1);
+        invoke("logInTry");
+        invoke("logConditional", false);
+        assertEquals(Arrays.asList("info 0", "after try", "no", "after conditional"),
+                TALog.sLogs);
+        for (int i = 0; i < TALog.sCallSites.size(); i++) {
+            assertEquals(TALog.sCallers.get(i).getLineNumber(),
+                    TALog.sCallSites.get(i).lineNumber);
+        }
+        assertNull(CallSite.current());
+        assertEquals(8, stripper.getCount());
+        assertEquals(9, injector.getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownLevel() {
+        new LogCallStripper("loud");
+    }
+
+    private void load(boolean injectCallSites) throws Exception {
+        TransformingClassLoader.Rewriter strip = new TransformingClassLoader.Rewriter() {
+            @Override
+            public byte[] rewrite(byte[] bytes) {
+                return stripper.transform(bytes);
+            }
+        };
+        TransformingClassLoader.Rewriter inject = new TransformingClassLoader.Rewriter() {
+            @Override
+            public byte[] rewrite(byte[] bytes) {
+                return injector.transform(bytes);
+            }
+        };
+        TransformingClassLoader loader = injectCallSites
+                ? new TransformingClassLoader("fixture", strip, inject)
+                : new TransformingClassLoader("fixture", strip);
+        logCalls = Class.forName("fixture.LogCalls", true, loader);
+    }
+
+    private Object invoke(String name, Object... args) throws Exception {
+        for (Method method : logCalls.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method.invoke(null, args);
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+}
@@ -0,0 +1,131 @@
+package com.deepaksharma.webaddicted.plugin;
+
+import com.deepaksharma.webaddicted.CallSite;
+import com.deepaksharma.webaddicted.Logger;
+import com.deepaksharma.webaddicted.TALog;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.*;
+
+/**
+ * The tests of the plugin run against stand-ins of the classes of the library, which the plugin
+ * does not depend on, check the members used by the rewritten classes are the same in the
+ * library, so a change to the library breaks the tests rather than the apps.
+ */
+public class StandInsTest {
+
+    /**
+     * The sources of the library, relative to the plugin project, where the tests run.
+     */
+    private static final File LIBRARY_SOURCES = new File(System.getProperty(
+            "easylogger.librarySources", "../Easylogger/src/main/java"));
+
+    private static final String LIBRARY_PATH = "com/deepaksharma/webaddicted/";
+
+    @Test
+    public void callSiteMatchesLibrary() throws Exception {
+        // Only refers to the rest of the library in its doc, so compiles on its own.
+        File source = new File(LIBRARY_SOURCES, LIBRARY_PATH + "CallSite.java");
+        assertTrue(source.getAbsolutePath(), source.isFile());
+        File out = Files.createTempDirectory("StandInsTest").toFile();
+        try {
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            assertTrue("Run the tests with a JDK", compiler != null);
+            assertEquals(0, compiler.run(null, null, null,
+                    "-nowarn", "-d", out.getPath(), source.getPath()));
+            URLClassLoader loader = new URLClassLoader(new URL[]{out.toURI().toURL()}, null);
+            try {
+                Class<?> library = loader.loadClass(CallSite.class.getName());
+                assertEquals(publicMembers(library), publicMembers(CallSite.class));
+            } finally {
+                loader.close();
+            }
+        } finally {
+            delete(out);
+        }
+    }
+
+    @Test
+    public void logMethodsMatchLibrary() throws IOException {
+        assertLogMethodsInLibrary(TALog.class);
+        assertLogMethodsInLibrary(Logger.class);
+    }
+
+    /**
+     * The log methods of a stand-in, those rewritten by the plugin, are declared by the library
+     * with the same parameters, static or not.
+     */
+    private static void assertLogMethodsInLibrary(Class<?> standIn) throws IOException {
+        File source = new File(LIBRARY_SOURCES,
+                LIBRARY_PATH + standIn.getSimpleName() + ".java");
+        String library = new String(Files.readAllBytes(source.toPath()), "UTF-8");
+        for (Method method : standIn.getDeclaredMethods()) {
+            if (!Modifier.isPublic(method.getModifiers())
+                    || !CallSiteInjector.LOG_METHODS.contains(method.getName())) {
+                continue;
+            }
+            StringBuilder declaration = new StringBuilder("public\\s+");
+            if (Modifier.isStatic(method.getModifiers())) {
+                declaration.append("static\\s+");
+            }
+            declaration.append("void\\s+").append(method.getName()).append("\\(\\s*");
+            Class<?>[] parameters = method.getParameterTypes();
+            for (int i = 0; i < parameters.length; i++) {
+                if (i > 0) {
+                    declaration.append("\\s*,\\s*");
+                }
+                declaration.append(parameters[i].getSimpleName()).append("\\s+\\w+");
+            }
+            declaration.append("\\s*\\)");
+            assertTrue(method.toString(),
+                    Pattern.compile(declaration.toString()).matcher(library).find());
+        }
+    }
+
+    /**
+     * The public constructors, static methods and fields of a class, as strings.
+     */
+    private static Set<String> publicMembers(Class<?> clazz) {
+        Set<String> members = new TreeSet<>();
+        for (Constructor<?> constructor : clazz.getConstructors()) {
+            members.add(constructor.toString());
+        }
+        for (Method method : clazz.getDeclaredMethods()) {
+            int modifiers = method.getModifiers();
+            if (Modifier.isPublic(modifiers) && Modifier.isStatic(modifiers)) {
+                members.add(method.toString());
+            }
+        }
+        for (Field field : clazz.getFields()) {
+            members.add(field.toString());
+        }
+        return members;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
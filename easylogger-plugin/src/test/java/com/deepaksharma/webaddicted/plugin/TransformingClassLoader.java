@@ -0,0 +1,85 @@
+package com.deepaksharma.webaddicted.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Load the classes of a package rewritten, from the class files of the test classpath, the
+ * other classes from the parent loader.
+ */
+class TransformingClassLoader extends ClassLoader {
+
+    /**
+     * A rewrite of a class file.
+     */
+    interface Rewriter {
+
+        /**
+         * @return the rewritten class file, or null if not rewritten
+         */
+        byte[] rewrite(byte[] bytes);
+    }
+
+    private final String packagePrefix;
+
+    private final Rewriter[] rewriters;
+
+    TransformingClassLoader(String packageName, Rewriter... rewriters) {
+        super(TransformingClassLoader.class.getClassLoader());
+        this.packagePrefix = packageName + ".";
+        this.rewriters = rewriters;
+    }
+
+    @Override
+    protected synchronized Class<?> loadClass(String name, boolean resolve)
+            throws ClassNotFoundException {
+        if (!name.startsWith(packagePrefix)) {
+            return super.loadClass(name, resolve);
+        }
+        Class<?> loaded = findLoadedClass(name);
+        if (loaded == null) {
+            byte[] bytes = rewrite(readClassFile(name));
+            loaded = defineClass(name, bytes, 0, bytes.length);
+        }
+        if (resolve) {
+            resolveClass(loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Run the rewriters over a class file.
+     *
+     * @param bytes the class file
+     * @return the rewritten class file
+     */
+    byte[] rewrite(byte[] bytes) {
+        for (Rewriter rewriter : rewriters) {
+            byte[] rewritten = rewriter.rewrite(bytes);
+            if (rewritten != null) {
+                bytes = rewritten;
+            }
+        }
+        return bytes;
+    }
+
+    static byte[] readClassFile(String name) throws ClassNotFoundException {
+        String resource = name.replace('.', '/') + ".class";
+        try (InputStream in = TransformingClassLoader.class.getClassLoader()
+                .getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new ClassNotFoundException(name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+}
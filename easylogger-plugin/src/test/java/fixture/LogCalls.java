@@ -0,0 +1,82 @@
+package fixture;
+
+import com.deepaksharma.webaddicted.Logger;
+import com.deepaksharma.webaddicted.TALog;
+
+/**
+ * Log calls of an app, compiled as usual and rewritten by the tests of the plugin.
+ */
+public class LogCalls {
+
+    private static final Logger sLogger = new Logger();
+
+    private static int sSideEffects;
+
+    public static int getSideEffects() {
+        return sSideEffects;
+    }
+
+    private static String sideEffect(String value) {
+        sSideEffects++;
+        return value;
+    }
+
+    public static void logOnce() {
+        TALog.debug("once");
+    }
+
+    public static void logThrowing() {
+        TALog.debug("throw");
+    }
+
+    public static void logInLoop(int count) {
+        for (int i = 0; i < count; i++) {
+            TALog.debug("loop " + sideEffect(String.valueOf(i)));
+            TALog.info("info " + i);
+        }
+    }
+
+    public static void logInTry() {
+        try {
+            TALog.verbose("only in try " + sideEffect("a"));
+        } catch (RuntimeException e) {
+            TALog.info("caught");
+        }
+        TALog.info("after try");
+    }
+
+    public static void logConditional(boolean condition) {
+        TALog.debug(condition ? "yes" : "no");
+        TALog.info("after conditional");
+    }
+
+    public static void logWithLogger(int value) {
+        sLogger.d("value %d", value + 1);
+        sLogger.v(sideEffect("verbose"));
+        sLogger.i("info " + value);
+    }
+
+    public static String logAssigning() {
+        String message;
+        TALog.debug(message = sideEffect("assigned"));
+        return message;
+    }
+
+    public static int logIncrementing(int i) {
+        TALog.debug("incremented", ++i);
+        return i;
+    }
+
+    public static int logPreIncrementing(int i) {
+        TALog.debug(String.valueOf(++i));
+        return i;
+    }
+
+    public static void logInBranch(boolean condition) {
+        if (condition) {
+            TALog.debug("branch");
+        } else {
+            TALog.info("else");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package fixture;
+
+import com.deepaksharma.webaddicted.TALog;
+
+/**
+ * Log calls of an app needing more of the rewriting than {@link LogCalls}, loaded on their own
+ * so the counts of the calls in {@code LogCalls} stay as they are.
+ */
+public class MoreLogCalls {
+
+    public static double logWithWideLocals(long a, double b) {
+        long c = a + 1;
+        TALog.debug("wide " + c);
+        double d = b * 2;
+        TALog.info("wide " + d);
+        return c + d;
+    }
+
+    public static void logNested() {
+        TALog.debug("outer %s", new Nested());
+    }
+
+    /**
+     * Logs while being constructed and formatted for another log.
+     */
+    static class Nested {
+
+        Nested() {
+            TALog.verbose("constructed");
+        }
+
+        @Override
+        public String toString() {
+            TALog.info("nested");
+            return "nested";
+        }
+    }
+}